@@ -0,0 +1,75 @@
+package poo.bench;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import poo.controller.dto.AlunoRequest;
+import poo.controller.dto.NotaCreateRequest;
+import poo.controller.mapper.AlunoMapper;
+import poo.controller.mapper.NotaMapper;
+import poo.model.Aluno;
+import poo.model.Nota;
+import poo.service.support.CrudServiceSupport;
+
+/**
+ * Conversão de DTOs de entrada em entidades e montagem do objeto de update nos services.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestMappingBenchmark {
+
+  private final CrudServiceSupport support = new CrudServiceSupport();
+  private final AlunoRequest alunoRequest = new AlunoRequest(
+    " 2024000042 ",
+    " Maria da Silva ",
+    " maria.silva@example.com ",
+    3L,
+    LocalDate.of(2002, 5, 17)
+  );
+  private final NotaCreateRequest notaRequest = new NotaCreateRequest(
+    42L,
+    7L,
+    null,
+    new BigDecimal("8.50"),
+    "  Entregue no prazo  "
+  );
+  private final Long alunoId = 42L;
+
+  @Benchmark
+  public Aluno alunoMapper() {
+    return AlunoMapper.toEntity(alunoRequest);
+  }
+
+  @Benchmark
+  public Nota notaMapper() {
+    return NotaMapper.toEntity(notaRequest);
+  }
+
+  @Benchmark
+  public Aluno updateBuilder() {
+    Aluno source = AlunoMapper.toEntity(alunoRequest);
+    return support.updater(Aluno::new)
+      .withId(alunoId, Aluno::setId, "id")
+      .copy(source, (target, src) -> {
+        target.setRa(src.getRa());
+        target.setNome(src.getNome());
+        target.setEmail(src.getEmail());
+        target.setDepartamentoId(src.getDepartamentoId());
+        target.setDataNascimento(src.getDataNascimento());
+      })
+      .build();
+  }
+}
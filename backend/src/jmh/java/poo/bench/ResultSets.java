@@ -0,0 +1,35 @@
+package poo.bench;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.util.Map;
+
+/**
+ * {@link ResultSet} de uma linha só, suficiente para exercitar os row mappers sem banco.
+ * Atende apenas aos getters por nome de coluna usados pelos DAOs.
+ */
+final class ResultSets {
+
+  private ResultSets() {}
+
+  static ResultSet singleRow(Map<String, Object> row) {
+    return (ResultSet) Proxy.newProxyInstance(
+      ResultSet.class.getClassLoader(),
+      new Class<?>[] { ResultSet.class },
+      (proxy, method, args) -> switch (method.getName()) {
+        case "getLong" -> {
+          Object value = row.get((String) args[0]);
+          yield value == null ? 0L : ((Number) value).longValue();
+        }
+        case "getString" -> (String) row.get((String) args[0]);
+        case "getObject" -> {
+          Object value = row.get((String) args[0]);
+          yield args.length > 1 ? ((Class<?>) args[1]).cast(value) : value;
+        }
+        case "wasNull" -> false;
+        case "getRow" -> 1;
+        default -> throw new UnsupportedOperationException(method.getName());
+      }
+    );
+  }
+}
@@ -0,0 +1,100 @@
+package poo.bench;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.RowMapper;
+import poo.dao.impl.AlunoDaoJdbc;
+import poo.dao.impl.NotaDaoJdbc;
+import poo.dao.support.JdbcTableMetadata;
+import poo.model.Aluno;
+import poo.model.Nota;
+
+/**
+ * Custo por linha dos row mappers dos DAOs (inclui a leitura das colunas de auditoria).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMapperBenchmark {
+
+  private RowMapper<Aluno> alunoMapper;
+  private RowMapper<Nota> notaMapper;
+  private ResultSet alunoRow;
+  private ResultSet notaRow;
+  private Instant created;
+  private Instant updated;
+
+  @Setup
+  public void setup() throws ReflectiveOperationException {
+    alunoMapper = rowMapperOf(AlunoDaoJdbc.class);
+    notaMapper = rowMapperOf(NotaDaoJdbc.class);
+
+    OffsetDateTime agora = OffsetDateTime.of(2024, 3, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    Map<String, Object> aluno = new HashMap<>();
+    aluno.put("id", 42L);
+    aluno.put("ra", "2024000042");
+    aluno.put("nome", "Maria da Silva");
+    aluno.put("email", "maria.silva@example.com");
+    aluno.put("departamento_id", 3L);
+    aluno.put("data_nascimento", LocalDate.of(2002, 5, 17));
+    aluno.put("created_at", agora);
+    aluno.put("updated_at", agora);
+    alunoRow = ResultSets.singleRow(aluno);
+
+    Map<String, Object> nota = new HashMap<>();
+    nota.put("aluno_id", 42L);
+    nota.put("prova_id", 7L);
+    nota.put("departamento_id", 3L);
+    nota.put("valor", new BigDecimal("8.50"));
+    nota.put("observacao", "Entregue no prazo");
+    nota.put("created_at", agora);
+    nota.put("updated_at", agora);
+    notaRow = ResultSets.singleRow(nota);
+  }
+
+  @Benchmark
+  public Aluno alunoRowMapper() throws SQLException {
+    return alunoMapper.mapRow(alunoRow, 1);
+  }
+
+  @Benchmark
+  public Nota notaRowMapper() throws SQLException {
+    return notaMapper.mapRow(notaRow, 1);
+  }
+
+  @Benchmark
+  public Instant auditColumns() throws SQLException {
+    JdbcTableMetadata.populateAuditColumns(notaRow, value -> created = value, value -> updated = value);
+    return updated;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> RowMapper<T> rowMapperOf(Class<?> dao) throws ReflectiveOperationException {
+    Field field = dao.getDeclaredField("ROW_MAPPER");
+    field.setAccessible(true);
+    return (RowMapper<T>) field.get(null);
+  }
+}
@@ -0,0 +1,123 @@
+package poo.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import poo.model.Aluno;
+import poo.model.consultas.AlunoCoberturaNotas;
+import poo.model.consultas.AlunoModalidadeEquilibrada;
+import poo.model.consultas.ConsultasAvancadasResumo;
+import poo.model.consultas.DepartamentoDesempenho;
+
+/**
+ * Serialização das respostas mais pesadas ({@code GET /api/alunos} e o resumo das consultas
+ * avançadas) com o mesmo {@link ObjectMapper} que o Spring Boot configura para o MVC.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoBenchmark {
+
+  @Param({ "100", "1000" })
+  public int linhas;
+
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+  // writeValue fecha o destino ao final; OutputStream.nullOutputStream() falharia na segunda chamada
+  private final OutputStream descarte = new OutputStream() {
+    @Override
+    public void write(int b) {}
+
+    @Override
+    public void write(byte[] b, int off, int len) {}
+  };
+  private List<Aluno> alunos;
+  private ConsultasAvancadasResumo resumo;
+
+  @Setup
+  public void setup() {
+    Instant agora = Instant.parse("2024-03-01T12:00:00Z");
+    alunos = new ArrayList<>(linhas);
+    for (int i = 0; i < linhas; i++) {
+      alunos.add(new Aluno(
+        (long) i,
+        String.format("2024%06d", i),
+        "Aluno " + i,
+        "aluno" + i + "@example.com",
+        (long) (i % 10),
+        LocalDate.of(2000 + i % 6, 1 + i % 12, 1 + i % 28),
+        agora,
+        agora
+      ));
+    }
+
+    resumo = new ConsultasAvancadasResumo();
+    List<DepartamentoDesempenho> ranking = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      DepartamentoDesempenho departamento = new DepartamentoDesempenho();
+      departamento.setDepartamentoId((long) i);
+      departamento.setDepartamentoNome("Departamento " + i);
+      departamento.setMediaNotas(new BigDecimal("7.25"));
+      departamento.setMenorNota(new BigDecimal("2.00"));
+      departamento.setMaiorNota(new BigDecimal("10.00"));
+      departamento.setAlunosAvaliados(linhas / 10);
+      departamento.setNotasLancadas(linhas);
+      ranking.add(departamento);
+    }
+    List<AlunoModalidadeEquilibrada> modalidades = new ArrayList<>();
+    List<AlunoCoberturaNotas> cobertura = new ArrayList<>();
+    for (int i = 0; i < linhas; i++) {
+      AlunoModalidadeEquilibrada modalidade = new AlunoModalidadeEquilibrada();
+      modalidade.setAlunoId((long) i);
+      modalidade.setRa(String.format("2024%06d", i));
+      modalidade.setNome("Aluno " + i);
+      modalidade.setDepartamentoNome("Departamento " + i % 10);
+      modalidade.setAvaliacoesProva(3);
+      modalidade.setProjetosEntregues(3);
+      modalidades.add(modalidade);
+
+      AlunoCoberturaNotas item = new AlunoCoberturaNotas();
+      item.setAlunoId((long) i);
+      item.setRa(String.format("2024%06d", i));
+      item.setNome("Aluno " + i);
+      item.setDepartamentoNome("Departamento " + i % 10);
+      item.setProvasAvaliadas(4);
+      item.setMediaNotas(new BigDecimal("6.75"));
+      item.setSemNotas(false);
+      cobertura.add(item);
+    }
+    resumo.setRankingDepartamentos(ranking);
+    resumo.setAlunosModalidades(modalidades);
+    resumo.setCoberturaNotas(cobertura);
+  }
+
+  @Benchmark
+  public void listaAlunos() throws IOException {
+    objectMapper.writeValue(descarte, alunos);
+  }
+
+  @Benchmark
+  public void resumoConsultasAvancadas() throws IOException {
+    objectMapper.writeValue(descarte, resumo);
+  }
+}
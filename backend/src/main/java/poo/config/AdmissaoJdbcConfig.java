@@ -0,0 +1,49 @@
+package poo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.EnableAsync;
+import poo.dao.support.AdmissaoDataSource;
+import poo.dao.support.AdmissaoJdbcPostProcessor;
+
+/**
+ * Modo de execução com threads virtuais ({@code spring.threads.virtual.enabled}, que vale para o
+ * Tomcat e para o executor padrão de {@code @Async}) e a admissão que protege o pool de conexões.
+ */
+@Configuration
+@EnableAsync
+public class AdmissaoJdbcConfig {
+
+  // BeanPostProcessor: as propriedades são lidas direto do Environment para não antecipar a criação
+  // de outros beans; o MeterRegistry só é buscado no primeiro pedido de conexão. Uma admissão
+  // recusada dentro de @Transactional chega como causa da CannotCreateTransactionException, e o
+  // ResponseStatusExceptionResolver responde pelo status dela (503).
+  @Bean
+  @ConditionalOnProperty(prefix = "poo.jdbc.admissao", name = "habilitada", havingValue = "true", matchIfMissing = true)
+  public static AdmissaoJdbcPostProcessor admissaoJdbcPostProcessor(Environment environment, ObjectProvider<MeterRegistry> registry) {
+    Binder binder = Binder.get(environment);
+    AdmissaoJdbcProperties properties = binder.bindOrCreate("poo.jdbc.admissao", AdmissaoJdbcProperties.class);
+    int permissoes = properties.permissoes() > 0
+      ? properties.permissoes()
+      : binder.bind("spring.datasource.hikari.maximum-pool-size", Integer.class).orElse(10);
+    return AdmissaoJdbcPostProcessor.principal(
+      dataSource -> new AdmissaoDataSource("crud", dataSource, permissoes, properties.esperaMaxima(), properties.maxFila(), registry::getObject)
+    );
+  }
+
+  // Os DAOs analíticos têm pool próprio; a admissão deles acompanha o tamanho e a fila desse pool
+  @Bean
+  @ConditionalOnProperty(prefix = "poo.jdbc.admissao", name = "habilitada", havingValue = "true", matchIfMissing = true)
+  public static AdmissaoJdbcPostProcessor admissaoAnaliticaPostProcessor(Environment environment, ObjectProvider<MeterRegistry> registry) {
+    AnaliticoDataSourceProperties pool = Binder.get(environment)
+      .bindOrCreate("poo.datasource.analitico", AnaliticoDataSourceProperties.class);
+    return AdmissaoJdbcPostProcessor.analitico(
+      dataSource -> new AdmissaoDataSource("analitico", dataSource, pool.maximumPoolSize(), pool.connectionTimeout(), pool.maxFila(), registry::getObject)
+    );
+  }
+}
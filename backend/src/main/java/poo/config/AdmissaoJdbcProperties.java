@@ -0,0 +1,23 @@
+package poo.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Admissão de pedidos de conexão ao pool principal ({@code poo.jdbc.admissao.*}). Com threads
+ * virtuais o Tomcat aceita milhares de requisições simultâneas; o semáforo deixa passar só quantas o
+ * pool de conexões atende e recusa o excedente com 503 em vez de empilhar todas dentro do Hikari.
+ *
+ * @param habilitada desliga a admissão (o Hikari volta a ser a única fila)
+ * @param permissoes conexões emprestadas ao mesmo tempo; 0 usa {@code spring.datasource.hikari.maximum-pool-size}
+ * @param esperaMaxima quanto uma requisição espera por uma permissão antes do 503
+ * @param maxFila requisições aguardando permissão; acima disso o 503 é imediato
+ */
+@ConfigurationProperties("poo.jdbc.admissao")
+public record AdmissaoJdbcProperties(
+  @DefaultValue("true") boolean habilitada,
+  @DefaultValue("0") int permissoes,
+  @DefaultValue("5s") Duration esperaMaxima,
+  @DefaultValue("1000") int maxFila
+) {}
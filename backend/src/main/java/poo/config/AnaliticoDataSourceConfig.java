@@ -0,0 +1,38 @@
+package poo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+import poo.dao.support.PoolJdbcDedicado;
+
+@Configuration
+@EnableConfigurationProperties(AnaliticoDataSourceProperties.class)
+public class AnaliticoDataSourceConfig {
+
+  // Bulkhead: as consultas avançadas (e futuros relatórios) disputam só estas conexões
+  @Bean(destroyMethod = "close")
+  public PoolJdbcDedicado poolAnalitico(
+    AnaliticoDataSourceProperties properties,
+    DataSourceProperties principal,
+    MeterRegistry meterRegistry
+  ) {
+    HikariDataSource pool = new HikariDataSource();
+    pool.setPoolName("analitico");
+    pool.setJdbcUrl(StringUtils.hasText(properties.url()) ? properties.url() : principal.determineUrl());
+    pool.setUsername(StringUtils.hasText(properties.username()) ? properties.username() : principal.determineUsername());
+    pool.setPassword(properties.password() != null ? properties.password() : principal.determinePassword());
+    pool.setMaximumPoolSize(properties.maximumPoolSize());
+    pool.setMinimumIdle(0);
+    pool.setConnectionTimeout(properties.connectionTimeout().toMillis());
+    pool.setInitializationFailTimeout(-1);
+    pool.setReadOnly(true);
+    pool.setConnectionInitSql("SET statement_timeout = " + properties.statementTimeout().toMillis());
+    pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+    return new PoolJdbcDedicado(pool);
+  }
+}
@@ -0,0 +1,34 @@
+package poo.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Pool de conexões dos DAOs de relatório ({@code poo.datasource.analitico.*}), isolado do pool de CRUD.
+ *
+ * @param url banco dos relatórios; vazio usa {@code spring.datasource.url} (aponte para uma réplica
+ *   para tirar as agregações do primário)
+ * @param username usuário; vazio usa {@code spring.datasource.username}
+ * @param password senha; vazia usa {@code spring.datasource.password}
+ * @param maximumPoolSize conexões do pool analítico e também quantas chamadas são admitidas ao mesmo tempo
+ * @param maxFila chamadas aguardando conexão; acima disso o 503 é imediato
+ * @param connectionTimeout espera máxima por conexão (e por admissão) antes do 503
+ * @param statementTimeout {@code statement_timeout} aplicado pelo Postgres em toda conexão do pool
+ */
+@ConfigurationProperties("poo.datasource.analitico")
+public record AnaliticoDataSourceProperties(
+  String url,
+  String username,
+  String password,
+  @DefaultValue("3") int maximumPoolSize,
+  @DefaultValue("10") int maxFila,
+  @DefaultValue("2s") Duration connectionTimeout,
+  @DefaultValue("60s") Duration statementTimeout
+) {
+  public AnaliticoDataSourceProperties {
+    if (maximumPoolSize < 1) {
+      throw new IllegalArgumentException("poo.datasource.analitico.maximum-pool-size deve ser pelo menos 1");
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package poo.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder.BCryptVersion;
+
+@Configuration
+@EnableConfigurationProperties({ SessaoProperties.class, SenhaProperties.class, LoginLimiteProperties.class })
+public class AuthConfig {
+
+  // $2a$ é o único prefixo que o crypt() do pgcrypto entende; hashes refeitos continuam legíveis no banco
+  @Bean
+  public BCryptPasswordEncoder senhaEncoder(SenhaProperties properties) {
+    return new BCryptPasswordEncoder(BCryptVersion.$2A, properties.custo());
+  }
+
+  // bcrypt é CPU pura: pool de plataforma limitado aos núcleos e fila curta, para que uma onda de
+  // logins espere aqui (ou receba 503) em vez de disputar CPU e conexões com o restante da API
+  @Bean(destroyMethod = "shutdown")
+  public ExecutorService senhaExecutor(SenhaProperties properties) {
+    int threads = properties.threadsEfetivas();
+    return new ThreadPoolExecutor(
+      threads,
+      threads,
+      0L,
+      TimeUnit.MILLISECONDS,
+      new ArrayBlockingQueue<>(properties.fila()),
+      new CustomizableThreadFactory("senha-"),
+      new ThreadPoolExecutor.AbortPolicy()
+    );
+  }
+}
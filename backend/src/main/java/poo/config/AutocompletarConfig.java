@@ -0,0 +1,30 @@
+package poo.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import poo.service.support.IndiceAutocompletar;
+
+@Configuration
+@EnableConfigurationProperties(AutocompletarProperties.class)
+public class AutocompletarConfig implements SchedulingConfigurer {
+
+  private final IndiceAutocompletar indice;
+  private final AutocompletarProperties properties;
+
+  public AutocompletarConfig(IndiceAutocompletar indice, AutocompletarProperties properties) {
+    this.indice = indice;
+    this.properties = properties;
+  }
+
+  // Primeira execução logo ao subir: é a carga inicial do índice. Falhas (banco fora) ficam no log
+  // do agendador e a execução seguinte tenta de novo.
+  @Override
+  public void configureTasks(@NonNull ScheduledTaskRegistrar registrar) {
+    registrar.addFixedDelayTask(new FixedDelayTask(indice::sincronizar, properties.sincronizacao(), Duration.ZERO));
+  }
+}
@@ -0,0 +1,27 @@
+package poo.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Índice em memória do autocompletar ({@code poo.autocompletar.*}).
+ *
+ * @param limitePadrao sugestões devolvidas quando o cliente não informa {@code limit}
+ * @param limiteMaximo teto para {@code limit}
+ * @param sincronizacao intervalo em que o índice busca no banco as escritas feitas por outras
+ *   instâncias (as desta instância entram na hora)
+ */
+@ConfigurationProperties("poo.autocompletar")
+public record AutocompletarProperties(
+  @DefaultValue("10") int limitePadrao,
+  @DefaultValue("50") int limiteMaximo,
+  @DefaultValue("30s") Duration sincronizacao
+) {
+
+  public AutocompletarProperties {
+    if (limitePadrao < 1 || limiteMaximo < limitePadrao) {
+      throw new IllegalArgumentException("poo.autocompletar.limite-padrao deve ficar entre 1 e limite-maximo");
+    }
+  }
+}
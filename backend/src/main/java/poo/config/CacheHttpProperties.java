@@ -0,0 +1,19 @@
+package poo.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * ETags e Cache-Control das listagens e detalhes ({@code poo.http.cache.*}).
+ *
+ * @param validadeVersao por quanto tempo a versão de uma tabela é reaproveitada sem consultar o banco;
+ *   escritas desta instância a invalidam na hora, as de outras instâncias aparecem depois deste tempo
+ * @param departamentos {@code max-age} dos departamentos, que quase nunca mudam; os demais recursos
+ *   usam {@code no-cache} (sempre revalidam com If-None-Match)
+ */
+@ConfigurationProperties("poo.http.cache")
+public record CacheHttpProperties(
+  @DefaultValue("1s") Duration validadeVersao,
+  @DefaultValue("60s") Duration departamentos
+) {}
@@ -0,0 +1,18 @@
+package poo.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ConsultasAvancadasProperties.class)
+public class ConsultasAvancadasConfig {
+
+  // Threads virtuais: bloquear esperando o Postgres não consome threads de plataforma
+  @Bean(destroyMethod = "close")
+  public ExecutorService consultasExecutor() {
+    return Executors.newVirtualThreadPerTaskExecutor();
+  }
+}
@@ -0,0 +1,32 @@
+package poo.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Limites de execução do resumo de consultas avançadas ({@code poo.consultas.*}).
+ *
+ * @param maxConexoes quantas das três consultas podem rodar ao mesmo tempo (1 = sequencial)
+ * @param timeoutPorConsulta tempo máximo de cada consulta, aplicado como query timeout do JDBC
+ * @param cache validade do resumo em cache, janela em que o valor vencido ainda é servido e prazo
+ *     de cada recarga
+ */
+@ConfigurationProperties("poo.consultas")
+public record ConsultasAvancadasProperties(
+  @DefaultValue("3") int maxConexoes,
+  @DefaultValue("30s") Duration timeoutPorConsulta,
+  @DefaultValue Cache cache
+) {
+  public ConsultasAvancadasProperties {
+    if (maxConexoes < 1) {
+      throw new IllegalArgumentException("poo.consultas.max-conexoes deve ser pelo menos 1");
+    }
+  }
+
+  public record Cache(
+    @DefaultValue("30s") Duration maxAge,
+    @DefaultValue("5m") Duration staleWhileRevalidate,
+    @DefaultValue("30s") Duration prazoRecarga
+  ) {}
+}
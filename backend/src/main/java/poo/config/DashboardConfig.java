@@ -0,0 +1,9 @@
+package poo.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(DashboardProperties.class)
+public class DashboardConfig {
+}
@@ -0,0 +1,17 @@
+package poo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Contagens do dashboard ({@code poo.dashboard.*}).
+ *
+ * @param limiteExato no modo aproximado, tabelas com menos linhas estimadas que isto ainda são
+ *   contadas com {@code count(*)}: são baratas e o número exato é o que se espera ver
+ * @param alunosDestaque tamanho do ranking de alunos por média
+ */
+@ConfigurationProperties("poo.dashboard")
+public record DashboardProperties(
+  @DefaultValue("100000") long limiteExato,
+  @DefaultValue("5") int alunosDestaque
+) {}
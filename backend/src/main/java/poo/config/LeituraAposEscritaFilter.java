@@ -0,0 +1,68 @@
+package poo.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import poo.dao.support.RoteamentoDataSource;
+
+/**
+ * Read-your-writes: requisição que altera dados marca o cliente com um cookie curto, e enquanto ele
+ * existir as leituras desse cliente vão para o primário em vez de uma réplica possivelmente atrasada.
+ */
+public class LeituraAposEscritaFilter extends OncePerRequestFilter {
+
+  private final LeituraReplicaProperties properties;
+
+  public LeituraAposEscritaFilter(LeituraReplicaProperties properties) {
+    this.properties = properties;
+  }
+
+  @Override
+  protected void doFilterInternal(
+    @NonNull HttpServletRequest request,
+    @NonNull HttpServletResponse response,
+    @NonNull FilterChain chain
+  ) throws ServletException, IOException {
+    boolean escrita = !isLeitura(request.getMethod());
+    if (escrita) {
+      // Antes da cadeia: depois que o corpo começa a ser escrito não dá mais para incluir cabeçalhos
+      response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(properties.cookie(), "1")
+        .httpOnly(true)
+        .sameSite("Lax")
+        .path("/api")
+        .maxAge(properties.leituraAposEscrita())
+        .build()
+        .toString());
+    }
+    RoteamentoDataSource.fixarNoPrimario(escrita || temCookie(request));
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      RoteamentoDataSource.fixarNoPrimario(false);
+    }
+  }
+
+  private boolean temCookie(HttpServletRequest request) {
+    Cookie[] cookies = request.getCookies();
+    if (cookies == null) {
+      return false;
+    }
+    for (Cookie cookie : cookies) {
+      if (properties.cookie().equals(cookie.getName())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isLeitura(String method) {
+    return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+  }
+}
@@ -0,0 +1,87 @@
+package poo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import poo.dao.support.RoteamentoDataSource;
+
+/**
+ * Só é ativada com pelo menos uma réplica em {@code poo.datasource.leitura.replicas}. O pool de
+ * {@code spring.datasource} vira o primário (e o alvo do Flyway); o {@code DataSource} usado pelos
+ * DAOs passa a ser o roteador.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "poo.datasource.leitura", name = "replicas[0].url")
+@EnableConfigurationProperties(LeituraReplicaProperties.class)
+public class LeituraReplicaConfig {
+
+  @Bean
+  @FlywayDataSource
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primarioDataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  @Bean
+  public RoteamentoDataSource roteamentoDataSource(
+    HikariDataSource primarioDataSource,
+    LeituraReplicaProperties properties,
+    MeterRegistry meterRegistry
+  ) {
+    Map<String, DataSource> replicas = new LinkedHashMap<>();
+    List<LeituraReplicaProperties.Replica> configuradas = properties.replicas();
+    for (int i = 0; i < configuradas.size(); i++) {
+      LeituraReplicaProperties.Replica replica = configuradas.get(i);
+      String nome = "replica-" + (i + 1);
+      HikariDataSource pool = new HikariDataSource();
+      pool.setPoolName(nome);
+      pool.setJdbcUrl(replica.url());
+      pool.setUsername(replica.username());
+      pool.setPassword(replica.password());
+      pool.setMaximumPoolSize(replica.maximumPoolSize());
+      pool.setReadOnly(true);
+      // Réplica fora do ar não pode segurar a requisição pelos 30s padrão antes do failover
+      pool.setConnectionTimeout(Duration.ofSeconds(2).toMillis());
+      pool.setInitializationFailTimeout(-1);
+      pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+      replicas.put(nome, pool);
+    }
+    RoteamentoDataSource roteador = new RoteamentoDataSource(
+      primarioDataSource,
+      replicas,
+      properties.lagMaximo(),
+      RoteamentoDataSource.SondaReplica.postgres(Duration.ofSeconds(2))
+    );
+    roteador.registrarMetricas(meterRegistry);
+    roteador.iniciarVerificacao(properties.intervaloVerificacao());
+    return roteador;
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(RoteamentoDataSource roteamentoDataSource) {
+    return new LazyConnectionDataSourceProxy(roteamentoDataSource);
+  }
+
+  @Bean
+  public FilterRegistrationBean<LeituraAposEscritaFilter> leituraAposEscritaFilter(LeituraReplicaProperties properties) {
+    FilterRegistrationBean<LeituraAposEscritaFilter> registro = new FilterRegistrationBean<>(new LeituraAposEscritaFilter(properties));
+    registro.addUrlPatterns("/api/*");
+    return registro;
+  }
+}
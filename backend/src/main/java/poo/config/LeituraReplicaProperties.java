@@ -0,0 +1,32 @@
+package poo.config;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Réplicas de leitura do Postgres ({@code poo.datasource.leitura.*}). Sem réplicas configuradas tudo
+ * continua indo para {@code spring.datasource}.
+ *
+ * @param replicas réplicas que atendem transações {@code readOnly}
+ * @param lagMaximo atraso de replicação tolerado; acima disso a réplica sai do rodízio até alcançar o primário
+ * @param intervaloVerificacao frequência da checagem de saúde e atraso de cada réplica
+ * @param leituraAposEscrita por quanto tempo um cliente que acabou de escrever lê só do primário
+ * @param cookie cookie que marca o cliente que escreveu
+ */
+@ConfigurationProperties("poo.datasource.leitura")
+public record LeituraReplicaProperties(
+  @DefaultValue List<Replica> replicas,
+  @DefaultValue("5s") Duration lagMaximo,
+  @DefaultValue("5s") Duration intervaloVerificacao,
+  @DefaultValue("10s") Duration leituraAposEscrita,
+  @DefaultValue("poo_primario") String cookie
+) {
+  public record Replica(
+    String url,
+    String username,
+    String password,
+    @DefaultValue("10") int maximumPoolSize
+  ) {}
+}
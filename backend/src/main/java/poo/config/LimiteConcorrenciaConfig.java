@@ -0,0 +1,31 @@
+package poo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import poo.service.support.LimiteAdaptativo;
+
+@Configuration
+@ConditionalOnProperty(prefix = "poo.http.limite", name = "habilitado", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(LimiteConcorrenciaProperties.class)
+public class LimiteConcorrenciaConfig implements WebMvcConfigurer {
+
+  private final LimiteConcorrenciaInterceptor interceptor;
+
+  public LimiteConcorrenciaConfig(LimiteConcorrenciaProperties properties, MeterRegistry meterRegistry) {
+    this.interceptor = new LimiteConcorrenciaInterceptor(
+      new LimiteAdaptativo("crud", properties.crud(), properties.tolerancia(), meterRegistry),
+      new LimiteAdaptativo("consultas", properties.consultas(), properties.tolerancia(), meterRegistry),
+      properties.retryAfter()
+    );
+  }
+
+  @Override
+  public void addInterceptors(@NonNull InterceptorRegistry registry) {
+    registry.addInterceptor(interceptor).addPathPatterns("/api/**");
+  }
+}
@@ -0,0 +1,98 @@
+package poo.config;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import poo.controller.BaseCrudController;
+import poo.controller.ConsultasAvancadasController;
+import poo.controller.DashboardController;
+import poo.service.support.CrudServiceSupport;
+import poo.service.support.LimiteAdaptativo;
+
+/**
+ * Limite de concorrência na frente dos controllers: com o grupo cheio a requisição recebe 503 com
+ * Retry-After na hora, sem chegar a disputar conexões. A latência medida vai da entrada no
+ * controller até o fim da resposta (inclusive o dispatch assíncrono, quando houver).
+ */
+public class LimiteConcorrenciaInterceptor implements AsyncHandlerInterceptor {
+
+  private static final String ATRIBUTO = LimiteConcorrenciaInterceptor.class.getName() + ".vaga";
+
+  private final LimiteAdaptativo crud;
+  private final LimiteAdaptativo consultas;
+  private final String retryAfter;
+
+  public LimiteConcorrenciaInterceptor(LimiteAdaptativo crud, LimiteAdaptativo consultas, Duration retryAfter) {
+    this.crud = crud;
+    this.consultas = consultas;
+    this.retryAfter = String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+  }
+
+  @Override
+  public boolean preHandle(
+    @NonNull HttpServletRequest request,
+    @NonNull HttpServletResponse response,
+    @NonNull Object handler
+  ) throws IOException {
+    if (request.getDispatcherType() == DispatcherType.ASYNC || !(handler instanceof HandlerMethod metodo)) {
+      return true;
+    }
+    LimiteAdaptativo limite = grupo(metodo.getBeanType());
+    if (limite == null) {
+      return true;
+    }
+    if (!limite.tentarAdquirir()) {
+      response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+      response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+      response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+      response.getWriter().write("{\"error\":\"overloaded\"}");
+      return false;
+    }
+    request.setAttribute(ATRIBUTO, new Vaga(limite, System.nanoTime()));
+    return true;
+  }
+
+  // Chamado ao fim do dispatch síncrono ou, em requisições assíncronas, ao fim do dispatch ASYNC
+  @Override
+  public void afterCompletion(
+    @NonNull HttpServletRequest request,
+    @NonNull HttpServletResponse response,
+    @NonNull Object handler,
+    @Nullable Exception ex
+  ) {
+    if (!(request.getAttribute(ATRIBUTO) instanceof Vaga vaga)) {
+      return;
+    }
+    request.removeAttribute(ATRIBUTO);
+    int status = response.getStatus();
+    boolean sobrecarga = status == HttpStatus.SERVICE_UNAVAILABLE.value()
+      || status == HttpStatus.GATEWAY_TIMEOUT.value()
+      || CrudServiceSupport.isQueryTimeout(ex);
+    if (sobrecarga) {
+      vaga.limite().liberarComSobrecarga();
+    } else {
+      vaga.limite().liberar(System.nanoTime() - vaga.inicio());
+    }
+  }
+
+  private LimiteAdaptativo grupo(Class<?> controller) {
+    if (BaseCrudController.class.isAssignableFrom(controller)) {
+      return crud;
+    }
+    if (ConsultasAvancadasController.class.isAssignableFrom(controller) || DashboardController.class.isAssignableFrom(controller)) {
+      return consultas;
+    }
+    return null;
+  }
+
+  private record Vaga(LimiteAdaptativo limite, long inicio) {}
+}
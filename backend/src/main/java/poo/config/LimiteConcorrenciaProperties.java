@@ -0,0 +1,45 @@
+package poo.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Limite adaptativo de requisições simultâneas por grupo de endpoints ({@code poo.http.limite.*}).
+ *
+ * @param habilitado desliga o limite (as requisições voltam a esperar na admissão JDBC e no Hikari)
+ * @param retryAfter valor do cabeçalho Retry-After nas respostas 503
+ * @param tolerancia quanto a latência pode subir em relação à de referência antes de o limite cair
+ * @param crud controllers do CRUD ({@code BaseCrudController})
+ * @param consultas consultas avançadas
+ */
+@ConfigurationProperties("poo.http.limite")
+public record LimiteConcorrenciaProperties(
+  @DefaultValue("true") boolean habilitado,
+  @DefaultValue("1s") Duration retryAfter,
+  @DefaultValue("2.0") double tolerancia,
+  @DefaultValue Grupo crud,
+  @DefaultValue Grupo consultas
+) {
+  public LimiteConcorrenciaProperties {
+    if (tolerancia < 1.0) {
+      throw new IllegalArgumentException("poo.http.limite.tolerancia deve ser pelo menos 1.0");
+    }
+  }
+
+  /**
+   * O limite começa em {@code inicial} e se ajusta à latência observada sem sair de
+   * [{@code minimo}, {@code maximo}].
+   */
+  public record Grupo(
+    @DefaultValue("20") int inicial,
+    @DefaultValue("2") int minimo,
+    @DefaultValue("200") int maximo
+  ) {
+    public Grupo {
+      if (minimo < 1 || inicial < minimo || maximo < inicial) {
+        throw new IllegalArgumentException("Grupo de poo.http.limite precisa de 1 <= minimo <= inicial <= maximo");
+      }
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package poo.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Limite de tentativas em {@code /api/auth/login} ({@code poo.auth.limite.*}).
+ *
+ * @param habilitado desliga o limitador (ex.: testes de carga do próprio login)
+ * @param usuario balde por username, contra força bruta numa conta
+ * @param ip balde por endereço do cliente, contra um script testando várias contas
+ * @param maxChaves quantos baldes ficam em memória; os menos usados saem primeiro
+ */
+@ConfigurationProperties("poo.auth.limite")
+public record LoginLimiteProperties(
+  @DefaultValue("true") boolean habilitado,
+  @DefaultValue Balde usuario,
+  @DefaultValue Balde ip,
+  @DefaultValue("10000") int maxChaves
+) {
+  public LoginLimiteProperties {
+    if (maxChaves < 1) {
+      throw new IllegalArgumentException("poo.auth.limite.max-chaves deve ser pelo menos 1");
+    }
+  }
+
+  /**
+   * Token bucket: até {@code capacidade} tentativas seguidas, repondo uma a cada {@code reposicao}.
+   */
+  public record Balde(
+    @DefaultValue("5") int capacidade,
+    @DefaultValue("1m") Duration reposicao
+  ) {
+    public Balde {
+      if (capacidade < 1 || reposicao.isZero() || reposicao.isNegative()) {
+        throw new IllegalArgumentException("Balde de poo.auth.limite precisa de capacidade e reposição positivas");
+      }
+    }
+  }
+}
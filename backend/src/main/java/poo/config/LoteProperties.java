@@ -0,0 +1,21 @@
+package poo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Buscas em lote por chave ({@code poo.http.lote.*}), como {@code GET /api/alunos?ids=}.
+ *
+ * @param maximoChaves chaves distintas aceitas por requisição; acima disso a resposta é 400
+ */
+@ConfigurationProperties("poo.http.lote")
+public record LoteProperties(
+  @DefaultValue("500") int maximoChaves
+) {
+
+  public LoteProperties {
+    if (maximoChaves < 1) {
+      throw new IllegalArgumentException("poo.http.lote.maximo-chaves deve ser pelo menos 1");
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package poo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import poo.dao.support.MetricasJdbcPostProcessor;
+
+@Configuration
+public class MetricasJdbcConfig {
+
+  // static porque é um BeanPostProcessor. O MeterRegistry só é buscado na primeira chamada a um DAO:
+  // criá-lo aqui o tiraria do alcance dos filtros e binders configurados pelo Actuator.
+  @Bean
+  public static MetricasJdbcPostProcessor metricasJdbcPostProcessor(ObjectProvider<MeterRegistry> registry) {
+    return new MetricasJdbcPostProcessor(registry::getObject);
+  }
+}
@@ -0,0 +1,39 @@
+package poo.config;
+
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import poo.dao.support.ContextoRequisicao;
+import poo.dao.support.JdbcTemplateComPrazo;
+
+/**
+ * Prazo por requisição: o filtro define o prazo, o {@link JdbcTemplateComPrazo} (que substitui o
+ * {@code JdbcTemplate} do Spring Boot) o aplica a cada consulta, e o {@link TaskDecorator} o leva
+ * (junto com a fixação no primário) para as tarefas assíncronas do MVC e de {@code @Async}.
+ */
+@Configuration
+@EnableConfigurationProperties(PrazoRequisicaoProperties.class)
+public class PrazoRequisicaoConfig {
+
+  @Bean
+  public JdbcTemplateComPrazo jdbcTemplate(DataSource dataSource) {
+    return new JdbcTemplateComPrazo(dataSource);
+  }
+
+  @Bean
+  @ConditionalOnProperty(prefix = "poo.http.prazo", name = "habilitado", havingValue = "true", matchIfMissing = true)
+  public FilterRegistrationBean<PrazoRequisicaoFilter> prazoRequisicaoFilter(PrazoRequisicaoProperties properties) {
+    FilterRegistrationBean<PrazoRequisicaoFilter> registro = new FilterRegistrationBean<>(new PrazoRequisicaoFilter(properties));
+    registro.addUrlPatterns("/api/*");
+    return registro;
+  }
+
+  @Bean
+  public TaskDecorator contextoRequisicaoTaskDecorator() {
+    return ContextoRequisicao::propagar;
+  }
+}
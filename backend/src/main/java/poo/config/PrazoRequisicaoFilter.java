@@ -0,0 +1,108 @@
+package poo.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import poo.dao.support.PrazoRequisicao;
+import poo.service.support.CrudServiceSupport;
+
+/**
+ * Abre um {@link PrazoRequisicao} para cada requisição: o do cabeçalho do cliente (limitado a
+ * {@code maximo}) ou o padrão da rota. Consulta cancelada pelo prazo vira 504.
+ *
+ * <p>O Tomcat só percebe que o cliente foi embora quando tenta ler ou escrever no socket; por isso o
+ * frontend manda no cabeçalho o mesmo timeout que usa, e a consulta é cancelada no Postgres no
+ * momento em que o cliente desiste dela. Em requisições assíncronas (exportação), o erro de I/O
+ * avisado pelo container também cancela as consultas em andamento.
+ */
+public class PrazoRequisicaoFilter extends OncePerRequestFilter {
+
+  private final PrazoRequisicaoProperties properties;
+  private final List<RotaCompilada> rotas;
+
+  public PrazoRequisicaoFilter(PrazoRequisicaoProperties properties) {
+    this.properties = properties;
+    this.rotas = properties.rotas().stream()
+      .map(r -> new RotaCompilada(PathPatternParser.defaultInstance.parse(r.caminho()), r.prazo()))
+      .toList();
+  }
+
+  @Override
+  protected void doFilterInternal(
+    @NonNull HttpServletRequest request,
+    @NonNull HttpServletResponse response,
+    @NonNull FilterChain chain
+  ) throws ServletException, IOException {
+    // Prazo zero (exportação) não limita o tempo, mas as consultas continuam registradas para que a
+    // desconexão do cliente as cancele
+    Duration prazo = prazo(request);
+    PrazoRequisicao atual = prazo.isZero() ? PrazoRequisicao.iniciarSemLimite() : PrazoRequisicao.iniciar(prazo);
+    try {
+      chain.doFilter(request, response);
+      if (request.isAsyncStarted()) {
+        request.getAsyncContext().addListener(new CancelarAoFalhar(atual));
+      }
+    } catch (ServletException | RuntimeException ex) {
+      if (!CrudServiceSupport.isQueryTimeout(ex) || !atual.esgotado() || response.isCommitted()) {
+        throw ex;
+      }
+      response.sendError(HttpStatus.GATEWAY_TIMEOUT.value(), "Prazo da requisição esgotado");
+    } finally {
+      PrazoRequisicao.encerrar();
+    }
+  }
+
+  private Duration prazo(HttpServletRequest request) {
+    String cabecalho = request.getHeader(properties.cabecalho());
+    if (cabecalho != null) {
+      try {
+        long millis = Long.parseLong(cabecalho.trim());
+        if (millis > 0) {
+          Duration pedido = Duration.ofMillis(millis);
+          return pedido.compareTo(properties.maximo()) > 0 ? properties.maximo() : pedido;
+        }
+      } catch (NumberFormatException ex) {
+        // cabeçalho inválido: segue o padrão da rota
+      }
+    }
+    PathContainer caminho = PathContainer.parsePath(request.getRequestURI());
+    for (RotaCompilada rota : rotas) {
+      if (rota.padrao().matches(caminho)) {
+        return rota.prazo();
+      }
+    }
+    return properties.padrao();
+  }
+
+  private record RotaCompilada(PathPattern padrao, Duration prazo) {}
+
+  private record CancelarAoFalhar(PrazoRequisicao prazo) implements AsyncListener {
+    @Override
+    public void onError(AsyncEvent event) {
+      prazo.cancelar();
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+      prazo.cancelar();
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {}
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {}
+  }
+}
@@ -0,0 +1,31 @@
+package poo.config;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Prazo por requisição repassado às consultas JDBC ({@code poo.http.prazo.*}).
+ *
+ * @param habilitado desliga o prazo (as consultas voltam a rodar até o fim)
+ * @param cabecalho cabeçalho com o prazo do cliente em milissegundos
+ * @param padrao prazo quando nem o cliente nem uma rota definem outro; zero = sem prazo
+ * @param maximo teto para o prazo pedido pelo cliente
+ * @param rotas prazos padrão por caminho (padrões do Spring MVC); vale a primeira que casar
+ */
+@ConfigurationProperties("poo.http.prazo")
+public record PrazoRequisicaoProperties(
+  @DefaultValue("true") boolean habilitado,
+  @DefaultValue("X-Prazo-Ms") String cabecalho,
+  @DefaultValue("15s") Duration padrao,
+  @DefaultValue("60s") Duration maximo,
+  List<Rota> rotas
+) {
+  public PrazoRequisicaoProperties {
+    rotas = rotas == null ? List.of() : List.copyOf(rotas);
+  }
+
+  /** Prazo padrão de um grupo de endpoints; zero deixa as requisições dele sem prazo. */
+  public record Rota(String caminho, Duration prazo) {}
+}
@@ -0,0 +1,32 @@
+package poo.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Verificação de senhas na aplicação ({@code poo.auth.senha.*}).
+ *
+ * @param custo custo bcrypt dos hashes novos; hashes com custo menor (o {@code gen_salt('bf')}
+ *   do pgcrypto usa 6) são refeitos no próximo login bem-sucedido
+ * @param threads threads dedicadas ao bcrypt; 0 usa o número de processadores
+ * @param fila logins aguardando thread livre antes de responder 503
+ * @param esperaMaxima tempo máximo de um login na fila mais o cálculo do hash
+ */
+@ConfigurationProperties("poo.auth.senha")
+public record SenhaProperties(
+  @DefaultValue("10") int custo,
+  @DefaultValue("0") int threads,
+  @DefaultValue("64") int fila,
+  @DefaultValue("5s") Duration esperaMaxima
+) {
+  public SenhaProperties {
+    if (custo < 4 || custo > 31) {
+      throw new IllegalArgumentException("poo.auth.senha.custo deve estar entre 4 e 31");
+    }
+  }
+
+  public int threadsEfetivas() {
+    return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+  }
+}
@@ -0,0 +1,39 @@
+package poo.config;
+
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Como o login é mantido entre requisições ({@code poo.auth.sessao.*}).
+ *
+ * @param modo {@code token} guarda o usuário num cookie assinado (nenhum estado no servidor);
+ *   {@code http-session} mantém o comportamento antigo com {@code HttpSession}
+ * @param cookie nome do cookie HttpOnly que carrega o token
+ * @param cookieSeguro envia o cookie só por HTTPS (desligado apenas em desenvolvimento)
+ * @param validade tempo de vida do token a partir do login
+ * @param chaveAtiva id da chave usada para assinar tokens novos
+ * @param chaves chaves HMAC em Base64 (pelo menos 32 bytes) por id; manter a chave anterior aqui
+ *   durante a rotação faz os tokens já emitidos continuarem válidos até expirarem
+ */
+@ConfigurationProperties("poo.auth.sessao")
+public record SessaoProperties(
+  @DefaultValue("token") Modo modo,
+  @DefaultValue("poo_sessao") String cookie,
+  @DefaultValue("true") boolean cookieSeguro,
+  @DefaultValue("8h") Duration validade,
+  String chaveAtiva,
+  @DefaultValue Map<String, String> chaves
+) {
+  public SessaoProperties {
+    if (modo == Modo.TOKEN && (chaveAtiva == null || !chaves.containsKey(chaveAtiva))) {
+      throw new IllegalArgumentException("poo.auth.sessao.chave-ativa deve apontar para uma entrada de poo.auth.sessao.chaves");
+    }
+  }
+
+  public enum Modo {
+    TOKEN,
+    HTTP_SESSION
+  }
+}
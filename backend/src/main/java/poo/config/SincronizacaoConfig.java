@@ -0,0 +1,33 @@
+package poo.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import poo.service.support.SincronizacaoSupport;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(SincronizacaoProperties.class)
+public class SincronizacaoConfig implements SchedulingConfigurer {
+
+  private final SincronizacaoSupport sincronizacao;
+  private final SincronizacaoProperties properties;
+
+  public SincronizacaoConfig(SincronizacaoSupport sincronizacao, SincronizacaoProperties properties) {
+    this.sincronizacao = sincronizacao;
+    this.properties = properties;
+  }
+
+  @Override
+  public void configureTasks(@NonNull ScheduledTaskRegistrar registrar) {
+    registrar.addFixedDelayTask(new FixedDelayTask(
+      sincronizacao::limparExclusoesAntigas,
+      properties.intervaloLimpeza(),
+      properties.intervaloLimpeza()
+    ));
+  }
+}
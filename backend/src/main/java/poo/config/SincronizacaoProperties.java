@@ -0,0 +1,18 @@
+package poo.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Sincronização incremental das listagens ({@code poo.sync.*}).
+ *
+ * @param retencao por quanto tempo as exclusões ficam registradas; um {@code since} anterior às
+ *   exclusões já descartadas recebe 410 e o cliente refaz a carga completa
+ * @param intervaloLimpeza frequência da remoção das exclusões fora da retenção
+ */
+@ConfigurationProperties("poo.sync")
+public record SincronizacaoProperties(
+  @DefaultValue("7d") Duration retencao,
+  @DefaultValue("1h") Duration intervaloLimpeza
+) {}
@@ -1,5 +1,6 @@
 package poo.config;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
@@ -7,6 +8,7 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 
 @Configuration
+@EnableConfigurationProperties({ CacheHttpProperties.class, LoteProperties.class })
 public class WebConfig implements WebMvcConfigurer {
 
   @Override
@@ -16,6 +18,8 @@ public class WebConfig implements WebMvcConfigurer {
       .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
       .allowedHeaders("*")
       .allowCredentials(true)
+      // Cursor da sincronização nas listagens completas; sem isso o navegador esconde o cabeçalho
+      .exposedHeaders("X-Sincronizado-Ate")
       .maxAge(3600);
   }
 }
@@ -3,6 +3,7 @@ package poo.controller;
 import jakarta.validation.Valid;
 import java.net.URI;
 import java.util.List;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,20 +12,31 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import poo.controller.dto.AlunoRequest;
 import poo.controller.mapper.AlunoMapper;
+import poo.model.Alteracoes;
 import poo.model.Aluno;
+import poo.model.PaginaCursor;
 import poo.service.AlunoService;
+import poo.service.support.EntidadeAlteradaEvent.Entidade;
+import poo.service.support.SincronizacaoSupport;
+import poo.service.support.VersaoEntidades;
 
 @RestController
 @RequestMapping("/api/alunos")
 public class AlunoController extends BaseCrudController {
 
   private final AlunoService service;
+  private final VersaoEntidades versoes;
+  private final SincronizacaoSupport sincronizacao;
 
-  public AlunoController(AlunoService service) {
+  public AlunoController(AlunoService service, VersaoEntidades versoes, SincronizacaoSupport sincronizacao) {
     this.service = service;
+    this.versoes = versoes;
+    this.sincronizacao = sincronizacao;
   }
 
   @PostMapping
@@ -35,13 +47,40 @@ public class AlunoController extends BaseCrudController {
   }
 
   @GetMapping
-  public List<Aluno> list() {
-    return service.listAll();
+  public ResponseEntity<List<Aluno>> list(WebRequest request) {
+    rejeitarModosCombinados(request, "since", "q", "ids");
+    return conditionalCompleto(request, versoes.versao(Entidade.ALUNO), CacheControl.noCache().cachePrivate(), sincronizacao, service::listAll);
+  }
+
+  // Sincronização incremental: só o que mudou (e as chaves excluídas) depois de "since"
+  @GetMapping(params = { "since", "!q", "!ids" })
+  public Alteracoes<Aluno, Long> listChangedSince(@RequestParam(name = "since") long since) {
+    return service.listChangedSince(since);
+  }
+
+  // Busca por nome, RA ou e-mail (sem diferenciar maiúsculas e acentos), por relevância
+  @GetMapping(params = { "q", "!since", "!ids" })
+  public ResponseEntity<PaginaCursor<Aluno>> search(
+    @RequestParam(name = "q") String termo,
+    @RequestParam(name = "cursor", required = false) String cursor,
+    @RequestParam(name = "limit", required = false) Integer limit,
+    WebRequest request
+  ) {
+    return conditional(request, versoes.versao(Entidade.ALUNO), CacheControl.noCache().cachePrivate(),
+      () -> service.search(termo, cursor, limit));
+  }
+
+  // Vários alunos por id num único SELECT (?ids=1,2,3), em vez de uma chamada por id
+  @GetMapping(params = { "ids", "!since", "!q" })
+  public ResponseEntity<List<Aluno>> listByIds(@RequestParam(name = "ids") List<Long> ids, WebRequest request) {
+    return conditional(request, versoes.versao(Entidade.ALUNO), CacheControl.noCache().cachePrivate(),
+      () -> service.findByIds(ids));
   }
 
   @GetMapping("/{id}")
-  public Aluno get(@PathVariable Long id) {
-    return requireFound(service.findById(id), "Aluno não encontrado.");
+  public ResponseEntity<Aluno> get(@PathVariable Long id, WebRequest request) {
+    return conditional(request, versoes.versao(Entidade.ALUNO), CacheControl.noCache().cachePrivate(),
+      () -> requireFound(service.findById(id), "Aluno não encontrado."));
   }
 
   @PutMapping("/{id}")
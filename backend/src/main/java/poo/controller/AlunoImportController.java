@@ -0,0 +1,37 @@
+package poo.controller;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import poo.model.importacao.AlunoImportResultado;
+import poo.service.AlunoImportService;
+
+@RestController
+@RequestMapping("/api/alunos/import")
+public class AlunoImportController {
+
+  private final AlunoImportService service;
+
+  public AlunoImportController(AlunoImportService service) {
+    this.service = service;
+  }
+
+  @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  public AlunoImportResultado importar(@RequestParam("arquivo") MultipartFile arquivo) throws IOException {
+    if (arquivo.isEmpty()) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Arquivo CSV vazio.");
+    }
+    try (Reader csv = new InputStreamReader(arquivo.getInputStream(), StandardCharsets.UTF_8)) {
+      return service.importarCsv(csv);
+    }
+  }
+}
@@ -1,7 +1,10 @@
 package poo.controller;
 
+import java.time.Duration;
 import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -9,15 +12,30 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.constraints.NotBlank;
+import poo.config.SessaoProperties;
+import poo.config.SessaoProperties.Modo;
+import poo.model.Usuario;
 import poo.service.AuthService;
+import poo.service.support.LimitadorTentativasLogin;
+import poo.service.support.SessaoTokenCodec;
 
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
   private final AuthService auth;
-  public AuthController(AuthService auth) { this.auth = auth; }
+  private final SessaoTokenCodec tokens;
+  private final SessaoProperties sessao;
+  private final LimitadorTentativasLogin limitador;
+
+  public AuthController(AuthService auth, SessaoTokenCodec tokens, SessaoProperties sessao, LimitadorTentativasLogin limitador) {
+    this.auth = auth;
+    this.tokens = tokens;
+    this.sessao = sessao;
+    this.limitador = limitador;
+  }
 
   public static class LoginDTO {
     @NotBlank public String username;
@@ -25,27 +43,79 @@ public class AuthController {
   }
 
   @PostMapping("/login")
-  public ResponseEntity<?> login(@RequestBody LoginDTO dto, HttpSession session) {
+  public ResponseEntity<?> login(@RequestBody LoginDTO dto, HttpServletRequest request) {
+    // Antes de qualquer consulta ou bcrypt; atrás de proxy, configure server.forward-headers-strategy
+    LimitadorTentativasLogin.Decisao decisao = limitador.tentar(dto.username, request.getRemoteAddr());
+    if (!decisao.permitida()) {
+      return ResponseEntity.status(429)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(decisao.retryAfterSegundos()))
+        .body(Map.of("error", "too_many_attempts"));
+    }
     return auth.login(dto.username, dto.password)
       .<ResponseEntity<?>>map(u -> {
-        session.setAttribute("userId", u.getId());
-        session.setAttribute("userName", u.getNome());
-        return ResponseEntity.ok(Map.of("id", u.getId(), "username", u.getUsername(), "nome", u.getNome()));
+        limitador.registrarSucesso(dto.username);
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+        if (sessao.modo() == Modo.TOKEN) {
+          ok.header(HttpHeaders.SET_COOKIE, cookie(tokens.emitir(u), sessao.validade()));
+        } else {
+          HttpSession session = request.getSession();
+          session.setAttribute("userId", u.getId());
+          session.setAttribute("userName", u.getNome());
+        }
+        return ok.body(Map.of("id", u.getId(), "username", u.getUsername(), "nome", u.getNome()));
       })
       .orElseGet(() -> ResponseEntity.status(401).body(Map.of("error", "invalid_credentials")));
   }
 
   @GetMapping("/me")
-  public ResponseEntity<?> me(HttpSession session) {
-    Object id = session.getAttribute("userId");
-    Object name = session.getAttribute("userName");
+  public ResponseEntity<?> me(HttpServletRequest request) {
+    if (sessao.modo() == Modo.TOKEN) {
+      String token = tokenDoCookie(request);
+      // Só confere a assinatura: nenhum acesso a sessão ou banco, qualquer réplica responde
+      return tokens.verificar(token)
+        .<ResponseEntity<?>>map(s -> {
+          ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+          if (tokens.precisaReemitir(token)) {
+            Usuario usuario = s.toUsuario();
+            ok.header(HttpHeaders.SET_COOKIE, cookie(tokens.emitir(usuario), sessao.validade()));
+          }
+          return ok.body(Map.of("id", s.id(), "nome", s.nome()));
+        })
+        .orElseGet(() -> ResponseEntity.status(401).body(Map.of("error", "unauthenticated")));
+    }
+    HttpSession session = request.getSession(false);
+    Object id = session == null ? null : session.getAttribute("userId");
     if (id == null) return ResponseEntity.status(401).body(Map.of("error", "unauthenticated"));
-    return ResponseEntity.ok(Map.of("id", id, "nome", name));
+    return ResponseEntity.ok(Map.of("id", id, "nome", session.getAttribute("userName")));
   }
 
   @PostMapping("/logout")
-  public ResponseEntity<?> logout(HttpSession session) {
-    session.invalidate();
-    return ResponseEntity.noContent().build();
+  public ResponseEntity<?> logout(HttpServletRequest request) {
+    HttpSession session = request.getSession(false);
+    if (session != null) session.invalidate();
+    ResponseEntity.HeadersBuilder<?> noContent = ResponseEntity.noContent();
+    if (sessao.modo() == Modo.TOKEN) {
+      noContent.header(HttpHeaders.SET_COOKIE, cookie("", Duration.ZERO));
+    }
+    return noContent.build();
+  }
+
+  private String tokenDoCookie(HttpServletRequest request) {
+    if (request.getCookies() == null) return null;
+    for (var c : request.getCookies()) {
+      if (sessao.cookie().equals(c.getName())) return c.getValue();
+    }
+    return null;
+  }
+
+  private String cookie(String valor, Duration maxAge) {
+    return ResponseCookie.from(sessao.cookie(), valor)
+      .httpOnly(true)
+      .secure(sessao.cookieSeguro())
+      .sameSite("Lax")
+      .path("/api")
+      .maxAge(maxAge)
+      .build()
+      .toString();
   }
 }
@@ -1,13 +1,23 @@
 package poo.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import poo.service.support.SincronizacaoSupport;
 
 public abstract class BaseCrudController {
 
@@ -29,7 +39,76 @@ public abstract class BaseCrudController {
     return Objects.requireNonNull(builtUri, "created URI must not be null");
   }
 
+  /** Cabeçalho das listagens completas com o {@code since} da primeira sincronização incremental. */
+  protected static final String SINCRONIZADO_ATE = "X-Sincronizado-Ate";
+
+  /**
+   * GET condicional: o ETag combina a versão dos dados com o caminho e a query string. Se bater com o
+   * If-None-Match, a resposta é 304 sem chamar {@code corpo}, ou seja, sem ler linhas nem serializar JSON.
+   */
+  protected <T> ResponseEntity<T> conditional(WebRequest request, String versao, CacheControl cacheControl, Supplier<T> corpo) {
+    if (naoModificado(request, versao)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+    }
+    return ResponseEntity.ok().cacheControl(cacheControl).body(corpo.get());
+  }
+
+  /**
+   * {@link #conditional} para a listagem completa de uma entidade, com {@code sincronizadoAte} no
+   * cabeçalho {@value #SINCRONIZADO_ATE}. O cursor é lido na transação das linhas, antes delas, então
+   * nada gravado depois da leitura fica para trás no próximo {@code ?since=}. O 304 vai sem o
+   * cabeçalho: quem o recebe já tem a resposta completa, e o cursor dela continua válido.
+   */
+  protected <T> ResponseEntity<T> conditionalCompleto(
+    WebRequest request,
+    String versao,
+    CacheControl cacheControl,
+    SincronizacaoSupport sincronizacao,
+    Supplier<T> corpo
+  ) {
+    if (naoModificado(request, versao)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+    }
+    SincronizacaoSupport.Carga<T> carga = sincronizacao.carregarTudo(corpo);
+    return ResponseEntity.ok()
+      .header(SINCRONIZADO_ATE, Long.toString(carga.sincronizadoAte()))
+      .cacheControl(cacheControl)
+      .body(carga.dados());
+  }
+
+  // checkNotModified também grava o cabeçalho ETag na resposta, nos dois casos
+  private static boolean naoModificado(WebRequest request, String versao) {
+    return request.checkNotModified("\"" + versao + "-" + variante(request) + "\"");
+  }
+
+  /**
+   * Cada modo de listagem ({@code ?since=}, {@code ?ids=}...) tem um mapeamento que exclui os demais
+   * com {@code !param}. Uma combinação deles não casa com nenhum e cai na listagem simples, que chama
+   * isto: a resposta é 400, e não o modo ignorado ou o 500 de mapeamento ambíguo.
+   */
+  protected static void rejeitarModosCombinados(WebRequest request, String... modos) {
+    List<String> presentes = Arrays.stream(modos).filter(modo -> request.getParameter(modo) != null).toList();
+    if (!presentes.isEmpty()) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+        "Parâmetros que não podem ser combinados: " + String.join(", ", presentes) + ".");
+    }
+  }
+
   protected ResponseStatusException notFound(String message) {
     return new ResponseStatusException(HttpStatus.NOT_FOUND, message);
   }
+
+  private static String variante(WebRequest request) {
+    HttpServletRequest servlet = request instanceof NativeWebRequest nativo ? nativo.getNativeRequest(HttpServletRequest.class) : null;
+    if (servlet == null) {
+      return "0";
+    }
+    CRC32 crc = new CRC32();
+    crc.update(servlet.getRequestURI().getBytes(StandardCharsets.UTF_8));
+    if (servlet.getQueryString() != null) {
+      crc.update('?');
+      crc.update(servlet.getQueryString().getBytes(StandardCharsets.UTF_8));
+    }
+    return Long.toString(crc.getValue(), 36);
+  }
 }
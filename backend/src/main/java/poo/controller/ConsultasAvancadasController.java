@@ -1,6 +1,8 @@
 package poo.controller;
 
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import poo.model.consultas.ConsultasAvancadasResumo;
@@ -20,4 +22,10 @@ public class ConsultasAvancadasController {
   public ConsultasAvancadasResumo listar() {
     return service.obterResumo();
   }
+
+  @PostMapping("/agregados/reconstruir")
+  public ResponseEntity<Void> reconstruirAgregados() {
+    service.reconstruirAgregados();
+    return ResponseEntity.noContent().build();
+  }
 }
@@ -0,0 +1,25 @@
+package poo.controller;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import poo.model.dashboard.DashboardResumo;
+import poo.service.DashboardService;
+
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+  private final DashboardService service;
+
+  public DashboardController(DashboardService service) {
+    this.service = service;
+  }
+
+  // aproximado=true: tabelas grandes pelas estatísticas do Postgres em vez de count(*)
+  @GetMapping
+  public DashboardResumo resumo(@RequestParam(name = "aproximado", defaultValue = "false") boolean aproximado) {
+    return service.obterResumo(aproximado);
+  }
+}
@@ -3,6 +3,7 @@ package poo.controller;
 import jakarta.validation.Valid;
 import java.net.URI;
 import java.util.List;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,20 +12,39 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import poo.config.CacheHttpProperties;
 import poo.controller.dto.DepartamentoRequest;
 import poo.controller.mapper.DepartamentoMapper;
+import poo.model.Alteracoes;
 import poo.model.Departamento;
 import poo.service.DepartamentoService;
+import poo.service.support.EntidadeAlteradaEvent.Entidade;
+import poo.service.support.SincronizacaoSupport;
+import poo.service.support.VersaoEntidades;
 
 @RestController
 @RequestMapping("/api/departamentos")
 public class DepartamentoController extends BaseCrudController {
 
   private final DepartamentoService service;
+  private final VersaoEntidades versoes;
+  private final SincronizacaoSupport sincronizacao;
+  private final CacheControl cacheControl;
 
-  public DepartamentoController(DepartamentoService service) {
+  public DepartamentoController(
+    DepartamentoService service,
+    VersaoEntidades versoes,
+    SincronizacaoSupport sincronizacao,
+    CacheHttpProperties cache
+  ) {
     this.service = service;
+    this.versoes = versoes;
+    this.sincronizacao = sincronizacao;
+    // Departamentos quase nunca mudam: o navegador reaproveita a resposta por max-age sem perguntar
+    this.cacheControl = CacheControl.maxAge(cache.departamentos()).cachePrivate();
   }
 
   @PostMapping
@@ -35,13 +55,20 @@ public class DepartamentoController extends BaseCrudController {
   }
 
   @GetMapping
-  public List<Departamento> list() {
-    return service.listAll();
+  public ResponseEntity<List<Departamento>> list(WebRequest request) {
+    return conditionalCompleto(request, versoes.versao(Entidade.DEPARTAMENTO), cacheControl, sincronizacao, service::listAll);
+  }
+
+  // Sincronização incremental: só o que mudou (e as chaves excluídas) depois de "since"
+  @GetMapping(params = "since")
+  public Alteracoes<Departamento, Long> listChangedSince(@RequestParam(name = "since") long since) {
+    return service.listChangedSince(since);
   }
 
   @GetMapping("/{id}")
-  public Departamento get(@PathVariable Long id) {
-    return requireFound(service.findById(id), "Departamento não encontrado.");
+  public ResponseEntity<Departamento> get(@PathVariable Long id, WebRequest request) {
+    return conditional(request, versoes.versao(Entidade.DEPARTAMENTO), cacheControl,
+      () -> requireFound(service.findById(id), "Departamento não encontrado."));
   }
 
   @PutMapping("/{id}")
@@ -3,6 +3,10 @@ package poo.controller;
 import jakarta.validation.Valid;
 import java.net.URI;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,20 +17,33 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 import poo.controller.dto.NotaCreateRequest;
 import poo.controller.dto.NotaUpdateRequest;
 import poo.controller.mapper.NotaMapper;
+import poo.model.Alteracoes;
 import poo.model.Nota;
+import poo.model.NotaExpandida.Expansao;
+import poo.model.NotaId;
+import poo.model.PaginaCursor;
 import poo.service.NotaService;
+import poo.service.support.EntidadeAlteradaEvent.Entidade;
+import poo.service.support.SincronizacaoSupport;
+import poo.service.support.VersaoEntidades;
 
 @RestController
 @RequestMapping("/api/notas")
 public class NotaController extends BaseCrudController {
 
   private final NotaService service;
+  private final VersaoEntidades versoes;
+  private final SincronizacaoSupport sincronizacao;
 
-  public NotaController(NotaService service) {
+  public NotaController(NotaService service, VersaoEntidades versoes, SincronizacaoSupport sincronizacao) {
     this.service = service;
+    this.versoes = versoes;
+    this.sincronizacao = sincronizacao;
   }
 
   @PostMapping
@@ -36,17 +53,71 @@ public class NotaController extends BaseCrudController {
     return ResponseEntity.created(location).body(created);
   }
 
+  // ?expand=aluno,prova,departamento junta nomes e rótulos no mesmo SELECT (NotaExpandida)
   @GetMapping
-  public List<Nota> list(
+  public ResponseEntity<List<? extends Nota>> list(
     @RequestParam(name = "alunoId", required = false) Long alunoId,
-    @RequestParam(name = "provaId", required = false) Long provaId
+    @RequestParam(name = "provaId", required = false) Long provaId,
+    @RequestParam(name = "expand", required = false) String expand,
+    WebRequest request
   ) {
-    return service.listAll(alunoId, provaId);
+    rejeitarModosCombinados(request, "limit", "cursor", "since", "chaves");
+    Set<Expansao> expansoes = expansoes(expand);
+    Supplier<List<? extends Nota>> corpo = () -> expansoes.isEmpty()
+      ? service.listAll(alunoId, provaId)
+      : service.listAllExpanded(alunoId, provaId, expansoes);
+    if (alunoId != null || provaId != null) {
+      // Recorte filtrado: ?since= devolve as alterações de todas as notas, não só deste recorte
+      return conditional(request, versao(expansoes), CacheControl.noCache().cachePrivate(), corpo);
+    }
+    return conditionalCompleto(request, versao(expansoes), CacheControl.noCache().cachePrivate(), sincronizacao, corpo);
+  }
+
+  @GetMapping(params = { "limit", "!since", "!chaves" })
+  public ResponseEntity<PaginaCursor<? extends Nota>> page(
+    @RequestParam(name = "alunoId", required = false) Long alunoId,
+    @RequestParam(name = "provaId", required = false) Long provaId,
+    @RequestParam(name = "cursor", required = false) String cursor,
+    @RequestParam(name = "limit") Integer limit,
+    @RequestParam(name = "expand", required = false) String expand,
+    WebRequest request
+  ) {
+    Set<Expansao> expansoes = expansoes(expand);
+    return conditional(request, versao(expansoes), CacheControl.noCache().cachePrivate(),
+      () -> listPage(alunoId, provaId, cursor, limit, expansoes));
+  }
+
+  @GetMapping(params = { "cursor", "!limit", "!since", "!chaves" })
+  public ResponseEntity<PaginaCursor<? extends Nota>> nextPage(
+    @RequestParam(name = "alunoId", required = false) Long alunoId,
+    @RequestParam(name = "provaId", required = false) Long provaId,
+    @RequestParam(name = "cursor") String cursor,
+    @RequestParam(name = "expand", required = false) String expand,
+    WebRequest request
+  ) {
+    Set<Expansao> expansoes = expansoes(expand);
+    return conditional(request, versao(expansoes), CacheControl.noCache().cachePrivate(),
+      () -> listPage(alunoId, provaId, cursor, null, expansoes));
+  }
+
+  // Sincronização incremental: só o que mudou (e as chaves excluídas) depois de "since"
+  @GetMapping(params = { "since", "!limit", "!cursor", "!chaves" })
+  public Alteracoes<Nota, NotaId> listChangedSince(@RequestParam(name = "since") long since) {
+    return service.listChangedSince(since);
+  }
+
+  // Várias notas por chave num único SELECT (?chaves=alunoId:provaId,alunoId:provaId)
+  @GetMapping(params = { "chaves", "!limit", "!cursor", "!since" })
+  public ResponseEntity<List<Nota>> listByIds(@RequestParam(name = "chaves") List<String> chaves, WebRequest request) {
+    List<NotaId> ids = chaves.stream().map(NotaController::parseChave).toList();
+    return conditional(request, versoes.versao(Entidade.NOTA), CacheControl.noCache().cachePrivate(),
+      () -> service.findByIds(ids));
   }
 
   @GetMapping("/{alunoId}/{provaId}")
-  public Nota get(@PathVariable Long alunoId, @PathVariable Long provaId) {
-    return requireFound(service.findById(alunoId, provaId), "Nota não encontrada.");
+  public ResponseEntity<Nota> get(@PathVariable Long alunoId, @PathVariable Long provaId, WebRequest request) {
+    return conditional(request, versoes.versao(Entidade.NOTA), CacheControl.noCache().cachePrivate(),
+      () -> requireFound(service.findById(alunoId, provaId), "Nota não encontrada."));
   }
 
   @PutMapping("/{alunoId}/{provaId}")
@@ -65,4 +136,40 @@ public class NotaController extends BaseCrudController {
   public ResponseEntity<Void> delete(@PathVariable Long alunoId, @PathVariable Long provaId) {
     return deleteOrNotFound(service.delete(alunoId, provaId), "Nota não encontrada.");
   }
+
+  private static Set<Expansao> expansoes(String expand) {
+    try {
+      return Expansao.parse(expand);
+    } catch (IllegalArgumentException ex) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+    }
+  }
+
+  private PaginaCursor<? extends Nota> listPage(Long alunoId, Long provaId, String cursor, Integer limit, Set<Expansao> expansoes) {
+    return expansoes.isEmpty()
+      ? service.listPage(alunoId, provaId, cursor, limit)
+      : service.listPageExpanded(alunoId, provaId, cursor, limit, expansoes);
+  }
+
+  // Com expand a resposta também muda quando aluno, prova ou departamento mudam
+  private String versao(Set<Expansao> expansoes) {
+    StringBuilder versao = new StringBuilder(versoes.versao(Entidade.NOTA));
+    for (Expansao expansao : expansoes) {
+      versao.append('.').append(versoes.versao(switch (expansao) {
+        case ALUNO -> Entidade.ALUNO;
+        case PROVA -> Entidade.PROVA;
+        case DEPARTAMENTO -> Entidade.DEPARTAMENTO;
+      }));
+    }
+    return versao.toString();
+  }
+
+  private static NotaId parseChave(String chave) {
+    int separador = chave.indexOf(':');
+    try {
+      return new NotaId(Long.valueOf(chave.substring(0, separador).strip()), Long.valueOf(chave.substring(separador + 1).strip()));
+    } catch (NumberFormatException | StringIndexOutOfBoundsException ex) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Chave de nota inválida: use alunoId:provaId.", ex);
+    }
+  }
 }
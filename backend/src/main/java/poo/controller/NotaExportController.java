@@ -0,0 +1,37 @@
+package poo.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import poo.service.FormatoExportacao;
+import poo.service.NotaExportService;
+
+@RestController
+@RequestMapping("/api/notas/export")
+public class NotaExportController {
+
+  private final NotaExportService service;
+
+  public NotaExportController(NotaExportService service) {
+    this.service = service;
+  }
+
+  @GetMapping
+  public ResponseEntity<StreamingResponseBody> exportar(
+    @RequestParam(name = "formato", required = false) String formato,
+    @RequestParam(name = "alunoId", required = false) Long alunoId,
+    @RequestParam(name = "provaId", required = false) Long provaId
+  ) {
+    FormatoExportacao tipo = FormatoExportacao.from(formato);
+    StreamingResponseBody body = out -> service.exportar(alunoId, provaId, tipo, out);
+    return ResponseEntity.ok()
+      .contentType(MediaType.parseMediaType(tipo.contentType() + ";charset=UTF-8"))
+      .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"notas." + tipo.extensao() + "\"")
+      .body(body);
+  }
+}
@@ -2,7 +2,11 @@ package poo.controller;
 
 import jakarta.validation.Valid;
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,20 +15,31 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import poo.controller.dto.ProvaRequest;
 import poo.controller.mapper.ProvaMapper;
+import poo.model.Alteracoes;
+import poo.model.PaginaCursor;
 import poo.model.Prova;
 import poo.service.ProvaService;
+import poo.service.support.EntidadeAlteradaEvent.Entidade;
+import poo.service.support.SincronizacaoSupport;
+import poo.service.support.VersaoEntidades;
 
 @RestController
 @RequestMapping("/api/provas")
 public class ProvaController extends BaseCrudController {
 
   private final ProvaService service;
+  private final VersaoEntidades versoes;
+  private final SincronizacaoSupport sincronizacao;
 
-  public ProvaController(ProvaService service) {
+  public ProvaController(ProvaService service, VersaoEntidades versoes, SincronizacaoSupport sincronizacao) {
     this.service = service;
+    this.versoes = versoes;
+    this.sincronizacao = sincronizacao;
   }
 
   @PostMapping
@@ -35,13 +50,42 @@ public class ProvaController extends BaseCrudController {
   }
 
   @GetMapping
-  public List<Prova> list() {
-    return service.listAll();
+  public ResponseEntity<List<Prova>> list(WebRequest request) {
+    rejeitarModosCombinados(request, "since", "ids", "departamentoId");
+    return conditionalCompleto(request, versoes.versao(Entidade.PROVA), CacheControl.noCache().cachePrivate(), sincronizacao, service::listAll);
+  }
+
+  // Sincronização incremental: só o que mudou (e as chaves excluídas) depois de "since"
+  @GetMapping(params = { "since", "!ids", "!departamentoId" })
+  public Alteracoes<Prova, Long> listChangedSince(@RequestParam(name = "since") long since) {
+    return service.listChangedSince(since);
+  }
+
+  // Várias provas por id num único SELECT (?ids=1,2,3), em vez de uma chamada por id
+  @GetMapping(params = { "ids", "!since", "!departamentoId" })
+  public ResponseEntity<List<Prova>> listByIds(@RequestParam(name = "ids") List<Long> ids, WebRequest request) {
+    return conditional(request, versoes.versao(Entidade.PROVA), CacheControl.noCache().cachePrivate(),
+      () -> service.findByIds(ids));
+  }
+
+  // Calendário de um departamento: provas com data em [from, to), em páginas por (data, titulo, id)
+  @GetMapping(params = { "departamentoId", "!since", "!ids" })
+  public ResponseEntity<PaginaCursor<Prova>> listByDepartamentoAndPeriodo(
+    @RequestParam(name = "departamentoId") Long departamentoId,
+    @RequestParam(name = "from", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+    @RequestParam(name = "to", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate to,
+    @RequestParam(name = "cursor", required = false) String cursor,
+    @RequestParam(name = "limit", required = false) Integer limit,
+    WebRequest request
+  ) {
+    return conditional(request, versoes.versao(Entidade.PROVA), CacheControl.noCache().cachePrivate(),
+      () -> service.listByDepartamentoAndPeriodo(departamentoId, from, to, cursor, limit));
   }
 
   @GetMapping("/{id}")
-  public Prova get(@PathVariable Long id) {
-    return requireFound(service.findById(id), "Prova não encontrada.");
+  public ResponseEntity<Prova> get(@PathVariable Long id, WebRequest request) {
+    return conditional(request, versoes.versao(Entidade.PROVA), CacheControl.noCache().cachePrivate(),
+      () -> requireFound(service.findById(id), "Prova não encontrada."));
   }
 
   @PutMapping("/{id}")
@@ -0,0 +1,43 @@
+package poo.controller;
+
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import poo.model.Sugestao;
+import poo.service.support.EntidadeAlteradaEvent.Entidade;
+import poo.service.support.IndiceAutocompletar;
+
+@RestController
+@RequestMapping("/api/sugestoes")
+public class SugestaoController {
+
+  private final IndiceAutocompletar indice;
+
+  public SugestaoController(IndiceAutocompletar indice) {
+    this.indice = indice;
+  }
+
+  // Autocompletar dos dropdowns: responde da memória, sem consultar o banco
+  @GetMapping("/{recurso}")
+  public List<Sugestao> sugerir(
+    @PathVariable String recurso,
+    @RequestParam(name = "q", defaultValue = "") String termo,
+    @RequestParam(name = "limit", required = false) Integer limit
+  ) {
+    return indice.sugerir(entidade(recurso), termo, limit);
+  }
+
+  private static Entidade entidade(String recurso) {
+    return switch (recurso) {
+      case "alunos" -> Entidade.ALUNO;
+      case "provas" -> Entidade.PROVA;
+      case "departamentos" -> Entidade.DEPARTAMENTO;
+      default -> throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Recurso sem autocompletar.");
+    };
+  }
+}
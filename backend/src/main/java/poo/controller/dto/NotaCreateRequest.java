@@ -8,6 +8,7 @@ import java.math.BigDecimal;
 public record NotaCreateRequest(
   @NotNull Long alunoId,
   @NotNull Long provaId,
+  Long departamentoId,
   @NotNull @DecimalMin("0.0") @DecimalMax("10.0") BigDecimal valor,
   String observacao
 ) {}
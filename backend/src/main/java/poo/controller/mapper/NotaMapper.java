@@ -12,6 +12,7 @@ public final class NotaMapper {
     Nota nota = new Nota();
     nota.setAlunoId(dto.alunoId());
     nota.setProvaId(dto.provaId());
+    nota.setDepartamentoId(dto.departamentoId());
     nota.setValor(dto.valor());
     nota.setObservacao(MapperUtils.trimToNull(dto.observacao()));
     return nota;
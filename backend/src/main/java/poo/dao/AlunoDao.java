@@ -7,8 +7,17 @@ import poo.model.Aluno;
 public interface AlunoDao {
   Aluno create(Aluno aluno);
   Optional<Aluno> findById(Long id);
+  List<Aluno> findByIds(List<Long> ids);
   List<Aluno> findAll();
+  List<Aluno> findUpdatedSince(long since);
+  List<Encontrado> search(String termo, Posicao after, int limit);
   Optional<Aluno> update(Aluno aluno);
   boolean delete(Long id);
+
+  /** Aluno encontrado pela busca, com a distância ao termo (1 - word_similarity) que ordena o resultado. */
+  record Encontrado(Aluno aluno, float distancia) {}
+
+  /** Posição na busca: a chave do keyset (distancia, id) da última linha entregue. */
+  record Posicao(float distancia, long id) {}
 }
 
@@ -0,0 +1,8 @@
+package poo.dao;
+
+import java.io.Reader;
+import poo.model.importacao.AlunoImportResultado;
+
+public interface AlunoImportDao {
+  AlunoImportResultado importarCsv(Reader csv);
+}
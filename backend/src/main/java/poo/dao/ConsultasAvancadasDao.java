@@ -9,4 +9,5 @@ public interface ConsultasAvancadasDao {
   List<DepartamentoDesempenho> listarRankingDepartamentos();
   List<AlunoModalidadeEquilibrada> listarAlunosModalidades();
   List<AlunoCoberturaNotas> listarCoberturaNotas();
+  void reconstruirAgregados();
 }
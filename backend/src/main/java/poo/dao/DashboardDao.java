@@ -0,0 +1,19 @@
+package poo.dao;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import poo.model.dashboard.AlunoDestaque;
+import poo.model.dashboard.DesempenhoDepartamento;
+import poo.model.dashboard.ProvaAgendada;
+import poo.model.dashboard.ResumoNotas;
+
+public interface DashboardDao {
+  /** Linhas estimadas por tabela; tabelas ainda sem estatísticas ficam de fora. */
+  Map<String, Long> estimarLinhas();
+  long contarLinhas(String tabela);
+  ResumoNotas resumoNotas();
+  List<DesempenhoDepartamento> desempenhoDepartamentos();
+  List<AlunoDestaque> melhoresAlunos(int limite);
+  Optional<ProvaAgendada> proximaProva();
+}
@@ -8,6 +8,7 @@ public interface DepartamentoDao {
   Departamento create(Departamento departamento);
   Optional<Departamento> findById(Long id);
   List<Departamento> findAll();
+  List<Departamento> findUpdatedSince(long since);
   Optional<Departamento> update(Departamento departamento);
   boolean delete(Long id);
 }
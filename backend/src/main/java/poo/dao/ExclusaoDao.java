@@ -0,0 +1,20 @@
+package poo.dao;
+
+import java.time.Instant;
+import java.util.List;
+import poo.model.NotaId;
+
+public interface ExclusaoDao {
+  /**
+   * Cursor da sincronização: o xmin do snapshot atual. Tudo o que este snapshot ainda não enxerga foi
+   * gravado por transações com id maior ou igual a ele.
+   */
+  long currentCursor();
+  /** Maior id de transação entre as exclusões já descartadas pela retenção (0 se nenhuma). */
+  long purgedCursor();
+  /** Relógio do banco, a mesma referência de {@code excluido_em}. */
+  Instant currentTimestamp();
+  List<Long> findDeletedIds(String tabela, long since);
+  List<NotaId> findDeletedNotas(long since);
+  int purgeBefore(Instant limite);
+}
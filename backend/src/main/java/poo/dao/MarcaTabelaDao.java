@@ -0,0 +1,6 @@
+package poo.dao;
+
+public interface MarcaTabelaDao {
+  /** Contador da tabela, incrementado a cada instrução que a altera (V10). */
+  long versao(String tabela);
+}
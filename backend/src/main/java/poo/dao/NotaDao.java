@@ -2,12 +2,23 @@ package poo.dao;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import poo.model.Nota;
+import poo.model.NotaExpandida;
+import poo.model.NotaExpandida.Expansao;
+import poo.model.NotaId;
 
 public interface NotaDao {
   Nota create(Nota nota);
   Optional<Nota> findById(Long alunoId, Long provaId);
+  List<Nota> findByIds(List<NotaId> ids);
   List<Nota> findAll(Long alunoId, Long provaId);
+  List<Nota> findUpdatedSince(long since);
+  List<Nota> findPage(Long alunoId, Long provaId, NotaId after, int limit);
+  List<NotaExpandida> findAllExpanded(Long alunoId, Long provaId, Set<Expansao> expansoes);
+  List<NotaExpandida> findPageExpanded(Long alunoId, Long provaId, NotaId after, int limit, Set<Expansao> expansoes);
+  void streamAll(Long alunoId, Long provaId, Consumer<Nota> consumer);
   Optional<Nota> update(Nota nota);
   boolean delete(Long alunoId, Long provaId);
 }
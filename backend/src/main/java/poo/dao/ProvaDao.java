@@ -1,5 +1,6 @@
 package poo.dao;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import poo.model.Prova;
@@ -7,8 +8,15 @@ import poo.model.Prova;
 public interface ProvaDao {
   Prova create(Prova prova);
   Optional<Prova> findById(Long id);
+  List<Prova> findByIds(List<Long> ids);
   List<Prova> findAll();
+  /** {@code after} nulo: primeira página; senão, as provas depois dessa posição em (data, titulo, id). */
+  List<Prova> findByDepartamentoAndPeriodo(Long departamentoId, LocalDate from, LocalDate to, Posicao after, int limit);
+  List<Prova> findUpdatedSince(long since);
   Optional<Prova> update(Prova prova);
   boolean delete(Long id);
+
+  /** Posição no calendário de um departamento: a chave do keyset (data, titulo, id). */
+  record Posicao(LocalDate data, String titulo, long id) {}
 }
 
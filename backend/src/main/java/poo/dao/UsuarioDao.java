@@ -1,9 +1,11 @@
 package poo.dao;
 
 import poo.model.Usuario;
+import poo.model.UsuarioCredencial;
 import java.util.Optional;
 
 public interface UsuarioDao {
-  Optional<Usuario> autenticar(String username, String senhaPlana); // retorna se login ok
+  Optional<UsuarioCredencial> findCredencial(String username); // hash é conferido no serviço
+  boolean atualizarHash(Long id, String hashAtual, String novoHash); // false se o hash mudou no meio
   Optional<Usuario> findById(Long id);
 }
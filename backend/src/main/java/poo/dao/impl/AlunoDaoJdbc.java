@@ -11,9 +11,11 @@ import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 import poo.dao.AlunoDao;
 import poo.dao.support.JdbcTableMetadata;
+import poo.dao.support.MetricasJdbc;
 import poo.model.Aluno;
 
 @Repository
+@MetricasJdbc(tabela = "aluno")
 public class AlunoDaoJdbc implements AlunoDao {
 
   private static final @NonNull JdbcTableMetadata<Aluno> TABLE = JdbcTableMetadata
@@ -37,7 +39,31 @@ public class AlunoDaoJdbc implements AlunoDao {
   private static final @NonNull RowMapper<Aluno> ROW_MAPPER = TABLE.rowMapper();
   private static final @NonNull String INSERT_SQL = TABLE.insertReturningSql("ra, nome, email, departamento_id, data_nascimento");
   private static final @NonNull String SELECT_BY_ID_SQL = TABLE.selectByIdSql("id = ?");
+  // Um único statement para N ids: o array vai como parâmetro (bigint[]) e o plano usa a PK
+  private static final @NonNull String SELECT_BY_IDS_SQL = TABLE.selectByIdSql("id = ANY(?)") + " ORDER BY " + TABLE.orderByClause();
   private static final @NonNull String SELECT_ALL_SQL = TABLE.selectAllSql();
+  private static final @NonNull String SELECT_UPDATED_SINCE_SQL = TABLE.selectUpdatedSinceSql();
+  // Mesma expressão de ix_aluno_busca_trgm. Cada ramo é uma varredura KNN do índice GiST, já em ordem
+  // de distância (<<->): palavra parecida (<%) ou, entre as demais, trecho exato (LIKE). O Merge Append
+  // junta os dois ramos na mesma ordem e a página para na linha limit + 1, sem ordenar todos os encontrados.
+  private static final String TEXTO_BUSCA = "aluno_texto_busca(nome, ra, email)";
+  private static final String TERMO = "lower(sem_acento(?))";
+  // ORDER BY pelo alias: a chave de ordenação é a própria coluna projetada, que o nível de fora compara
+  private static final String SEARCH_FROM = "SELECT " + TABLE.columns() + ", distancia FROM ("
+    + "(SELECT " + TABLE.columns() + ", " + TERMO + " <<-> " + TEXTO_BUSCA + " AS distancia FROM aluno"
+    + " WHERE " + TERMO + " <% " + TEXTO_BUSCA
+    + " ORDER BY distancia)"
+    + " UNION ALL "
+    + "(SELECT " + TABLE.columns() + ", " + TERMO + " <<-> " + TEXTO_BUSCA + " AS distancia FROM aluno"
+    + " WHERE " + TEXTO_BUSCA + " LIKE '%' || " + TERMO + " || '%' AND NOT " + TERMO + " <% " + TEXTO_BUSCA
+    + " ORDER BY distancia)"
+    + ") busca";
+  private static final String SEARCH_ORDER_BY = " ORDER BY distancia, id LIMIT ?";
+  private static final @NonNull String SEARCH_SQL = SEARCH_FROM + SEARCH_ORDER_BY;
+  // Páginas seguintes: continua depois da última (distancia, id) entregue, sem OFFSET
+  private static final @NonNull String SEARCH_APOS_SQL = SEARCH_FROM + " WHERE (distancia, id) > (?, ?)" + SEARCH_ORDER_BY;
+  private static final @NonNull RowMapper<Encontrado> ENCONTRADO_MAPPER =
+    (rs, rowNum) -> new Encontrado(ROW_MAPPER.mapRow(rs, rowNum), rs.getFloat("distancia"));
   private static final @NonNull String UPDATE_SQL = TABLE.updateReturningSql(
     "ra = ?, nome = ?, email = ?, departamento_id = ?, data_nascimento = ?",
     "id = ?"
@@ -67,11 +93,30 @@ public class AlunoDaoJdbc implements AlunoDao {
     return list.stream().findFirst();
   }
 
+  @Override
+  public List<Aluno> findByIds(List<Long> ids) {
+    return jdbc.query(SELECT_BY_IDS_SQL, ROW_MAPPER, (Object) ids.toArray(Long[]::new));
+  }
+
   @Override
   public List<Aluno> findAll() {
     return jdbc.query(SELECT_ALL_SQL, ROW_MAPPER);
   }
 
+  @Override
+  public List<Aluno> findUpdatedSince(long since) {
+    return jdbc.query(SELECT_UPDATED_SINCE_SQL, ROW_MAPPER, since);
+  }
+
+  @Override
+  public List<Encontrado> search(String termo, Posicao after, int limit) {
+    if (after == null) {
+      return jdbc.query(SEARCH_SQL, ENCONTRADO_MAPPER, termo, termo, termo, escapeLike(termo), termo, limit);
+    }
+    return jdbc.query(SEARCH_APOS_SQL, ENCONTRADO_MAPPER, termo, termo, termo, escapeLike(termo), termo,
+      after.distancia(), after.id(), limit);
+  }
+
   @Override
   public Optional<Aluno> update(Aluno aluno) {
     Objects.requireNonNull(aluno.getId(), "Aluno id must not be null");
@@ -91,6 +136,11 @@ public class AlunoDaoJdbc implements AlunoDao {
     return jdbc.update(DELETE_SQL, id) > 0;
   }
 
+  // '%' e '_' digitados pelo usuário são literais, não curingas (o escape padrão do LIKE é '\')
+  private static String escapeLike(String termo) {
+    return termo.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+  }
+
   private static Date toSqlDate(LocalDate data) {
     return data != null ? Date.valueOf(data) : null;
   }
@@ -0,0 +1,183 @@
+package poo.dao.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Repository;
+import poo.dao.AlunoImportDao;
+import poo.dao.support.MetricasJdbc;
+import poo.model.importacao.AlunoImportLinha;
+import poo.model.importacao.AlunoImportResultado;
+import poo.model.importacao.AlunoImportStatus;
+
+/**
+ * Importação em lote de alunos: o CSV é enviado via COPY para uma tabela temporária e
+ * classificado/mesclado em {@code aluno} com poucas instruções set-based.
+ * Deve ser chamado dentro de uma transação, pois a tabela de staging usa ON COMMIT DROP.
+ */
+@Repository
+@MetricasJdbc(tabela = "aluno")
+public class AlunoImportDaoJdbc implements AlunoImportDao {
+
+  private static final @NonNull String SQL_CREATE_STAGING = """
+      CREATE TEMP TABLE aluno_import (
+        linha            BIGINT GENERATED ALWAYS AS IDENTITY,
+        ra               TEXT,
+        nome             TEXT,
+        email            TEXT,
+        departamento_id  TEXT,
+        data_nascimento  TEXT,
+        status           TEXT,
+        aluno_id         BIGINT
+      ) ON COMMIT DROP
+    """;
+
+  private static final @NonNull String SQL_COPY = """
+      COPY aluno_import (ra, nome, email, departamento_id, data_nascimento)
+      FROM STDIN WITH (FORMAT csv, HEADER true)
+    """;
+
+  private static final @NonNull String SQL_NORMALIZAR = """
+      UPDATE aluno_import SET
+        ra = NULLIF(btrim(ra), ''),
+        nome = NULLIF(btrim(nome), ''),
+        email = NULLIF(btrim(email), ''),
+        departamento_id = NULLIF(btrim(departamento_id), ''),
+        data_nascimento = NULLIF(btrim(data_nascimento), '')
+    """;
+
+  private static final @NonNull String SQL_MARCAR_INVALIDOS = """
+      UPDATE aluno_import SET status = 'INVALIDO'
+      WHERE ra IS NULL
+         OR nome IS NULL
+         OR length(ra) > 20
+         OR departamento_id IS NULL
+         OR departamento_id !~ '^[0-9]{1,18}$'
+         OR (data_nascimento IS NOT NULL AND NOT pg_input_is_valid(data_nascimento, 'date'))
+    """;
+
+  private static final @NonNull String SQL_MARCAR_DEPARTAMENTO_INEXISTENTE = """
+      UPDATE aluno_import i SET status = 'DEPARTAMENTO_INEXISTENTE'
+      WHERE i.status IS NULL
+        AND NOT EXISTS (
+          -- o CASE impede o cast de linhas já marcadas como inválidas, qualquer que seja o plano
+          SELECT 1 FROM departamento d
+          WHERE d.id = CASE WHEN i.status IS NULL THEN i.departamento_id::bigint END
+        )
+    """;
+
+  // Repetido no próprio arquivo (mantém a primeira ocorrência) ou já existente em aluno
+  private static final @NonNull String SQL_MARCAR_RA_DUPLICADO = """
+      UPDATE aluno_import i SET status = 'RA_DUPLICADO'
+      FROM (
+        SELECT linha, row_number() OVER (PARTITION BY ra ORDER BY linha) AS ordem
+        FROM aluno_import
+        WHERE status IS NULL
+      ) r
+      WHERE i.linha = r.linha
+        AND (r.ordem > 1 OR EXISTS (SELECT 1 FROM aluno a WHERE a.ra = i.ra))
+    """;
+
+  private static final @NonNull String SQL_MARCAR_EMAIL_DUPLICADO = """
+      UPDATE aluno_import i SET status = 'EMAIL_DUPLICADO'
+      FROM (
+        SELECT linha, row_number() OVER (PARTITION BY LOWER(email) ORDER BY linha) AS ordem
+        FROM aluno_import
+        WHERE status IS NULL AND email IS NOT NULL
+      ) e
+      WHERE i.linha = e.linha
+        AND (e.ordem > 1 OR EXISTS (SELECT 1 FROM aluno a WHERE LOWER(a.email) = LOWER(i.email)))
+    """;
+
+  private static final @NonNull String SQL_MESCLAR = """
+      WITH inseridos AS (
+        INSERT INTO aluno (ra, nome, email, departamento_id, data_nascimento)
+        SELECT ra, nome, email, departamento_id::bigint, data_nascimento::date
+        FROM aluno_import
+        WHERE status IS NULL
+        ORDER BY linha
+        ON CONFLICT DO NOTHING
+        RETURNING id, ra
+      )
+      UPDATE aluno_import i SET status = 'INSERIDO', aluno_id = ins.id
+      FROM inseridos ins
+      WHERE i.ra = ins.ra AND i.status IS NULL
+    """;
+
+  // Linhas que perderam a corrida para um cadastro concorrente entre a classificação e o INSERT
+  private static final @NonNull String SQL_MARCAR_CONFLITOS_CONCORRENTES = """
+      UPDATE aluno_import i SET status = CASE
+          WHEN EXISTS (SELECT 1 FROM aluno a WHERE a.ra = i.ra) THEN 'RA_DUPLICADO'
+          ELSE 'EMAIL_DUPLICADO'
+        END
+      WHERE i.status IS NULL
+    """;
+
+  private static final @NonNull String SQL_TOTAIS = """
+      SELECT status, COUNT(*) AS total FROM aluno_import GROUP BY status
+    """;
+
+  // linha + 1 para apontar a linha do arquivo, já que o cabeçalho ocupa a primeira
+  private static final @NonNull String SQL_REJEITADAS = """
+      SELECT linha + 1 AS linha_arquivo, ra, email, status
+      FROM aluno_import
+      WHERE status <> 'INSERIDO'
+      ORDER BY linha
+    """;
+
+  private static final @NonNull RowMapper<AlunoImportLinha> LINHA_ROW_MAPPER = (rs, rowNum) -> {
+    AlunoImportLinha linha = new AlunoImportLinha();
+    linha.setLinha(rs.getLong("linha_arquivo"));
+    linha.setRa(rs.getString("ra"));
+    linha.setEmail(rs.getString("email"));
+    linha.setStatus(AlunoImportStatus.valueOf(rs.getString("status")));
+    return linha;
+  };
+
+  private final JdbcTemplate jdbc;
+
+  public AlunoImportDaoJdbc(JdbcTemplate jdbc) {
+    this.jdbc = jdbc;
+  }
+
+  @Override
+  public AlunoImportResultado importarCsv(Reader csv) {
+    jdbc.execute(SQL_CREATE_STAGING);
+    jdbc.execute((ConnectionCallback<Long>) con -> {
+      try {
+        return con.unwrap(PGConnection.class).getCopyAPI().copyIn(SQL_COPY, csv);
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    });
+    jdbc.execute("ANALYZE aluno_import");
+
+    jdbc.update(SQL_NORMALIZAR);
+    jdbc.update(SQL_MARCAR_INVALIDOS);
+    jdbc.update(SQL_MARCAR_DEPARTAMENTO_INEXISTENTE);
+    jdbc.update(SQL_MARCAR_RA_DUPLICADO);
+    jdbc.update(SQL_MARCAR_EMAIL_DUPLICADO);
+    jdbc.update(SQL_MESCLAR);
+    jdbc.update(SQL_MARCAR_CONFLITOS_CONCORRENTES);
+
+    Map<AlunoImportStatus, Long> totais = new EnumMap<>(AlunoImportStatus.class);
+    jdbc.query(SQL_TOTAIS, rs -> {
+      totais.put(AlunoImportStatus.valueOf(rs.getString("status")), rs.getLong("total"));
+    });
+    List<AlunoImportLinha> rejeitadas = jdbc.query(SQL_REJEITADAS, LINHA_ROW_MAPPER);
+
+    AlunoImportResultado resultado = new AlunoImportResultado();
+    resultado.setTotalLinhas(totais.values().stream().mapToLong(Long::longValue).sum());
+    resultado.setTotaisPorStatus(totais);
+    resultado.setRejeitadas(rejeitadas);
+    return resultado;
+  }
+}
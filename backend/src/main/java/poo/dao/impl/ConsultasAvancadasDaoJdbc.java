@@ -6,27 +6,32 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
+import poo.config.ConsultasAvancadasProperties;
 import poo.dao.ConsultasAvancadasDao;
+import poo.dao.support.JdbcTemplateComPrazo;
+import poo.dao.support.MetricasJdbc;
+import poo.dao.support.PoolJdbcDedicado;
 import poo.model.consultas.AlunoCoberturaNotas;
 import poo.model.consultas.AlunoModalidadeEquilibrada;
 import poo.model.consultas.DepartamentoDesempenho;
 
 @Repository
+@MetricasJdbc(tabela = "nota")
 public class ConsultasAvancadasDaoJdbc implements ConsultasAvancadasDao {
 
+  // Lê os agregados mantidos pelos gatilhos de V6 (nota_agregado_departamento): O(departamentos)
   private static final @NonNull String SQL_RANKING_DEPARTAMENTOS = nonNull("""
       SELECT
         d.id AS departamento_id,
         d.nome AS departamento_nome,
-        ROUND(AVG(n.valor)::numeric, 2) AS media_notas,
-        MIN(n.valor) AS menor_nota,
-        MAX(n.valor) AS maior_nota,
-        COUNT(DISTINCT n.aluno_id) AS alunos_avaliados,
-        COUNT(*) AS notas_lancadas
-      FROM departamento d
-      JOIN aluno a ON a.departamento_id = d.id
-      JOIN nota n ON n.aluno_id = a.id
-      GROUP BY d.id, d.nome
+        ROUND(g.soma_notas / g.notas_lancadas, 2) AS media_notas,
+        g.menor_nota,
+        g.maior_nota,
+        g.alunos_avaliados,
+        g.notas_lancadas
+      FROM nota_agregado_departamento g
+      JOIN departamento d ON d.id = g.departamento_id
+      WHERE g.notas_lancadas > 0
       ORDER BY media_notas DESC, notas_lancadas DESC
     """);
 
@@ -65,22 +70,24 @@ public class ConsultasAvancadasDaoJdbc implements ConsultasAvancadasDao {
       ORDER BY a.nome
     """);
 
+  // Junção externa com nota_agregado_aluno (só tem alunos com notas): O(alunos)
   private static final @NonNull String SQL_COBERTURA_NOTAS = nonNull("""
       SELECT
         a.id AS aluno_id,
         a.ra,
         a.nome,
         d.nome AS departamento_nome,
-        COUNT(n.prova_id) AS provas_avaliadas,
-        ROUND(COALESCE(AVG(n.valor), 0)::numeric, 2) AS media_notas,
-        CASE WHEN COUNT(n.prova_id) = 0 THEN TRUE ELSE FALSE END AS sem_notas
+        COALESCE(g.notas_lancadas, 0) AS provas_avaliadas,
+        ROUND(COALESCE(g.soma_notas / g.notas_lancadas, 0), 2) AS media_notas,
+        CASE WHEN g.aluno_id IS NULL THEN TRUE ELSE FALSE END AS sem_notas
       FROM aluno a
-      LEFT JOIN nota n ON n.aluno_id = a.id
+      LEFT JOIN nota_agregado_aluno g ON g.aluno_id = a.id
       JOIN departamento d ON d.id = a.departamento_id
-      GROUP BY a.id, a.ra, a.nome, d.nome
       ORDER BY sem_notas DESC, a.nome
     """);
 
+  private static final @NonNull String SQL_RECONSTRUIR_AGREGADOS = "SELECT reconstruir_agregados_notas()";
+
   private static final @NonNull RowMapper<DepartamentoDesempenho> DESEMPENHO_ROW_MAPPER = (rs, rowNum) -> {
     DepartamentoDesempenho dto = new DepartamentoDesempenho();
     dto.setDepartamentoId(rs.getLong("departamento_id"));
@@ -117,12 +124,18 @@ public class ConsultasAvancadasDaoJdbc implements ConsultasAvancadasDao {
   };
 
   private final JdbcTemplate jdbc;
+  private final JdbcTemplate manutencao;
 
-  public ConsultasAvancadasDaoJdbc(JdbcTemplate jdbc) {
-    this.jdbc = jdbc;
+  public ConsultasAvancadasDaoJdbc(JdbcTemplate jdbc, PoolJdbcDedicado poolAnalitico, ConsultasAvancadasProperties properties) {
+    // A reconstrução dos agregados escreve no primário, pelo pool principal, e não deve herdar o timeout das leituras
+    this.manutencao = jdbc;
+    // Agregações no pool analítico: saturá-lo não tira conexões do CRUD. O Postgres cancela a consulta ao estourar o timeout
+    this.jdbc = new JdbcTemplateComPrazo(poolAnalitico.dataSource());
+    this.jdbc.setQueryTimeout((int) Math.max(1, properties.timeoutPorConsulta().toSeconds()));
   }
 
   @Override
+  @MetricasJdbc(tabela = "nota_agregado_departamento")
   public List<DepartamentoDesempenho> listarRankingDepartamentos() {
     return jdbc.query(SQL_RANKING_DEPARTAMENTOS, DESEMPENHO_ROW_MAPPER);
   }
@@ -133,10 +146,17 @@ public class ConsultasAvancadasDaoJdbc implements ConsultasAvancadasDao {
   }
 
   @Override
+  @MetricasJdbc(tabela = "nota_agregado_aluno")
   public List<AlunoCoberturaNotas> listarCoberturaNotas() {
     return jdbc.query(SQL_COBERTURA_NOTAS, COBERTURA_ROW_MAPPER);
   }
 
+  @Override
+  @MetricasJdbc(tabela = "nota_agregado_aluno")
+  public void reconstruirAgregados() {
+    manutencao.execute(SQL_RECONSTRUIR_AGREGADOS);
+  }
+
   @NonNull
   private static <T> T nonNull(T value) {
     if (value == null) {
@@ -0,0 +1,193 @@
+package poo.dao.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Repository;
+import poo.dao.DashboardDao;
+import poo.dao.support.JdbcTemplateComPrazo;
+import poo.dao.support.MetricasJdbc;
+import poo.dao.support.PoolJdbcDedicado;
+import poo.model.dashboard.AlunoDestaque;
+import poo.model.dashboard.DesempenhoDepartamento;
+import poo.model.dashboard.DistribuicaoNotas;
+import poo.model.dashboard.ProvaAgendada;
+import poo.model.dashboard.ResumoNotas;
+
+@Repository
+@MetricasJdbc(tabela = "*")
+public class DashboardDaoJdbc implements DashboardDao {
+
+  // Mesma conta que o planejador faz: reltuples (do último ANALYZE/VACUUM) proporcional ao tamanho
+  // atual da tabela em páginas. Lê só o catálogo, O(1) qualquer que seja o tamanho da tabela.
+  // reltuples = -1 (nunca analisada) ou relpages = 0 ficam de fora e são contadas com count(*).
+  private static final @NonNull String SQL_ESTIMATIVAS = nonNull("""
+      SELECT
+        c.relname AS tabela,
+        (c.reltuples / c.relpages * (pg_relation_size(c.oid) / current_setting('block_size')::int))::bigint AS linhas
+      FROM pg_class c
+      WHERE c.oid IN ('departamento'::regclass, 'aluno'::regclass, 'prova'::regclass)
+        AND c.reltuples >= 0
+        AND c.relpages > 0
+    """);
+
+  // O nome da tabela entra no SQL; só as tabelas do dashboard são aceitas
+  private static final @NonNull Map<String, String> SQL_CONTAGEM = Map.of(
+    "departamento", "SELECT count(*) FROM departamento",
+    "aluno", "SELECT count(*) FROM aluno",
+    "prova", "SELECT count(*) FROM prova"
+  );
+
+  // Agregados mantidos pelos gatilhos de V6: O(departamentos). Cada aluno pertence a um único
+  // departamento, então somar alunos_avaliados não conta ninguém duas vezes.
+  private static final @NonNull String SQL_RESUMO_NOTAS = nonNull("""
+      SELECT
+        COALESCE(SUM(notas_lancadas), 0) AS total,
+        COALESCE(SUM(alunos_avaliados), 0) AS alunos_avaliados,
+        ROUND(SUM(soma_notas) / NULLIF(SUM(notas_lancadas), 0), 2) AS media,
+        MIN(menor_nota) AS menor,
+        MAX(maior_nota) AS maior,
+        COALESCE(SUM(faixa_0_5), 0) AS faixa_0_5,
+        COALESCE(SUM(faixa_5_7), 0) AS faixa_5_7,
+        COALESCE(SUM(faixa_7_9), 0) AS faixa_7_9,
+        COALESCE(SUM(faixa_9_10), 0) AS faixa_9_10
+      FROM nota_agregado_departamento
+    """);
+
+  // Todos os departamentos, inclusive os sem notas (média nula, no fim): O(departamentos)
+  private static final @NonNull String SQL_DESEMPENHO_DEPARTAMENTOS = nonNull("""
+      SELECT
+        d.id,
+        d.nome,
+        d.sigla,
+        ROUND(g.soma_notas / g.notas_lancadas, 2) AS media,
+        COALESCE(g.notas_lancadas, 0) AS notas_lancadas,
+        COALESCE(g.alunos_avaliados, 0) AS alunos_avaliados
+      FROM departamento d
+      LEFT JOIN nota_agregado_departamento g ON g.departamento_id = d.id
+      ORDER BY media DESC NULLS LAST, notas_lancadas DESC, d.nome
+    """);
+
+  // Mesma expressão de ix_nota_agregado_aluno_media (V12): lê só as primeiras entradas do índice
+  private static final @NonNull String SQL_MELHORES_ALUNOS = nonNull("""
+      SELECT
+        a.id,
+        a.nome,
+        ROUND(g.soma_notas / g.notas_lancadas, 2) AS media,
+        g.notas_lancadas
+      FROM (
+        SELECT aluno_id, soma_notas, notas_lancadas
+        FROM nota_agregado_aluno
+        ORDER BY (soma_notas / notas_lancadas) DESC, notas_lancadas DESC, aluno_id
+        LIMIT ?
+      ) g
+      JOIN aluno a ON a.id = g.aluno_id
+      ORDER BY (g.soma_notas / g.notas_lancadas) DESC, g.notas_lancadas DESC, g.aluno_id
+    """);
+
+  private static final @NonNull String SQL_PROXIMA_PROVA = nonNull("""
+      SELECT
+        p.id,
+        p.titulo,
+        p.data,
+        d.id AS departamento_id,
+        d.nome AS departamento_nome,
+        d.sigla AS departamento_sigla
+      FROM prova p
+      JOIN departamento d ON d.id = p.departamento_id
+      WHERE p.data >= CURRENT_DATE
+      ORDER BY p.data, p.id
+      LIMIT 1
+    """);
+
+  private final JdbcTemplate jdbc;
+
+  public DashboardDaoJdbc(PoolJdbcDedicado poolAnalitico) {
+    // Um count(*) exato de tabela grande é relatório: fica no pool analítico, longe do CRUD
+    this.jdbc = new JdbcTemplateComPrazo(poolAnalitico.dataSource());
+  }
+
+  @Override
+  public Map<String, Long> estimarLinhas() {
+    Map<String, Long> estimativas = new HashMap<>();
+    jdbc.query(SQL_ESTIMATIVAS, rs -> {
+      estimativas.put(rs.getString("tabela"), rs.getLong("linhas"));
+    });
+    return estimativas;
+  }
+
+  @Override
+  public long contarLinhas(String tabela) {
+    String sql = SQL_CONTAGEM.get(tabela);
+    if (sql == null) {
+      throw new IllegalArgumentException("Tabela fora do dashboard: " + tabela);
+    }
+    Long linhas = jdbc.queryForObject(sql, Long.class);
+    return linhas == null ? 0 : linhas;
+  }
+
+  @Override
+  @MetricasJdbc(tabela = "nota_agregado_departamento")
+  public ResumoNotas resumoNotas() {
+    return jdbc.queryForObject(SQL_RESUMO_NOTAS, (rs, rowNum) -> new ResumoNotas(
+      rs.getLong("total"),
+      rs.getLong("alunos_avaliados"),
+      rs.getObject("media", BigDecimal.class),
+      rs.getObject("menor", BigDecimal.class),
+      rs.getObject("maior", BigDecimal.class),
+      new DistribuicaoNotas(
+        rs.getLong("faixa_0_5"),
+        rs.getLong("faixa_5_7"),
+        rs.getLong("faixa_7_9"),
+        rs.getLong("faixa_9_10")
+      )
+    ));
+  }
+
+  @Override
+  @MetricasJdbc(tabela = "nota_agregado_departamento")
+  public List<DesempenhoDepartamento> desempenhoDepartamentos() {
+    return jdbc.query(SQL_DESEMPENHO_DEPARTAMENTOS, (rs, rowNum) -> new DesempenhoDepartamento(
+      rs.getLong("id"),
+      rs.getString("nome"),
+      rs.getString("sigla"),
+      rs.getObject("media", BigDecimal.class),
+      rs.getLong("notas_lancadas"),
+      rs.getLong("alunos_avaliados")
+    ));
+  }
+
+  @Override
+  @MetricasJdbc(tabela = "nota_agregado_aluno")
+  public List<AlunoDestaque> melhoresAlunos(int limite) {
+    return jdbc.query(SQL_MELHORES_ALUNOS, (rs, rowNum) -> new AlunoDestaque(
+      rs.getLong("id"),
+      rs.getString("nome"),
+      rs.getObject("media", BigDecimal.class),
+      rs.getLong("notas_lancadas")
+    ), limite);
+  }
+
+  @Override
+  @MetricasJdbc(tabela = "prova")
+  public Optional<ProvaAgendada> proximaProva() {
+    return jdbc.query(SQL_PROXIMA_PROVA, (rs, rowNum) -> new ProvaAgendada(
+      rs.getLong("id"),
+      rs.getString("titulo"),
+      rs.getObject("data", LocalDate.class),
+      rs.getLong("departamento_id"),
+      rs.getString("departamento_nome"),
+      rs.getString("departamento_sigla")
+    )).stream().findFirst();
+  }
+
+  private static @NonNull String nonNull(String value) {
+    return Objects.requireNonNull(value);
+  }
+}
@@ -9,9 +9,11 @@ import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 import poo.dao.DepartamentoDao;
 import poo.dao.support.JdbcTableMetadata;
+import poo.dao.support.MetricasJdbc;
 import poo.model.Departamento;
 
 @Repository
+@MetricasJdbc(tabela = "departamento")
 public class DepartamentoDaoJdbc implements DepartamentoDao {
 
   private static final @NonNull JdbcTableMetadata<Departamento> TABLE = JdbcTableMetadata
@@ -33,6 +35,7 @@ public class DepartamentoDaoJdbc implements DepartamentoDao {
   private static final @NonNull String INSERT_SQL = TABLE.insertReturningSql("nome, sigla");
   private static final @NonNull String SELECT_BY_ID_SQL = TABLE.selectByIdSql("id = ?");
   private static final @NonNull String SELECT_ALL_SQL = TABLE.selectAllSql();
+  private static final @NonNull String SELECT_UPDATED_SINCE_SQL = TABLE.selectUpdatedSinceSql();
   private static final @NonNull String UPDATE_SQL = TABLE.updateReturningSql("nome = ?, sigla = ?", "id = ?");
   private static final @NonNull String DELETE_SQL = TABLE.deleteSql("id = ?");
 
@@ -63,6 +66,11 @@ public class DepartamentoDaoJdbc implements DepartamentoDao {
     return jdbc.query(SELECT_ALL_SQL, ROW_MAPPER);
   }
 
+  @Override
+  public List<Departamento> findUpdatedSince(long since) {
+    return jdbc.query(SELECT_UPDATED_SINCE_SQL, ROW_MAPPER, since);
+  }
+
   @Override
   public Optional<Departamento> update(Departamento departamento) {
     Objects.requireNonNull(departamento.getId(), "Departamento id must not be null");
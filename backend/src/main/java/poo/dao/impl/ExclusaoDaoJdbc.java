@@ -0,0 +1,73 @@
+package poo.dao.impl;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Repository;
+import poo.dao.ExclusaoDao;
+import poo.dao.support.MetricasJdbc;
+import poo.model.NotaId;
+
+@Repository
+@MetricasJdbc(tabela = "exclusao")
+public class ExclusaoDaoJdbc implements ExclusaoDao {
+
+  private static final @NonNull String CURSOR_SQL = "SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint";
+  private static final @NonNull String PURGED_CURSOR_SQL = "SELECT xid_limite FROM exclusao_expurgo";
+  private static final @NonNull String NOW_SQL = "SELECT statement_timestamp()";
+  private static final @NonNull String SELECT_IDS_SQL =
+    "SELECT (chave ->> 'id')::bigint FROM exclusao WHERE tabela = ? AND xid >= ? ORDER BY xid";
+  private static final @NonNull String SELECT_NOTAS_SQL =
+    "SELECT (chave ->> 'aluno_id')::bigint AS aluno_id, (chave ->> 'prova_id')::bigint AS prova_id " +
+    "FROM exclusao WHERE tabela = 'nota' AND xid >= ? ORDER BY xid";
+  // Apaga e avança o limite juntos: quem lê o limite nunca vê as exclusões sumirem sem ele mudar
+  private static final @NonNull String PURGE_SQL = """
+    WITH removidas AS (
+      DELETE FROM exclusao WHERE excluido_em < ? RETURNING xid
+    )
+    UPDATE exclusao_expurgo
+    SET xid_limite = GREATEST(xid_limite, (SELECT max(xid) FROM removidas))
+    WHERE EXISTS (SELECT 1 FROM removidas)
+    RETURNING (SELECT count(*) FROM removidas)
+    """;
+
+  private final JdbcTemplate jdbc;
+
+  public ExclusaoDaoJdbc(JdbcTemplate jdbc) {
+    this.jdbc = jdbc;
+  }
+
+  @Override
+  public long currentCursor() {
+    return jdbc.queryForObject(CURSOR_SQL, Long.class);
+  }
+
+  @Override
+  public long purgedCursor() {
+    return jdbc.queryForObject(PURGED_CURSOR_SQL, Long.class);
+  }
+
+  @Override
+  public Instant currentTimestamp() {
+    return jdbc.queryForObject(NOW_SQL, OffsetDateTime.class).toInstant();
+  }
+
+  @Override
+  public List<Long> findDeletedIds(String tabela, long since) {
+    return jdbc.queryForList(SELECT_IDS_SQL, Long.class, tabela, since);
+  }
+
+  @Override
+  public List<NotaId> findDeletedNotas(long since) {
+    return jdbc.query(SELECT_NOTAS_SQL, (rs, rowNum) -> new NotaId(rs.getLong("aluno_id"), rs.getLong("prova_id")), since);
+  }
+
+  @Override
+  public int purgeBefore(Instant limite) {
+    List<Integer> removidas = jdbc.queryForList(PURGE_SQL, Integer.class, OffsetDateTime.ofInstant(limite, ZoneOffset.UTC));
+    return removidas.isEmpty() ? 0 : removidas.get(0);
+  }
+}
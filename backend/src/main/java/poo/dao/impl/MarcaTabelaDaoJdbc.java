@@ -0,0 +1,32 @@
+package poo.dao.impl;
+
+import java.util.Set;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Repository;
+import poo.dao.MarcaTabelaDao;
+import poo.dao.support.MetricasJdbc;
+
+@Repository
+@MetricasJdbc(tabela = "*")
+public class MarcaTabelaDaoJdbc implements MarcaTabelaDao {
+
+  // Só as tabelas com gatilho de versão; as demais não teriam linha em versao_tabela
+  private static final @NonNull Set<String> TABELAS = Set.of("departamento", "aluno", "prova", "nota");
+  private static final @NonNull String SELECT_VERSAO_SQL = "SELECT versao FROM versao_tabela WHERE tabela = ?";
+
+  private final JdbcTemplate jdbc;
+
+  public MarcaTabelaDaoJdbc(JdbcTemplate jdbc) {
+    this.jdbc = jdbc;
+  }
+
+  @Override
+  public long versao(String tabela) {
+    if (!TABELAS.contains(tabela)) {
+      throw new IllegalArgumentException("Tabela sem marca de versão: " + tabela);
+    }
+    Long versao = jdbc.queryForObject(SELECT_VERSAO_SQL, Long.class, tabela);
+    return versao == null ? 0 : versao;
+  }
+}
@@ -1,32 +1,48 @@
 package poo.dao.impl;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 
 import poo.dao.NotaDao;
 import poo.dao.support.JdbcTableMetadata;
+import poo.dao.support.MetricasJdbc;
 import poo.model.Nota;
+import poo.model.NotaExpandida;
+import poo.model.NotaExpandida.AlunoResumo;
+import poo.model.NotaExpandida.DepartamentoResumo;
+import poo.model.NotaExpandida.Expansao;
+import poo.model.NotaExpandida.ProvaResumo;
+import poo.model.NotaId;
 
 @Repository
+@MetricasJdbc(tabela = "nota")
 public class NotaDaoJdbc implements NotaDao {
 
   private static final @NonNull JdbcTableMetadata<Nota> TABLE = JdbcTableMetadata
     .<Nota>builder("nota")
-    .columns("aluno_id", "prova_id", "valor", "observacao")
+    .columns("aluno_id", "prova_id", "departamento_id", "valor", "observacao")
     .auditable()
     .defaultOrderBy("prova_id, aluno_id")
     .rowMapper((rs, rowNum) -> {
       Nota nota = new Nota();
       nota.setAlunoId(rs.getLong("aluno_id"));
       nota.setProvaId(rs.getLong("prova_id"));
+      nota.setDepartamentoId(rs.getLong("departamento_id"));
       nota.setValor(rs.getObject("valor", BigDecimal.class));
       nota.setObservacao(rs.getString("observacao"));
       JdbcTableMetadata.populateAuditColumns(rs, nota::setCreatedAt, nota::setUpdatedAt);
@@ -35,14 +51,36 @@ public class NotaDaoJdbc implements NotaDao {
     .build();
 
   private static final @NonNull RowMapper<Nota> ROW_MAPPER = TABLE.rowMapper();
-  private static final @NonNull String INSERT_SQL = TABLE.insertReturningSql("aluno_id, prova_id, valor, observacao");
+  // departamento_id é validado pelas FKs compostas (V7). O frontend envia o do aluno; quando o
+  // cliente omite, a subconsulta busca o departamento do aluno pela PK a cada linha inserida.
+  private static final @NonNull String INSERT_SQL = TABLE.insertReturningSql(
+    "aluno_id, prova_id, departamento_id, valor, observacao",
+    "?, ?, COALESCE(?, (SELECT a.departamento_id FROM aluno a WHERE a.id = ?)), ?, ?"
+  );
   private static final @NonNull String SELECT_BY_ID_SQL = TABLE.selectByIdSql("aluno_id = ? AND prova_id = ?");
+  // Pares (aluno_id, prova_id) como dois arrays paralelos; UNNEST os junta em linhas e cada uma
+  // encontra a nota pela PK. Um statement para N chaves, sem montar N condições no SQL.
+  private static final @NonNull String SELECT_BY_IDS_SQL = TABLE.baseSelectSql()
+    + " JOIN UNNEST(?::bigint[], ?::bigint[]) AS chave(aluno_id, prova_id) USING (aluno_id, prova_id)"
+    + " ORDER BY " + TABLE.orderByClause();
+  private static final @NonNull String SELECT_UPDATED_SINCE_SQL = TABLE.selectUpdatedSinceSql();
   private static final @NonNull String UPDATE_SQL = TABLE.updateReturningSql(
     "valor = ?, observacao = ?",
     "aluno_id = ? AND prova_id = ?"
   );
   private static final @NonNull String DELETE_SQL = TABLE.deleteSql("aluno_id = ? AND prova_id = ?");
 
+  private static final String KEYSET_ORDER_BY = "prova_id, aluno_id";
+
+  // Consultas com expand: colunas da nota qualificadas, porque aluno e prova também têm
+  // departamento_id, created_at e updated_at
+  private static final String EXPANDED_NOTA_COLUMNS = Arrays.stream(TABLE.columns().split(","))
+    .map(coluna -> "n." + coluna.strip())
+    .collect(Collectors.joining(", "));
+  private static final String EXPANDED_ORDER_BY = "n.prova_id, n.aluno_id";
+  // Com autocommit desligado o pgjdbc usa cursor no servidor e busca o resultado em lotes deste tamanho
+  private static final int STREAM_FETCH_SIZE = 1000;
+
   private final JdbcTemplate jdbc;
 
   public NotaDaoJdbc(JdbcTemplate jdbc) {
@@ -54,6 +92,8 @@ public class NotaDaoJdbc implements NotaDao {
     return jdbc.queryForObject(INSERT_SQL, ROW_MAPPER,
       nota.getAlunoId(),
       nota.getProvaId(),
+      nota.getDepartamentoId(),
+      nota.getAlunoId(),
       nota.getValor(),
       nota.getObservacao()
     );
@@ -65,21 +105,18 @@ public class NotaDaoJdbc implements NotaDao {
     return list.stream().findFirst();
   }
 
+  @Override
+  public List<Nota> findByIds(List<NotaId> ids) {
+    Long[] alunoIds = ids.stream().map(NotaId::alunoId).toArray(Long[]::new);
+    Long[] provaIds = ids.stream().map(NotaId::provaId).toArray(Long[]::new);
+    return jdbc.query(SELECT_BY_IDS_SQL, ROW_MAPPER, alunoIds, provaIds);
+  }
+
   @Override
   public List<Nota> findAll(Long alunoId, Long provaId) {
     StringBuilder sql = new StringBuilder(TABLE.baseSelectSql());
     List<Object> params = new ArrayList<>();
-    boolean hasWhere = false;
-
-    if (alunoId != null) {
-      sql.append(hasWhere ? " AND" : " WHERE").append(" aluno_id = ?");
-      params.add(alunoId);
-      hasWhere = true;
-    }
-    if (provaId != null) {
-      sql.append(hasWhere ? " AND" : " WHERE").append(" prova_id = ?");
-      params.add(provaId);
-    }
+    appendFilters(sql, params, alunoId, provaId);
 
     if (TABLE.orderByClause() != null) {
       sql.append(" ORDER BY ").append(TABLE.orderByClause());
@@ -87,6 +124,68 @@ public class NotaDaoJdbc implements NotaDao {
     return jdbc.query(Objects.requireNonNull(sql.toString()), ROW_MAPPER, params.toArray());
   }
 
+  @Override
+  public List<Nota> findUpdatedSince(long since) {
+    return jdbc.query(SELECT_UPDATED_SINCE_SQL, ROW_MAPPER, since);
+  }
+
+  @Override
+  public List<Nota> findPage(Long alunoId, Long provaId, NotaId after, int limit) {
+    StringBuilder sql = new StringBuilder(TABLE.baseSelectSql());
+    List<Object> params = new ArrayList<>();
+    boolean hasWhere = appendFilters(sql, params, alunoId, provaId);
+
+    // Keyset: continua a partir da última chave vista, na mesma ordem de ix_nota_prova_aluno
+    if (after != null) {
+      sql.append(hasWhere ? " AND" : " WHERE").append(" (prova_id, aluno_id) > (?, ?)");
+      params.add(after.provaId());
+      params.add(after.alunoId());
+    }
+
+    sql.append(" ORDER BY ").append(KEYSET_ORDER_BY).append(" LIMIT ?");
+    params.add(limit);
+    return jdbc.query(Objects.requireNonNull(sql.toString()), ROW_MAPPER, params.toArray());
+  }
+
+  @Override
+  public List<NotaExpandida> findAllExpanded(Long alunoId, Long provaId, Set<Expansao> expansoes) {
+    List<Object> params = new ArrayList<>();
+    StringBuilder sql = expandedSelect(expansoes);
+    appendFilters(sql, params, "n.", alunoId, provaId);
+    sql.append(" ORDER BY ").append(EXPANDED_ORDER_BY);
+    return jdbc.query(Objects.requireNonNull(sql.toString()), expandedRowMapper(expansoes), params.toArray());
+  }
+
+  @Override
+  public List<NotaExpandida> findPageExpanded(Long alunoId, Long provaId, NotaId after, int limit, Set<Expansao> expansoes) {
+    List<Object> params = new ArrayList<>();
+    StringBuilder sql = expandedSelect(expansoes);
+    boolean hasWhere = appendFilters(sql, params, "n.", alunoId, provaId);
+    if (after != null) {
+      sql.append(hasWhere ? " AND" : " WHERE").append(" (n.prova_id, n.aluno_id) > (?, ?)");
+      params.add(after.provaId());
+      params.add(after.alunoId());
+    }
+    sql.append(" ORDER BY ").append(EXPANDED_ORDER_BY).append(" LIMIT ?");
+    params.add(limit);
+    return jdbc.query(Objects.requireNonNull(sql.toString()), expandedRowMapper(expansoes), params.toArray());
+  }
+
+  @Override
+  public void streamAll(Long alunoId, Long provaId, Consumer<Nota> consumer) {
+    StringBuilder sql = new StringBuilder(TABLE.baseSelectSql());
+    List<Object> params = new ArrayList<>();
+    appendFilters(sql, params, alunoId, provaId);
+    sql.append(" ORDER BY ").append(KEYSET_ORDER_BY);
+
+    ArgumentPreparedStatementSetter args = new ArgumentPreparedStatementSetter(params.toArray());
+    RowCallbackHandler handler = rs -> consumer.accept(ROW_MAPPER.mapRow(rs, rs.getRow()));
+    jdbc.query(Objects.requireNonNull(sql.toString()), ps -> {
+      ps.setFetchSize(STREAM_FETCH_SIZE);
+      args.setValues(ps);
+    }, handler);
+  }
+
   @Override
   public Optional<Nota> update(Nota nota) {
     List<Nota> list = jdbc.query(UPDATE_SQL, ROW_MAPPER,
@@ -102,4 +201,64 @@ public class NotaDaoJdbc implements NotaDao {
   public boolean delete(Long alunoId, Long provaId) {
     return jdbc.update(DELETE_SQL, alunoId, provaId) > 0;
   }
+
+  /**
+   * Um único SELECT com JOIN só nas tabelas pedidas, trazendo delas apenas as colunas exibidas. Os
+   * JOINs são internos: as FKs de nota garantem que aluno, prova e departamento existem.
+   */
+  private static StringBuilder expandedSelect(Set<Expansao> expansoes) {
+    StringBuilder colunas = new StringBuilder(EXPANDED_NOTA_COLUMNS);
+    StringBuilder joins = new StringBuilder();
+    if (expansoes.contains(Expansao.ALUNO)) {
+      colunas.append(", a.nome AS aluno_nome, a.ra AS aluno_ra");
+      joins.append(" JOIN aluno a ON a.id = n.aluno_id");
+    }
+    if (expansoes.contains(Expansao.PROVA)) {
+      colunas.append(", p.titulo AS prova_titulo, p.data AS prova_data");
+      joins.append(" JOIN prova p ON p.id = n.prova_id");
+    }
+    if (expansoes.contains(Expansao.DEPARTAMENTO)) {
+      colunas.append(", d.nome AS departamento_nome, d.sigla AS departamento_sigla");
+      joins.append(" JOIN departamento d ON d.id = n.departamento_id");
+    }
+    return new StringBuilder("SELECT ").append(colunas).append(" FROM nota n").append(joins);
+  }
+
+  private static RowMapper<NotaExpandida> expandedRowMapper(Set<Expansao> expansoes) {
+    boolean aluno = expansoes.contains(Expansao.ALUNO);
+    boolean prova = expansoes.contains(Expansao.PROVA);
+    boolean departamento = expansoes.contains(Expansao.DEPARTAMENTO);
+    return (rs, rowNum) -> {
+      NotaExpandida nota = new NotaExpandida(ROW_MAPPER.mapRow(rs, rowNum));
+      if (aluno) {
+        nota.setAluno(new AlunoResumo(nota.getAlunoId(), rs.getString("aluno_nome"), rs.getString("aluno_ra")));
+      }
+      if (prova) {
+        nota.setProva(new ProvaResumo(nota.getProvaId(), rs.getString("prova_titulo"), rs.getObject("prova_data", LocalDate.class)));
+      }
+      if (departamento) {
+        nota.setDepartamento(new DepartamentoResumo(nota.getDepartamentoId(), rs.getString("departamento_nome"), rs.getString("departamento_sigla")));
+      }
+      return nota;
+    };
+  }
+
+  private static boolean appendFilters(StringBuilder sql, List<Object> params, Long alunoId, Long provaId) {
+    return appendFilters(sql, params, "", alunoId, provaId);
+  }
+
+  private static boolean appendFilters(StringBuilder sql, List<Object> params, String alias, Long alunoId, Long provaId) {
+    boolean hasWhere = false;
+    if (alunoId != null) {
+      sql.append(" WHERE ").append(alias).append("aluno_id = ?");
+      params.add(alunoId);
+      hasWhere = true;
+    }
+    if (provaId != null) {
+      sql.append(hasWhere ? " AND " : " WHERE ").append(alias).append("prova_id = ?");
+      params.add(provaId);
+      hasWhere = true;
+    }
+    return hasWhere;
+  }
 }
@@ -11,9 +11,11 @@ import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 import poo.dao.ProvaDao;
 import poo.dao.support.JdbcTableMetadata;
+import poo.dao.support.MetricasJdbc;
 import poo.model.Prova;
 
 @Repository
+@MetricasJdbc(tabela = "prova")
 public class ProvaDaoJdbc implements ProvaDao {
 
   private static final @NonNull JdbcTableMetadata<Prova> TABLE = JdbcTableMetadata
@@ -36,7 +38,21 @@ public class ProvaDaoJdbc implements ProvaDao {
   private static final @NonNull RowMapper<Prova> ROW_MAPPER = TABLE.rowMapper();
   private static final @NonNull String INSERT_SQL = TABLE.insertReturningSql("departamento_id, titulo, data, descricao");
   private static final @NonNull String SELECT_BY_ID_SQL = TABLE.selectByIdSql("id = ?");
+  // Um único statement para N ids: o array vai como parâmetro (bigint[]) e o plano usa a PK
+  private static final @NonNull String SELECT_BY_IDS_SQL = TABLE.selectByIdSql("id = ANY(?)") + " ORDER BY " + TABLE.orderByClause();
   private static final @NonNull String SELECT_ALL_SQL = TABLE.selectAllSql();
+  // Igualdade em departamento_id e intervalo em data: uma varredura de intervalo em
+  // ix_prova_departamento_calendario (V13), que já entrega as linhas na ordem do keyset. Limite
+  // ausente vira -infinity/infinity, mantendo um único SQL por página para o cache de statements.
+  private static final String PERIODO_WHERE =
+    "departamento_id = ? AND data >= COALESCE(?::date, '-infinity') AND data < COALESCE(?::date, 'infinity')";
+  private static final String PERIODO_ORDER_BY = " ORDER BY data, titulo, id LIMIT ?";
+  private static final @NonNull String SELECT_BY_DEPARTAMENTO_PERIODO_SQL =
+    TABLE.selectByIdSql(PERIODO_WHERE) + PERIODO_ORDER_BY;
+  // Páginas seguintes: continua depois da última chave vista, sem OFFSET
+  private static final @NonNull String SELECT_BY_DEPARTAMENTO_PERIODO_APOS_SQL =
+    TABLE.selectByIdSql(PERIODO_WHERE + " AND (data, titulo, id) > (?, ?, ?)") + PERIODO_ORDER_BY;
+  private static final @NonNull String SELECT_UPDATED_SINCE_SQL = TABLE.selectUpdatedSinceSql();
   private static final @NonNull String UPDATE_SQL = TABLE.updateReturningSql(
     "departamento_id = ?, titulo = ?, data = ?, descricao = ?",
     "id = ?"
@@ -65,11 +81,30 @@ public class ProvaDaoJdbc implements ProvaDao {
     return list.stream().findFirst();
   }
 
+  @Override
+  public List<Prova> findByIds(List<Long> ids) {
+    return jdbc.query(SELECT_BY_IDS_SQL, ROW_MAPPER, (Object) ids.toArray(Long[]::new));
+  }
+
   @Override
   public List<Prova> findAll() {
     return jdbc.query(SELECT_ALL_SQL, ROW_MAPPER);
   }
 
+  @Override
+  public List<Prova> findByDepartamentoAndPeriodo(Long departamentoId, LocalDate from, LocalDate to, Posicao after, int limit) {
+    if (after == null) {
+      return jdbc.query(SELECT_BY_DEPARTAMENTO_PERIODO_SQL, ROW_MAPPER, departamentoId, toSqlDate(from), toSqlDate(to), limit);
+    }
+    return jdbc.query(SELECT_BY_DEPARTAMENTO_PERIODO_APOS_SQL, ROW_MAPPER, departamentoId, toSqlDate(from), toSqlDate(to),
+      toSqlDate(after.data()), after.titulo(), after.id(), limit);
+  }
+
+  @Override
+  public List<Prova> findUpdatedSince(long since) {
+    return jdbc.query(SELECT_UPDATED_SINCE_SQL, ROW_MAPPER, since);
+  }
+
   @Override
   public Optional<Prova> update(Prova prova) {
     Objects.requireNonNull(prova.getId(), "Prova id must not be null");
@@ -1,7 +1,9 @@
 package poo.dao.impl;
 
 import poo.dao.UsuarioDao;
+import poo.dao.support.MetricasJdbc;
 import poo.model.Usuario;
+import poo.model.UsuarioCredencial;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.lang.NonNull;
@@ -10,6 +12,7 @@ import org.springframework.stereotype.Repository;
 import java.util.*;
 
 @Repository
+@MetricasJdbc(tabela = "usuario")
 public class UsuarioDaoJdbc implements UsuarioDao {
 
   private final JdbcTemplate jdbc;
@@ -24,17 +27,24 @@ public class UsuarioDaoJdbc implements UsuarioDao {
   };
 
   @Override
-  public Optional<Usuario> autenticar(String username, String senhaPlana) {
-    // Usa pgcrypto: password_hash = crypt('senha', password_hash)
-    List<Usuario> list = jdbc.query("""
-      SELECT id, username, nome
+  public Optional<UsuarioCredencial> findCredencial(String username) {
+    // A verificação bcrypt roda na aplicação: a conexão volta ao pool antes do hash ser calculado
+    List<UsuarioCredencial> list = jdbc.query("""
+      SELECT id, username, nome, password_hash
       FROM usuario
       WHERE username = ?
-        AND password_hash = crypt(?, password_hash)
-    """, RM, username, senhaPlana);
+    """, (rs, i) -> new UsuarioCredencial(RM.mapRow(rs, i), rs.getString("password_hash")), username);
     return list.stream().findFirst();
   }
 
+  @Override
+  public boolean atualizarHash(Long id, String hashAtual, String novoHash) {
+    return jdbc.update(
+      "UPDATE usuario SET password_hash = ? WHERE id = ? AND password_hash = ?",
+      novoHash, id, hashAtual
+    ) > 0;
+  }
+
   @Override
   public Optional<Usuario> findById(Long id) {
     List<Usuario> list = jdbc.query("SELECT id, username, nome FROM usuario WHERE id = ?", RM, id);
@@ -0,0 +1,180 @@
+package poo.dao.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.lang.NonNull;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Semáforo justo na frente do pool de conexões, dimensionado por ele. A permissão é tomada antes de
+ * pedir a conexão e devolvida quando ela é fechada: vale para qualquer caminho até o pool (DAOs,
+ * {@code DataSourceTransactionManager}, {@code REQUIRES_NEW}) e ninguém segura uma conexão enquanto
+ * espera permissão.
+ */
+public class AdmissaoDataSource extends DelegatingDataSource {
+
+  public static final String METRICA = "poo.jdbc.admissao";
+
+  private final String pool;
+  private final Semaphore permissoes;
+  private final long esperaMaximaNanos;
+  private final int maxFila;
+  private final Supplier<MeterRegistry> registry;
+  private volatile Medidores medidores;
+
+  public AdmissaoDataSource(
+    @NonNull String pool,
+    @NonNull DataSource alvo,
+    int permissoes,
+    Duration esperaMaxima,
+    int maxFila,
+    @NonNull Supplier<MeterRegistry> registry
+  ) {
+    super(alvo);
+    if (permissoes < 1) {
+      throw new IllegalArgumentException("Admissão JDBC precisa de pelo menos uma permissão");
+    }
+    this.pool = pool;
+    this.permissoes = new Semaphore(permissoes, true);
+    this.esperaMaximaNanos = esperaMaxima.toNanos();
+    this.maxFila = maxFila;
+    this.registry = registry;
+  }
+
+  @Override
+  public @NonNull Connection getConnection() throws SQLException {
+    adquirir();
+    return admitida(() -> obtainTargetDataSource().getConnection());
+  }
+
+  @Override
+  public @NonNull Connection getConnection(@NonNull String username, @NonNull String password) throws SQLException {
+    adquirir();
+    return admitida(() -> obtainTargetDataSource().getConnection(username, password));
+  }
+
+  private Connection admitida(ConexaoAlvo alvo) throws SQLException {
+    Connection conexao;
+    try {
+      conexao = alvo.obter();
+    } catch (SQLException | RuntimeException | Error ex) {
+      permissoes.release();
+      throw ex;
+    }
+    return devolvendoAoFechar(conexao);
+  }
+
+  // A permissão volta uma única vez, mesmo que a conexão seja fechada de novo
+  private Connection devolvendoAoFechar(Connection conexao) {
+    AtomicBoolean devolvida = new AtomicBoolean();
+    return (Connection) Proxy.newProxyInstance(
+      Connection.class.getClassLoader(),
+      new Class<?>[] {Connection.class},
+      (proxy, metodo, args) -> {
+        switch (metodo.getName()) {
+          case "equals":
+            return proxy == args[0];
+          case "hashCode":
+            return System.identityHashCode(proxy);
+          case "toString":
+            return "Admitida[" + conexao + "]";
+          default:
+            break;
+        }
+        try {
+          return metodo.invoke(conexao, args);
+        } catch (InvocationTargetException ex) {
+          throw ex.getTargetException();
+        } finally {
+          if (metodo.getName().equals("close") && devolvida.compareAndSet(false, true)) {
+            permissoes.release();
+          }
+        }
+      }
+    );
+  }
+
+  private void adquirir() {
+    Medidores m = medidores();
+    if (permissoes.tryAcquire()) {
+      return;
+    }
+    if (permissoes.getQueueLength() >= maxFila) {
+      m.rejeitadas().increment();
+      throw ocupado(null);
+    }
+    long inicio = System.nanoTime();
+    // Não adianta esperar além do prazo da requisição: a consulta seria cancelada em seguida
+    PrazoRequisicao prazo = PrazoRequisicao.atual();
+    long espera = prazo == null ? esperaMaximaNanos : Math.min(esperaMaximaNanos, prazo.restanteNanos());
+    try {
+      boolean admitida = espera > 0 && permissoes.tryAcquire(espera, TimeUnit.NANOSECONDS);
+      m.espera().record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+      if (!admitida) {
+        m.rejeitadas().increment();
+        throw ocupado(null);
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw ocupado(ex);
+    }
+  }
+
+  private Medidores medidores() {
+    Medidores m = medidores;
+    if (m == null) {
+      synchronized (this) {
+        m = medidores;
+        if (m == null) {
+          MeterRegistry meters = registry.get();
+          Gauge.builder(METRICA + ".fila", permissoes, Semaphore::getQueueLength)
+            .description("Pedidos de conexão aguardando permissão")
+            .tag("pool", pool)
+            .register(meters);
+          Gauge.builder(METRICA + ".disponiveis", permissoes, Semaphore::availablePermits)
+            .description("Permissões livres para pedir conexão")
+            .tag("pool", pool)
+            .register(meters);
+          m = new Medidores(
+            Timer.builder(METRICA + ".espera")
+              .description("Espera por permissão quando todas estavam em uso")
+              .publishPercentiles(0.5, 0.95, 0.99)
+              .tag("pool", pool)
+              .register(meters),
+            Counter.builder(METRICA + ".rejeitadas")
+              .description("Pedidos de conexão recusados com 503 por falta de permissão")
+              .tag("pool", pool)
+              .register(meters)
+          );
+          medidores = m;
+        }
+      }
+    }
+    return m;
+  }
+
+  private static ResponseStatusException ocupado(Throwable cause) {
+    return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Banco de dados ocupado; tente novamente em instantes.", cause);
+  }
+
+  @FunctionalInterface
+  private interface ConexaoAlvo {
+    Connection obter() throws SQLException;
+  }
+
+  private record Medidores(Timer espera, Counter rejeitadas) {}
+}
@@ -0,0 +1,43 @@
+package poo.dao.support;
+
+import java.util.function.UnaryOperator;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.lang.NonNull;
+
+/**
+ * Põe um {@link AdmissaoDataSource} na frente de um pool: o {@code DataSource} principal
+ * ({@link #principal}, o mesmo usado pelo gerenciador de transações e pelo {@code JdbcTemplate}) ou o
+ * {@link PoolJdbcDedicado} dos DAOs analíticos ({@link #analitico}).
+ */
+public final class AdmissaoJdbcPostProcessor implements BeanPostProcessor {
+
+  private static final String DATA_SOURCE_PRINCIPAL = "dataSource";
+
+  private final boolean principal;
+  private final UnaryOperator<DataSource> admissao;
+
+  private AdmissaoJdbcPostProcessor(boolean principal, @NonNull UnaryOperator<DataSource> admissao) {
+    this.principal = principal;
+    this.admissao = admissao;
+  }
+
+  public static AdmissaoJdbcPostProcessor principal(@NonNull UnaryOperator<DataSource> admissao) {
+    return new AdmissaoJdbcPostProcessor(true, admissao);
+  }
+
+  public static AdmissaoJdbcPostProcessor analitico(@NonNull UnaryOperator<DataSource> admissao) {
+    return new AdmissaoJdbcPostProcessor(false, admissao);
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+    if (principal && bean instanceof DataSource dataSource && DATA_SOURCE_PRINCIPAL.equals(beanName)) {
+      return admissao.apply(dataSource);
+    }
+    if (!principal && bean instanceof PoolJdbcDedicado pool) {
+      return pool.envolver(admissao);
+    }
+    return bean;
+  }
+}
@@ -0,0 +1,16 @@
+package poo.dao.support;
+
+/**
+ * Estado da requisição que os DAOs leem de ThreadLocal: o {@link PrazoRequisicao} e a fixação no
+ * primário do {@link RoteamentoDataSource}. Tarefas assíncronas disparadas pela requisição precisam
+ * levar os dois, e o Spring Boot só aplica um {@code TaskDecorator} ao executor padrão.
+ */
+public final class ContextoRequisicao {
+
+  private ContextoRequisicao() {}
+
+  /** Leva o contexto da thread que submete a tarefa para a thread que a executa (TaskDecorator). */
+  public static Runnable propagar(Runnable tarefa) {
+    return RoteamentoDataSource.propagar(PrazoRequisicao.propagar(tarefa));
+  }
+}
@@ -60,6 +60,14 @@ public final class JdbcTableMetadata<T> {
     return defaultOrderBy;
   }
 
+  /**
+   * Linhas gravadas por transações a partir do cursor informado (id de transação, V11), em ordem de
+   * gravação (tabelas auditáveis).
+   */
+  public @NonNull String selectUpdatedSinceSql() {
+    return baseSelectSql() + " WHERE xid_alteracao >= ? ORDER BY xid_alteracao";
+  }
+
   public @NonNull String selectByIdSql(@NonNull String whereClause) {
     return baseSelectSql() + " WHERE " + whereClause;
   }
@@ -75,6 +83,17 @@ public final class JdbcTableMetadata<T> {
       columnsCsv;
   }
 
+  public @NonNull String insertReturningSql(@NonNull String insertColumns, @NonNull String valuesClause) {
+    return "INSERT INTO " +
+      tableName +
+      " (" +
+      insertColumns +
+      ") VALUES (" +
+      valuesClause +
+      ") RETURNING " +
+      columnsCsv;
+  }
+
   public @NonNull String updateReturningSql(@NonNull String setClause, @NonNull String whereClause) {
     return "UPDATE " +
       tableName +
@@ -0,0 +1,71 @@
+package poo.dao.support;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.lang.NonNull;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * {@link JdbcTemplate} que converte o tempo restante de {@link PrazoRequisicao} em
+ * {@code queryTimeout} de cada statement. Vale o menor entre esse tempo, o {@code queryTimeout} do
+ * próprio template e o timeout da transação; com o prazo já vencido a consulta nem é enviada.
+ *
+ * <p>Enquanto executa, o statement fica registrado no prazo para {@link PrazoRequisicao#cancelar()}.
+ * O registro sai em {@code handleWarnings}, que o {@code JdbcTemplate} chama logo depois da execução,
+ * com sucesso ou com {@code SQLException}.
+ */
+public class JdbcTemplateComPrazo extends JdbcTemplate {
+
+  public JdbcTemplateComPrazo(@NonNull DataSource dataSource) {
+    super(dataSource);
+  }
+
+  @Override
+  protected void applyStatementSettings(@NonNull Statement stmt) throws SQLException {
+    super.applyStatementSettings(stmt);
+    PrazoRequisicao prazo = PrazoRequisicao.atual();
+    if (prazo == null) {
+      return;
+    }
+    if (prazo.esgotado()) {
+      throw new QueryTimeoutException("Prazo da requisição esgotado antes da consulta");
+    }
+    if (prazo.limitado()) {
+      // queryTimeout do JDBC é em segundos; arredonda para cima para não cortar antes do prazo
+      int segundos = (int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(prazo.restanteNanos() + TimeUnit.SECONDS.toNanos(1) - 1));
+      int atual = stmt.getQueryTimeout();
+      if (atual == 0 || segundos < atual) {
+        stmt.setQueryTimeout(segundos);
+      }
+    }
+    prazo.registrar(stmt);
+  }
+
+  @Override
+  protected void handleWarnings(@NonNull Statement stmt) throws SQLException {
+    try {
+      super.handleWarnings(stmt);
+    } finally {
+      desregistrar(stmt);
+    }
+  }
+
+  @Override
+  protected void handleWarnings(@NonNull Statement stmt, @NonNull SQLException ex) {
+    try {
+      super.handleWarnings(stmt, ex);
+    } finally {
+      desregistrar(stmt);
+    }
+  }
+
+  private static void desregistrar(Statement stmt) {
+    PrazoRequisicao prazo = PrazoRequisicao.atual();
+    if (prazo != null) {
+      prazo.desregistrar(stmt);
+    }
+  }
+}
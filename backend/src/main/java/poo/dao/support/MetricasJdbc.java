@@ -0,0 +1,20 @@
+package poo.dao.support;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca um DAO JDBC para ter cada chamada medida por {@link MetricasJdbcInterceptor}.
+ * Na classe define a tabela principal; num método sobrescreve a tabela daquela operação
+ * (útil em DAOs de relatório que consultam tabelas diferentes).
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE, ElementType.METHOD })
+public @interface MetricasJdbc {
+
+  String tabela();
+}
@@ -0,0 +1,118 @@
+package poo.dao.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Mede cada operação dos DAOs anotados com {@link MetricasJdbc}: latência ({@value #METRICA_TEMPO},
+ * com p50/p95/p99), linhas devolvidas ({@value #METRICA_LINHAS}) e falhas ({@value #METRICA_ERROS}),
+ * todas com as tags {@code dao}, {@code operacao} e {@code tabela}.
+ *
+ * <p>Os medidores são resolvidos uma vez por método; no caminho quente sobra uma busca no mapa,
+ * duas leituras de {@link System#nanoTime()} e o registro no timer.
+ */
+public final class MetricasJdbcInterceptor implements MethodInterceptor {
+
+  public static final String METRICA_TEMPO = "poo.dao.consulta";
+  public static final String METRICA_LINHAS = "poo.dao.linhas";
+  public static final String METRICA_ERROS = "poo.dao.erros";
+
+  private final Supplier<MeterRegistry> registry;
+  private final Map<Method, Medidores> medidores = new ConcurrentHashMap<>();
+
+  public MetricasJdbcInterceptor(@NonNull Supplier<MeterRegistry> registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  public Object invoke(@NonNull MethodInvocation invocation) throws Throwable {
+    Method method = invocation.getMethod();
+    if (method.getDeclaringClass() == Object.class) {
+      return invocation.proceed();
+    }
+    Medidores medidor = medidores.computeIfAbsent(method, m -> criarMedidores(m, invocation.getThis()));
+    long inicio = System.nanoTime();
+    Object resultado;
+    try {
+      resultado = invocation.proceed();
+    } catch (Throwable ex) {
+      medidor.tempo().record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+      medidor.erros().increment();
+      throw ex;
+    }
+    medidor.tempo().record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+    long linhas = contarLinhas(resultado);
+    if (linhas >= 0) {
+      medidor.linhas().record(linhas);
+    }
+    return resultado;
+  }
+
+  private Medidores criarMedidores(Method method, Object target) {
+    Class<?> daoClass = target != null ? ClassUtils.getUserClass(target) : method.getDeclaringClass();
+    Tags tags = Tags.of(
+      "dao", daoClass.getSimpleName(),
+      "operacao", method.getName(),
+      "tabela", tabela(method, daoClass)
+    );
+    MeterRegistry meters = registry.get();
+    Timer tempo = Timer.builder(METRICA_TEMPO)
+      .description("Latência das operações JDBC dos DAOs")
+      .tags(tags)
+      .publishPercentiles(0.5, 0.95, 0.99)
+      .publishPercentileHistogram()
+      .register(meters);
+    DistributionSummary linhas = DistributionSummary.builder(METRICA_LINHAS)
+      .description("Linhas devolvidas ou afetadas por operação JDBC")
+      .tags(tags)
+      .register(meters);
+    Counter erros = Counter.builder(METRICA_ERROS)
+      .description("Operações JDBC que terminaram em exceção")
+      .tags(tags)
+      .register(meters);
+    return new Medidores(tempo, linhas, erros);
+  }
+
+  private static String tabela(Method method, Class<?> daoClass) {
+    Method especifico = ClassUtils.getMostSpecificMethod(method, daoClass);
+    MetricasJdbc anotacao = AnnotatedElementUtils.findMergedAnnotation(especifico, MetricasJdbc.class);
+    if (anotacao == null) {
+      anotacao = AnnotatedElementUtils.findMergedAnnotation(daoClass, MetricasJdbc.class);
+    }
+    return anotacao != null ? anotacao.tabela() : "desconhecida";
+  }
+
+  // -1 quando o retorno não representa linhas (void, objetos de resumo)
+  private static long contarLinhas(Object resultado) {
+    if (resultado instanceof Collection<?> colecao) {
+      return colecao.size();
+    }
+    if (resultado instanceof Optional<?> opcional) {
+      return opcional.isPresent() ? 1 : 0;
+    }
+    if (resultado instanceof Boolean afetou) {
+      return afetou ? 1 : 0;
+    }
+    if (resultado instanceof Integer afetadas) {
+      return afetadas;
+    }
+    return -1;
+  }
+
+  private record Medidores(Timer tempo, DistributionSummary linhas, Counter erros) {}
+}
@@ -0,0 +1,27 @@
+package poo.dao.support;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.function.Supplier;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.core.Ordered;
+import org.springframework.lang.NonNull;
+
+/**
+ * Aplica {@link MetricasJdbcInterceptor} aos beans anotados com {@link MetricasJdbc}, do mesmo jeito
+ * que a tradução de exceções de {@code @Repository}: se o DAO já tem proxy, o advisor é somado a ele.
+ */
+public class MetricasJdbcPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+  public MetricasJdbcPostProcessor(@NonNull Supplier<MeterRegistry> registry) {
+    this.advisor = new DefaultPointcutAdvisor(
+      new AnnotationMatchingPointcut(MetricasJdbc.class, true),
+      new MetricasJdbcInterceptor(registry)
+    );
+    // Fica por fora dos demais advisors para que o tempo medido inclua a tradução de exceções
+    setBeforeExistingAdvisors(true);
+    setProxyTargetClass(true);
+    setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+  }
+}
@@ -0,0 +1,39 @@
+package poo.dao.support;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.function.UnaryOperator;
+import javax.sql.DataSource;
+import org.springframework.lang.NonNull;
+
+/**
+ * Pool Hikari separado do {@code DataSource} principal. Fica embrulhado (e não exposto como bean
+ * {@code DataSource}) para não desligar a autoconfiguração do pool principal do Spring Boot.
+ */
+public final class PoolJdbcDedicado implements AutoCloseable {
+
+  private final HikariDataSource pool;
+  private final DataSource dataSource;
+
+  public PoolJdbcDedicado(@NonNull HikariDataSource pool) {
+    this(pool, pool);
+  }
+
+  private PoolJdbcDedicado(HikariDataSource pool, DataSource dataSource) {
+    this.pool = pool;
+    this.dataSource = dataSource;
+  }
+
+  public @NonNull DataSource dataSource() {
+    return dataSource;
+  }
+
+  /** Mesmo pool, acessado por {@code envolver} (a admissão, por exemplo); fechar continua fechando o Hikari. */
+  public @NonNull PoolJdbcDedicado envolver(@NonNull UnaryOperator<DataSource> envolver) {
+    return new PoolJdbcDedicado(pool, envolver.apply(dataSource));
+  }
+
+  @Override
+  public void close() {
+    pool.close();
+  }
+}
@@ -0,0 +1,124 @@
+package poo.dao.support;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.springframework.lang.Nullable;
+
+/**
+ * Prazo da requisição HTTP em andamento, visto pelos DAOs da mesma thread. Os statements executados
+ * dentro do prazo ficam registrados para que {@link #cancelar()} possa interromper a consulta no
+ * Postgres a partir de outra thread (ex.: quando o container avisa que o cliente desconectou).
+ */
+public final class PrazoRequisicao {
+
+  private static final ThreadLocal<PrazoRequisicao> ATUAL = new ThreadLocal<>();
+
+  private final long limiteNanos;
+  private final boolean limitado;
+  private final Set<Statement> ativos = ConcurrentHashMap.newKeySet();
+  private volatile boolean cancelado;
+
+  private PrazoRequisicao(long limiteNanos, boolean limitado) {
+    this.limiteNanos = limiteNanos;
+    this.limitado = limitado;
+  }
+
+  /** Abre o prazo na thread atual; deve ser fechado com {@link #encerrar()}. */
+  public static PrazoRequisicao iniciar(Duration prazo) {
+    PrazoRequisicao atual = new PrazoRequisicao(System.nanoTime() + prazo.toNanos(), true);
+    ATUAL.set(atual);
+    return atual;
+  }
+
+  /** Como {@link #iniciar}, mas sem limite de tempo: as consultas só param por {@link #cancelar()}. */
+  public static PrazoRequisicao iniciarSemLimite() {
+    PrazoRequisicao atual = new PrazoRequisicao(0, false);
+    ATUAL.set(atual);
+    return atual;
+  }
+
+  public static @Nullable PrazoRequisicao atual() {
+    return ATUAL.get();
+  }
+
+  public static void encerrar() {
+    ATUAL.remove();
+  }
+
+  /**
+   * Roda {@code tarefa} com um prazo próprio, independente do da requisição atual (trabalho
+   * compartilhado entre requisições, como a recarga de um cache); o prazo anterior volta no fim.
+   */
+  public static <T> T executar(Duration prazo, Supplier<T> tarefa) {
+    PrazoRequisicao anterior = ATUAL.get();
+    ATUAL.set(new PrazoRequisicao(System.nanoTime() + prazo.toNanos(), true));
+    try {
+      return tarefa.get();
+    } finally {
+      if (anterior == null) {
+        ATUAL.remove();
+      } else {
+        ATUAL.set(anterior);
+      }
+    }
+  }
+
+  /** Leva o prazo da thread que submete a tarefa para a thread que a executa (TaskDecorator). */
+  public static Runnable propagar(Runnable tarefa) {
+    PrazoRequisicao prazo = ATUAL.get();
+    if (prazo == null) {
+      return tarefa;
+    }
+    return () -> {
+      PrazoRequisicao anterior = ATUAL.get();
+      ATUAL.set(prazo);
+      try {
+        tarefa.run();
+      } finally {
+        if (anterior == null) {
+          ATUAL.remove();
+        } else {
+          ATUAL.set(anterior);
+        }
+      }
+    };
+  }
+
+  public boolean limitado() {
+    return limitado;
+  }
+
+  /** Tempo até o prazo; {@code Long.MAX_VALUE} quando não há limite. */
+  public long restanteNanos() {
+    return limitado ? limiteNanos - System.nanoTime() : Long.MAX_VALUE;
+  }
+
+  public boolean esgotado() {
+    return cancelado || restanteNanos() <= 0;
+  }
+
+  /** Cancela os statements ainda em execução; novas consultas neste prazo são recusadas. */
+  public void cancelar() {
+    cancelado = true;
+    for (Statement statement : ativos) {
+      try {
+        statement.cancel();
+      } catch (SQLException | RuntimeException ex) {
+        // statement já fechado: nada a cancelar
+      }
+    }
+    ativos.clear();
+  }
+
+  void registrar(Statement statement) {
+    ativos.add(statement);
+  }
+
+  void desregistrar(Statement statement) {
+    ativos.remove(statement);
+  }
+}
@@ -0,0 +1,189 @@
+package poo.dao.support;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Encaminha transações {@code readOnly} para réplicas saudáveis (em rodízio) e todo o resto para o
+ * primário. Deve ficar atrás de um {@code LazyConnectionDataSourceProxy}: assim a conexão só é pedida
+ * depois que a transação já marcou se é somente leitura.
+ *
+ * <p>Uma verificação periódica mede o atraso de cada réplica; réplica inacessível ou atrasada além do
+ * tolerado sai do rodízio e, sem nenhuma disponível, as leituras voltam ao primário.
+ */
+public class RoteamentoDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+  static final String PRIMARIO = "primario";
+
+  private static final ThreadLocal<Boolean> FIXADO_NO_PRIMARIO = new ThreadLocal<>();
+
+  private final List<Replica> replicas = new ArrayList<>();
+  private final Duration lagMaximo;
+  private final SondaReplica sonda;
+  private final AtomicInteger rodizio = new AtomicInteger();
+  private final ScheduledExecutorService verificador;
+
+  public RoteamentoDataSource(
+    @NonNull DataSource primario,
+    @NonNull Map<String, DataSource> replicas,
+    @NonNull Duration lagMaximo,
+    @NonNull SondaReplica sonda
+  ) {
+    this.lagMaximo = lagMaximo;
+    this.sonda = sonda;
+    Map<Object, Object> alvos = new HashMap<>();
+    alvos.put(PRIMARIO, primario);
+    replicas.forEach((nome, dataSource) -> {
+      alvos.put(nome, dataSource);
+      this.replicas.add(new Replica(nome, dataSource));
+    });
+    setTargetDataSources(alvos);
+    setDefaultTargetDataSource(primario);
+    this.verificador = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("replica-saude-"));
+  }
+
+  /** Começa a checagem periódica das réplicas; a primeira roda imediatamente. */
+  public void iniciarVerificacao(@NonNull Duration intervalo) {
+    verificador.scheduleWithFixedDelay(this::verificarReplicas, 0, intervalo.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /** Leituras da thread atual vão para o primário (cliente que acabou de escrever). */
+  public static void fixarNoPrimario(boolean fixar) {
+    if (fixar) {
+      FIXADO_NO_PRIMARIO.set(Boolean.TRUE);
+    } else {
+      FIXADO_NO_PRIMARIO.remove();
+    }
+  }
+
+  /** Leva a fixação no primário da thread que submete a tarefa para a que a executa (TaskDecorator). */
+  public static Runnable propagar(Runnable tarefa) {
+    if (FIXADO_NO_PRIMARIO.get() == null) {
+      return tarefa;
+    }
+    return () -> {
+      Boolean anterior = FIXADO_NO_PRIMARIO.get();
+      FIXADO_NO_PRIMARIO.set(Boolean.TRUE);
+      try {
+        tarefa.run();
+      } finally {
+        if (anterior == null) {
+          FIXADO_NO_PRIMARIO.remove();
+        }
+      }
+    };
+  }
+
+  public void registrarMetricas(@NonNull MeterRegistry registry) {
+    for (Replica replica : replicas) {
+      Gauge.builder("poo.datasource.replica.lag", replica, r -> r.lagSegundos)
+        .description("Atraso de replicação medido na última verificação (segundos)")
+        .tag("replica", replica.nome)
+        .register(registry);
+      Gauge.builder("poo.datasource.replica.disponivel", replica, r -> r.disponivel ? 1 : 0)
+        .description("1 quando a réplica está no rodízio de leitura")
+        .tag("replica", replica.nome)
+        .register(registry);
+    }
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || FIXADO_NO_PRIMARIO.get() != null) {
+      return PRIMARIO;
+    }
+    int total = replicas.size();
+    int inicio = Math.floorMod(rodizio.getAndIncrement(), Math.max(total, 1));
+    for (int i = 0; i < total; i++) {
+      Replica replica = replicas.get((inicio + i) % total);
+      if (replica.disponivel) {
+        return replica.nome;
+      }
+    }
+    return PRIMARIO;
+  }
+
+  void verificarReplicas() {
+    for (Replica replica : replicas) {
+      try {
+        Duration lag = sonda.medirLag(replica.dataSource);
+        replica.lagSegundos = lag.toMillis() / 1000.0;
+        replica.disponivel = lag.compareTo(lagMaximo) <= 0;
+      } catch (RuntimeException ex) {
+        replica.lagSegundos = Double.NaN;
+        replica.disponivel = false;
+      }
+    }
+  }
+
+  @Override
+  public void destroy() throws Exception {
+    verificador.shutdownNow();
+    // Os pools das réplicas são criados junto com o roteador e não são beans próprios
+    for (Replica replica : replicas) {
+      if (replica.dataSource instanceof AutoCloseable pool) {
+        pool.close();
+      }
+    }
+  }
+
+  /**
+   * Mede o atraso de uma réplica; qualquer exceção tira a réplica do rodízio.
+   */
+  @FunctionalInterface
+  public interface SondaReplica {
+
+    Duration medirLag(DataSource replica);
+
+    /**
+     * Atraso pelo horário da última transação reaplicada. Réplica que já reaplicou tudo o que recebeu
+     * conta como sem atraso, mesmo que o primário esteja parado há tempos.
+     */
+    static SondaReplica postgres(@NonNull Duration timeout) {
+      return replica -> {
+        JdbcTemplate jdbc = new JdbcTemplate(replica);
+        jdbc.setQueryTimeout((int) Math.max(1, timeout.toSeconds()));
+        Double segundos = jdbc.queryForObject("""
+          SELECT CASE
+                   WHEN NOT pg_is_in_recovery() THEN NULL
+                   WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                   ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                 END
+          """, Double.class);
+        if (segundos == null) {
+          throw new IllegalStateException("Servidor configurado como réplica não está em recuperação");
+        }
+        return Duration.ofMillis((long) (segundos * 1000));
+      };
+    }
+  }
+
+  private static final class Replica {
+    private final String nome;
+    private final DataSource dataSource;
+    // Começa fora do rodízio até a primeira verificação
+    private volatile boolean disponivel;
+    private volatile double lagSegundos = Double.NaN;
+
+    private Replica(String nome, DataSource dataSource) {
+      this.nome = nome;
+      this.dataSource = dataSource;
+    }
+  }
+}
@@ -0,0 +1,14 @@
+package poo.model;
+
+import java.util.List;
+
+/**
+ * Resposta da sincronização incremental ({@code ?since=}). O cliente aplica primeiro as exclusões e
+ * depois as linhas alteradas (uma chave pode ter sido excluída e recriada), e guarda
+ * {@code sincronizadoAte} para usar como {@code since} na próxima chamada. O cursor é opaco (um id de
+ * transação do banco, V11). Uma linha pode vir de novo na chamada seguinte; reaplicá-la não muda nada.
+ *
+ * @param <T> entidade
+ * @param <K> chave da entidade
+ */
+public record Alteracoes<T, K>(List<T> alterados, List<K> excluidos, long sincronizadoAte) {}
@@ -6,6 +6,7 @@ import java.time.Instant;
 public class Nota {
   private Long alunoId;
   private Long provaId;
+  private Long departamentoId;
   private BigDecimal valor;
   private String observacao;
   private Instant createdAt;
@@ -16,6 +17,7 @@ public class Nota {
   public Nota(
     Long alunoId,
     Long provaId,
+    Long departamentoId,
     BigDecimal valor,
     String observacao,
     Instant createdAt,
@@ -23,6 +25,7 @@ public class Nota {
   ) {
     this.alunoId = alunoId;
     this.provaId = provaId;
+    this.departamentoId = departamentoId;
     this.valor = valor;
     this.observacao = observacao;
     this.createdAt = createdAt;
@@ -45,6 +48,14 @@ public class Nota {
     this.provaId = provaId;
   }
 
+  public Long getDepartamentoId() {
+    return departamentoId;
+  }
+
+  public void setDepartamentoId(Long departamentoId) {
+    this.departamentoId = departamentoId;
+  }
+
   public BigDecimal getValor() {
     return valor;
   }
@@ -0,0 +1,96 @@
+package poo.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Nota com os dados de aluno, prova e/ou departamento trazidos no mesmo SELECT
+ * ({@code GET /api/notas?expand=aluno,prova,departamento}), para a tela exibir nomes sem carregar
+ * as outras tabelas inteiras. Só as expansões pedidas vêm preenchidas; as demais ficam fora do JSON.
+ */
+public class NotaExpandida extends Nota {
+
+  public enum Expansao {
+    ALUNO,
+    PROVA,
+    DEPARTAMENTO;
+
+    /**
+     * Lista separada por vírgulas, sem diferenciar maiúsculas; vazia ou nula vira conjunto vazio.
+     *
+     * @throws IllegalArgumentException se algum nome não corresponder a uma expansão
+     */
+    public static Set<Expansao> parse(String valor) {
+      Set<Expansao> expansoes = EnumSet.noneOf(Expansao.class);
+      if (valor == null) {
+        return expansoes;
+      }
+      Arrays.stream(valor.split(","))
+        .map(String::strip)
+        .filter(nome -> !nome.isEmpty())
+        .forEach(nome -> {
+          try {
+            expansoes.add(valueOf(nome.toUpperCase(Locale.ROOT)));
+          } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Expansão não suportada: " + nome + ". Use aluno, prova ou departamento.", ex);
+          }
+        });
+      return expansoes;
+    }
+  }
+
+  public record AlunoResumo(Long id, String nome, String ra) {}
+
+  public record ProvaResumo(Long id, String titulo, LocalDate data) {}
+
+  public record DepartamentoResumo(Long id, String nome, String sigla) {}
+
+  private AlunoResumo aluno;
+  private ProvaResumo prova;
+  private DepartamentoResumo departamento;
+
+  public NotaExpandida() {}
+
+  public NotaExpandida(Nota nota) {
+    super(
+      nota.getAlunoId(),
+      nota.getProvaId(),
+      nota.getDepartamentoId(),
+      nota.getValor(),
+      nota.getObservacao(),
+      nota.getCreatedAt(),
+      nota.getUpdatedAt()
+    );
+  }
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public AlunoResumo getAluno() {
+    return aluno;
+  }
+
+  public void setAluno(AlunoResumo aluno) {
+    this.aluno = aluno;
+  }
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public ProvaResumo getProva() {
+    return prova;
+  }
+
+  public void setProva(ProvaResumo prova) {
+    this.prova = prova;
+  }
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public DepartamentoResumo getDepartamento() {
+    return departamento;
+  }
+
+  public void setDepartamento(DepartamentoResumo departamento) {
+    this.departamento = departamento;
+  }
+}
@@ -0,0 +1,3 @@
+package poo.model;
+
+public record NotaId(Long alunoId, Long provaId) {}
@@ -0,0 +1,43 @@
+package poo.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PaginaCursor<T> {
+
+  private List<T> items = new ArrayList<>();
+  private int limit;
+  private String nextCursor;
+
+  public PaginaCursor() {}
+
+  public PaginaCursor(List<T> items, int limit, String nextCursor) {
+    setItems(items);
+    this.limit = limit;
+    this.nextCursor = nextCursor;
+  }
+
+  public List<T> getItems() {
+    return items;
+  }
+
+  public void setItems(List<T> items) {
+    this.items = items != null ? items : new ArrayList<>();
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  public void setLimit(int limit) {
+    this.limit = limit;
+  }
+
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  public void setNextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
+}
@@ -0,0 +1,9 @@
+package poo.model;
+
+/**
+ * Item do autocompletar ({@code GET /api/sugestoes/{entidade}}).
+ *
+ * @param rotulo texto principal (nome do aluno ou departamento, título da prova)
+ * @param detalhe texto auxiliar para diferenciar homônimos (RA, sigla, data da prova)
+ */
+public record Sugestao(Long id, String rotulo, String detalhe) {}
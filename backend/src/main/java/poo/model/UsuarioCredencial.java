@@ -0,0 +1,6 @@
+package poo.model;
+
+/**
+ * Usuário com o hash bcrypt da senha; só circula entre o DAO e o serviço de autenticação.
+ */
+public record UsuarioCredencial(Usuario usuario, String passwordHash) {}
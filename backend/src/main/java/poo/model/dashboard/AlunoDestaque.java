@@ -0,0 +1,11 @@
+package poo.model.dashboard;
+
+import java.math.BigDecimal;
+
+/** Aluno do ranking por média, com quantas notas a compõem. */
+public record AlunoDestaque(
+  long id,
+  String nome,
+  BigDecimal media,
+  long notasLancadas
+) {}
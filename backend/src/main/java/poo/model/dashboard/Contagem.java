@@ -0,0 +1,9 @@
+package poo.model.dashboard;
+
+/**
+ * Total de linhas de uma tabela.
+ *
+ * @param aproximada {@code true} quando o total veio das estatísticas do Postgres em vez de
+ *   {@code count(*)}; o valor pode diferir do real pelo que mudou desde o último ANALYZE
+ */
+public record Contagem(long total, boolean aproximada) {}
@@ -0,0 +1,20 @@
+package poo.model.dashboard;
+
+import java.util.List;
+
+/**
+ * Tudo o que a página inicial mostra, numa única resposta ({@code GET /api/dashboard}).
+ *
+ * @param departamentosDesempenho todos os departamentos, dos com maior média aos sem notas
+ * @param melhoresAlunos os primeiros do ranking por média ({@code poo.dashboard.alunos-destaque})
+ * @param proximaProva {@code null} quando não há prova de hoje em diante
+ */
+public record DashboardResumo(
+  Contagem departamentos,
+  Contagem alunos,
+  Contagem provas,
+  ResumoNotas notas,
+  List<DesempenhoDepartamento> departamentosDesempenho,
+  List<AlunoDestaque> melhoresAlunos,
+  ProvaAgendada proximaProva
+) {}
@@ -0,0 +1,13 @@
+package poo.model.dashboard;
+
+import java.math.BigDecimal;
+
+/** Média de um departamento; {@code media} é {@code null} enquanto não houver notas. */
+public record DesempenhoDepartamento(
+  long id,
+  String nome,
+  String sigla,
+  BigDecimal media,
+  long notasLancadas,
+  long alunosAvaliados
+) {}
@@ -0,0 +1,9 @@
+package poo.model.dashboard;
+
+/** Notas lançadas por faixa de valor: [0, 5), [5, 7), [7, 9) e [9, 10]. */
+public record DistribuicaoNotas(
+  long abaixoDe5,
+  long de5a7,
+  long de7a9,
+  long de9a10
+) {}
@@ -0,0 +1,13 @@
+package poo.model.dashboard;
+
+import java.time.LocalDate;
+
+/** Próxima prova a partir de hoje, com o departamento para exibição. */
+public record ProvaAgendada(
+  long id,
+  String titulo,
+  LocalDate data,
+  long departamentoId,
+  String departamentoNome,
+  String departamentoSigla
+) {}
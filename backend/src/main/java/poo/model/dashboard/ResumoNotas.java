@@ -0,0 +1,13 @@
+package poo.model.dashboard;
+
+import java.math.BigDecimal;
+
+/** Números gerais das notas, somados a partir dos agregados por departamento (sempre exatos). */
+public record ResumoNotas(
+  long total,
+  long alunosAvaliados,
+  BigDecimal media,
+  BigDecimal menor,
+  BigDecimal maior,
+  DistribuicaoNotas distribuicao
+) {}
@@ -0,0 +1,41 @@
+package poo.model.importacao;
+
+public class AlunoImportLinha {
+
+  private Long linha;
+  private String ra;
+  private String email;
+  private AlunoImportStatus status;
+
+  public Long getLinha() {
+    return linha;
+  }
+
+  public void setLinha(Long linha) {
+    this.linha = linha;
+  }
+
+  public String getRa() {
+    return ra;
+  }
+
+  public void setRa(String ra) {
+    this.ra = ra;
+  }
+
+  public String getEmail() {
+    return email;
+  }
+
+  public void setEmail(String email) {
+    this.email = email;
+  }
+
+  public AlunoImportStatus getStatus() {
+    return status;
+  }
+
+  public void setStatus(AlunoImportStatus status) {
+    this.status = status;
+  }
+}
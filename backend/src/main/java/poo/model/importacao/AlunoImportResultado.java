@@ -0,0 +1,37 @@
+package poo.model.importacao;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+public class AlunoImportResultado {
+
+  private long totalLinhas;
+  private Map<AlunoImportStatus, Long> totaisPorStatus = new EnumMap<>(AlunoImportStatus.class);
+  private List<AlunoImportLinha> rejeitadas = new ArrayList<>();
+
+  public long getTotalLinhas() {
+    return totalLinhas;
+  }
+
+  public void setTotalLinhas(long totalLinhas) {
+    this.totalLinhas = totalLinhas;
+  }
+
+  public Map<AlunoImportStatus, Long> getTotaisPorStatus() {
+    return totaisPorStatus;
+  }
+
+  public void setTotaisPorStatus(Map<AlunoImportStatus, Long> totaisPorStatus) {
+    this.totaisPorStatus = totaisPorStatus != null ? totaisPorStatus : new EnumMap<>(AlunoImportStatus.class);
+  }
+
+  public List<AlunoImportLinha> getRejeitadas() {
+    return rejeitadas;
+  }
+
+  public void setRejeitadas(List<AlunoImportLinha> rejeitadas) {
+    this.rejeitadas = rejeitadas != null ? rejeitadas : new ArrayList<>();
+  }
+}
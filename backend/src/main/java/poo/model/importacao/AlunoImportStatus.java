@@ -0,0 +1,9 @@
+package poo.model.importacao;
+
+public enum AlunoImportStatus {
+  INSERIDO,
+  RA_DUPLICADO,
+  EMAIL_DUPLICADO,
+  DEPARTAMENTO_INEXISTENTE,
+  INVALIDO
+}
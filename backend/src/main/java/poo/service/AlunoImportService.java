@@ -0,0 +1,8 @@
+package poo.service;
+
+import java.io.Reader;
+import poo.model.importacao.AlunoImportResultado;
+
+public interface AlunoImportService {
+  AlunoImportResultado importarCsv(Reader csv);
+}
@@ -2,12 +2,17 @@ package poo.service;
 
 import java.util.List;
 import java.util.Optional;
+import poo.model.Alteracoes;
 import poo.model.Aluno;
+import poo.model.PaginaCursor;
 
 public interface AlunoService {
   Aluno create(Aluno aluno);
   List<Aluno> listAll();
+  Alteracoes<Aluno, Long> listChangedSince(long since);
+  PaginaCursor<Aluno> search(String termo, String cursor, Integer limit);
   Optional<Aluno> findById(Long id);
+  List<Aluno> findByIds(List<Long> ids);
   Optional<Aluno> update(Long id, Aluno aluno);
   boolean delete(Long id);
 }
@@ -4,4 +4,5 @@ import poo.model.consultas.ConsultasAvancadasResumo;
 
 public interface ConsultasAvancadasService {
   ConsultasAvancadasResumo obterResumo();
+  void reconstruirAgregados();
 }
@@ -0,0 +1,7 @@
+package poo.service;
+
+import poo.model.dashboard.DashboardResumo;
+
+public interface DashboardService {
+  DashboardResumo obterResumo(boolean aproximado);
+}
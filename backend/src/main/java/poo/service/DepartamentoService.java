@@ -2,11 +2,13 @@ package poo.service;
 
 import java.util.List;
 import java.util.Optional;
+import poo.model.Alteracoes;
 import poo.model.Departamento;
 
 public interface DepartamentoService {
   Departamento create(Departamento departamento);
   List<Departamento> listAll();
+  Alteracoes<Departamento, Long> listChangedSince(long since);
   Optional<Departamento> findById(Long id);
   Optional<Departamento> update(Long id, Departamento departamento);
   boolean delete(Long id);
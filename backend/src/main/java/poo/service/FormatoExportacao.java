@@ -0,0 +1,37 @@
+package poo.service;
+
+import java.util.Locale;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public enum FormatoExportacao {
+  NDJSON("application/x-ndjson", "ndjson"),
+  CSV("text/csv", "csv");
+
+  private final String contentType;
+  private final String extensao;
+
+  FormatoExportacao(String contentType, String extensao) {
+    this.contentType = contentType;
+    this.extensao = extensao;
+  }
+
+  public String contentType() {
+    return contentType;
+  }
+
+  public String extensao() {
+    return extensao;
+  }
+
+  public static FormatoExportacao from(String valor) {
+    if (valor == null || valor.isBlank()) {
+      return NDJSON;
+    }
+    try {
+      return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException ex) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Formato de exportação não suportado: " + valor, ex);
+    }
+  }
+}
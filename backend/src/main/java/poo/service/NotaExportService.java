@@ -0,0 +1,8 @@
+package poo.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface NotaExportService {
+  void exportar(Long alunoId, Long provaId, FormatoExportacao formato, OutputStream out) throws IOException;
+}
@@ -2,12 +2,23 @@ package poo.service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import poo.model.Alteracoes;
 import poo.model.Nota;
+import poo.model.NotaExpandida;
+import poo.model.NotaExpandida.Expansao;
+import poo.model.NotaId;
+import poo.model.PaginaCursor;
 
 public interface NotaService {
   Nota create(Nota nota);
   List<Nota> listAll(Long alunoId, Long provaId);
+  Alteracoes<Nota, NotaId> listChangedSince(long since);
+  PaginaCursor<Nota> listPage(Long alunoId, Long provaId, String cursor, Integer limit);
+  List<NotaExpandida> listAllExpanded(Long alunoId, Long provaId, Set<Expansao> expansoes);
+  PaginaCursor<NotaExpandida> listPageExpanded(Long alunoId, Long provaId, String cursor, Integer limit, Set<Expansao> expansoes);
   Optional<Nota> findById(Long alunoId, Long provaId);
+  List<Nota> findByIds(List<NotaId> ids);
   Optional<Nota> update(Long alunoId, Long provaId, Nota nota);
   boolean delete(Long alunoId, Long provaId);
 }
@@ -1,13 +1,19 @@
 package poo.service;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import poo.model.Alteracoes;
+import poo.model.PaginaCursor;
 import poo.model.Prova;
 
 public interface ProvaService {
   Prova create(Prova prova);
   List<Prova> listAll();
+  PaginaCursor<Prova> listByDepartamentoAndPeriodo(Long departamentoId, LocalDate from, LocalDate to, String cursor, Integer limit);
+  Alteracoes<Prova, Long> listChangedSince(long since);
   Optional<Prova> findById(Long id);
+  List<Prova> findByIds(List<Long> ids);
   Optional<Prova> update(Long id, Prova prova);
   boolean delete(Long id);
 }
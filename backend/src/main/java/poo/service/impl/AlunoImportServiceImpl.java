@@ -0,0 +1,46 @@
+package poo.service.impl;
+
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import poo.dao.AlunoImportDao;
+import poo.model.importacao.AlunoImportResultado;
+import poo.service.AlunoImportService;
+import poo.service.support.EntidadeAlteradaEvent;
+import poo.service.support.EntidadeAlteradaEvent.Entidade;
+
+@Service
+public class AlunoImportServiceImpl implements AlunoImportService {
+
+  private final AlunoImportDao dao;
+  private final ApplicationEventPublisher events;
+
+  public AlunoImportServiceImpl(AlunoImportDao dao, ApplicationEventPublisher events) {
+    this.dao = dao;
+    this.events = events;
+  }
+
+  @Override
+  @Transactional
+  public AlunoImportResultado importarCsv(Reader csv) {
+    try {
+      AlunoImportResultado resultado = dao.importarCsv(csv);
+      events.publishEvent(new EntidadeAlteradaEvent(Entidade.ALUNO));
+      return resultado;
+    } catch (DataIntegrityViolationException ex) {
+      // COPY rejeita o arquivo inteiro quando o CSV está malformado (colunas a mais/menos, aspas abertas)
+      throw new ResponseStatusException(
+        HttpStatus.BAD_REQUEST,
+        "Arquivo CSV inválido. Esperado cabeçalho ra,nome,email,departamento_id,data_nascimento.",
+        ex
+      );
+    } catch (UncheckedIOException ex) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Não foi possível ler o arquivo CSV enviado.", ex);
+    }
+  }
+}
@@ -2,51 +2,120 @@ package poo.service.impl;
 
 import java.util.List;
 import java.util.Optional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import poo.config.LoteProperties;
 import poo.dao.AlunoDao;
+import poo.model.Alteracoes;
 import poo.model.Aluno;
+import poo.model.PaginaCursor;
 import poo.service.AlunoService;
 import poo.service.support.CrudServiceSupport;
 import poo.service.support.CrudServiceSupport.UpsertErrorDescriptor;
+import poo.service.support.CursorCodec;
+import poo.service.support.EntidadeAlteradaEvent;
+import poo.service.support.EntidadeAlteradaEvent.Entidade;
+import poo.service.support.SincronizacaoSupport;
 
 @Service
 public class AlunoServiceImpl implements AlunoService {
 
   private final AlunoDao dao;
   private final CrudServiceSupport support;
+  private final ApplicationEventPublisher events;
+  private final SincronizacaoSupport sincronizacao;
+  private final LoteProperties lote;
 
   private static final @NonNull UpsertErrorDescriptor ALUNO_ERRORS = CrudServiceSupport.conflictBadRequest(
     "RA ou e-mail já cadastrado.",
     "Dados inválidos para o aluno."
   );
 
-  public AlunoServiceImpl(AlunoDao dao, CrudServiceSupport support) {
+  static final int DEFAULT_SEARCH_LIMIT = 20;
+  static final int MAX_SEARCH_LIMIT = 100;
+  // Abaixo de 3 caracteres não há trigrama para o índice usar e a busca viraria varredura
+  static final int MIN_SEARCH_LENGTH = 3;
+
+  public AlunoServiceImpl(AlunoDao dao, CrudServiceSupport support, ApplicationEventPublisher events, SincronizacaoSupport sincronizacao, LoteProperties lote) {
     this.dao = dao;
     this.support = support;
+    this.events = events;
+    this.sincronizacao = sincronizacao;
+    this.lote = lote;
   }
 
   @Override
   public Aluno create(Aluno aluno) {
     try {
-      return dao.create(aluno);
+      Aluno created = dao.create(aluno);
+      publishGravado(created);
+      return created;
     } catch (DataAccessException ex) {
       throw support.translateUpsertException(ex, ALUNO_ERRORS);
     }
   }
 
   @Override
+  @Transactional(readOnly = true)
   public List<Aluno> listAll() {
     return dao.findAll();
   }
 
   @Override
+  @Transactional(readOnly = true)
+  public Alteracoes<Aluno, Long> listChangedSince(long since) {
+    return sincronizacao.alteracoes(since, dao::findUpdatedSince, sincronizacao.idsExcluidos("aluno"));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public PaginaCursor<Aluno> search(String termo, String cursor, Integer limit) {
+    String normalized = termo == null ? "" : termo.strip();
+    if (normalized.length() < MIN_SEARCH_LENGTH) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Informe ao menos " + MIN_SEARCH_LENGTH + " caracteres para a busca.");
+    }
+    int pageSize = limit == null ? DEFAULT_SEARCH_LIMIT : Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+    AlunoDao.Posicao after = decodePosicao(cursor);
+
+    // Um registro a mais diz se existe próxima página, sem COUNT(*)
+    List<AlunoDao.Encontrado> rows = dao.search(normalized, after, pageSize + 1);
+    List<Aluno> alunos = rows.stream().limit(pageSize).map(AlunoDao.Encontrado::aluno).toList();
+    if (rows.size() <= pageSize) {
+      return new PaginaCursor<>(alunos, pageSize, null);
+    }
+    AlunoDao.Encontrado last = rows.get(pageSize - 1);
+    // A distância vai pelos bits do float: volta ao banco exatamente igual ao real comparado
+    return new PaginaCursor<>(alunos, pageSize,
+      CursorCodec.encode(Float.floatToIntBits(last.distancia()), last.aluno().getId()));
+  }
+
+  private static AlunoDao.Posicao decodePosicao(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return null;
+    }
+    long[] parts = CursorCodec.decode(cursor, 2);
+    return new AlunoDao.Posicao(Float.intBitsToFloat((int) parts[0]), parts[1]);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
   public Optional<Aluno> findById(Long id) {
     return dao.findById(id);
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public List<Aluno> findByIds(List<Long> ids) {
+    List<Long> distintos = CrudServiceSupport.distinctKeys(ids, lote.maximoChaves());
+    return distintos.isEmpty() ? List.of() : dao.findByIds(distintos);
+  }
+
   @Override
   public Optional<Aluno> update(Long id, Aluno aluno) {
     Aluno toUpdate = support
@@ -62,8 +131,14 @@ public class AlunoServiceImpl implements AlunoService {
       .build();
 
     try {
-      return dao.update(toUpdate);
+      Optional<Aluno> updated = dao.update(toUpdate);
+      updated.ifPresent(this::publishGravado);
+      return updated;
     } catch (DataAccessException ex) {
+      // Notas guardam o departamento e as FKs compostas não propagam a troca (V7)
+      if (CrudServiceSupport.violatesConstraint(ex, "fk_nota_aluno")) {
+        throw new ResponseStatusException(HttpStatus.CONFLICT, "Não é possível trocar o departamento de um aluno que já tem notas lançadas.", ex);
+      }
       throw support.translateUpsertException(ex, ALUNO_ERRORS);
     }
   }
@@ -71,7 +146,11 @@ public class AlunoServiceImpl implements AlunoService {
   @Override
   public boolean delete(Long id) {
     try {
-      return dao.delete(id);
+      boolean removed = dao.delete(id);
+      if (removed) {
+        publishExcluido(id);
+      }
+      return removed;
     } catch (DataIntegrityViolationException ex) {
       throw support.translateDeleteException(
         ex,
@@ -79,4 +158,12 @@ public class AlunoServiceImpl implements AlunoService {
       );
     }
   }
+
+  private void publishGravado(Aluno aluno) {
+    events.publishEvent(EntidadeAlteradaEvent.gravado(Entidade.ALUNO, aluno.getId(), aluno));
+  }
+
+  private void publishExcluido(Long id) {
+    events.publishEvent(EntidadeAlteradaEvent.excluido(Entidade.ALUNO, id));
+  }
 }
@@ -1,25 +1,104 @@
 package poo.service.impl;
 
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import poo.config.SenhaProperties;
 import poo.dao.UsuarioDao;
 import poo.model.Usuario;
+import poo.model.UsuarioCredencial;
 import poo.service.AuthService;
 
 @Service
 public class AuthServiceImpl implements AuthService {
   private final UsuarioDao dao;
-  public AuthServiceImpl(UsuarioDao dao) { this.dao = dao; }
+  private final BCryptPasswordEncoder encoder;
+  private final ExecutorService executor;
+  private final SenhaProperties properties;
+  // Usuário inexistente também paga um bcrypt, para o tempo de resposta não revelar quais usernames existem
+  private final String hashFicticio;
+
+  public AuthServiceImpl(
+    UsuarioDao dao,
+    BCryptPasswordEncoder encoder,
+    @Qualifier("senhaExecutor") ExecutorService executor,
+    SenhaProperties properties
+  ) {
+    this.dao = dao;
+    this.encoder = encoder;
+    this.executor = executor;
+    this.properties = properties;
+    this.hashFicticio = encoder.encode("usuario-inexistente");
+  }
 
   @Override
   public Optional<Usuario> login(String username, String senhaPlana) {
-    return dao.autenticar(username, senhaPlana);
+    if (username == null || senhaPlana == null) return Optional.empty();
+    // A consulta termina (e devolve a conexão) antes do hash; o bcrypt não segura conexão do pool
+    Optional<UsuarioCredencial> credencial = dao.findCredencial(username);
+    String hash = credencial.map(UsuarioCredencial::passwordHash).orElse(hashFicticio);
+    boolean confere = executar(() -> encoder.matches(senhaPlana, hash));
+    if (!confere || credencial.isEmpty()) return Optional.empty();
+
+    Usuario usuario = credencial.get().usuario();
+    if (encoder.upgradeEncoding(hash)) {
+      rehash(usuario.getId(), hash, senhaPlana);
+    }
+    return Optional.of(usuario);
   }
 
   @Override
   public Optional<Usuario> me(Long id) {
     return dao.findById(id);
   }
+
+  // Hash antigo (ex.: gen_salt('bf') com custo 6) é refeito com o custo configurado. Se o pool estiver
+  // cheio o login segue normalmente e a troca fica para o próximo; o WHERE pelo hash atual evita
+  // sobrescrever uma troca de senha concorrente.
+  private void rehash(Long id, String hashAtual, String senhaPlana) {
+    try {
+      String novo = executar(() -> encoder.encode(senhaPlana));
+      dao.atualizarHash(id, hashAtual, novo);
+    } catch (ResponseStatusException | DataAccessException ex) {
+      // pool de senha saturado ou falha na gravação: mantém o hash atual
+    }
+  }
+
+  private <T> T executar(Callable<T> tarefa) {
+    Future<T> future;
+    try {
+      future = executor.submit(tarefa);
+    } catch (RejectedExecutionException ex) {
+      throw indisponivel(ex);
+    }
+    try {
+      return future.get(properties.esperaMaxima().toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      future.cancel(true);
+      throw indisponivel(ex);
+    } catch (TimeoutException ex) {
+      future.cancel(true);
+      throw indisponivel(ex);
+    } catch (ExecutionException ex) {
+      throw new IllegalStateException("Falha ao verificar senha", ex.getCause());
+    }
+  }
+
+  private static ResponseStatusException indisponivel(Exception cause) {
+    return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Muitas autenticações simultâneas; tente novamente em instantes.", cause);
+  }
 }
@@ -1,25 +1,137 @@
 package poo.service.impl;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import poo.config.ConsultasAvancadasProperties;
 import poo.dao.ConsultasAvancadasDao;
+import poo.dao.support.ContextoRequisicao;
+import poo.dao.support.PrazoRequisicao;
 import poo.model.consultas.ConsultasAvancadasResumo;
 import poo.service.ConsultasAvancadasService;
+import poo.service.support.CrudServiceSupport;
+import poo.service.support.EntidadeAlteradaEvent;
+import poo.service.support.StaleWhileRevalidateCache;
 
 @Service
 public class ConsultasAvancadasServiceImpl implements ConsultasAvancadasService {
 
   private final ConsultasAvancadasDao dao;
+  private final Executor consultas;
+  private final ConsultasAvancadasProperties properties;
+  private final StaleWhileRevalidateCache<ConsultasAvancadasResumo> cache;
 
-  public ConsultasAvancadasServiceImpl(ConsultasAvancadasDao dao) {
+  public ConsultasAvancadasServiceImpl(
+    ConsultasAvancadasDao dao,
+    @Qualifier("consultasExecutor") ExecutorService executor,
+    ConsultasAvancadasProperties properties,
+    MeterRegistry meterRegistry
+  ) {
     this.dao = dao;
+    // Threads do executor não herdam o prazo nem a fixação no primário (ThreadLocal); cada consulta
+    // do resumo leva o contexto de quem a disparou
+    this.consultas = tarefa -> executor.execute(ContextoRequisicao.propagar(tarefa));
+    this.properties = properties;
+    // A recarga serve a todos os leitores do cache: roda no executor sem o contexto da requisição
+    // que a disparou, com o prazo configurado para ela
+    Duration prazoRecarga = properties.cache().prazoRecarga();
+    this.cache = new StaleWhileRevalidateCache<>(
+      "poo.consultas.resumo.cache",
+      () -> PrazoRequisicao.executar(prazoRecarga, this::calcularResumo),
+      properties.cache().maxAge(),
+      properties.cache().staleWhileRevalidate(),
+      executor,
+      meterRegistry
+    );
   }
 
   @Override
   public ConsultasAvancadasResumo obterResumo() {
+    return cache.get();
+  }
+
+  // Depois do commit (ou na hora, sem transação), para a recarga não enxergar dados anteriores à escrita
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onEntidadeAlterada(EntidadeAlteradaEvent event) {
+    cache.invalidar();
+  }
+
+  private ConsultasAvancadasResumo calcularResumo() {
+    // Cada consulta roda em sua própria thread (e conexão do pool); o semáforo limita quantas
+    // conexões um único resumo pode ocupar ao mesmo tempo.
+    Semaphore conexoes = new Semaphore(properties.maxConexoes());
+    var ranking = submit(conexoes, dao::listarRankingDepartamentos);
+    var modalidades = submit(conexoes, dao::listarAlunosModalidades);
+    var cobertura = submit(conexoes, dao::listarCoberturaNotas);
+
+    // allOf só conclui depois das três; cada uma é limitada pelo próprio query timeout
+    try {
+      CompletableFuture.allOf(ranking, modalidades, cobertura).join();
+    } catch (CompletionException ex) {
+      throw translate(ex.getCause());
+    }
+
     ConsultasAvancadasResumo resumo = new ConsultasAvancadasResumo();
-    resumo.setRankingDepartamentos(dao.listarRankingDepartamentos());
-    resumo.setAlunosModalidades(dao.listarAlunosModalidades());
-    resumo.setCoberturaNotas(dao.listarCoberturaNotas());
+    resumo.setRankingDepartamentos(ranking.join());
+    resumo.setAlunosModalidades(modalidades.join());
+    resumo.setCoberturaNotas(cobertura.join());
     return resumo;
   }
+
+  @Override
+  @Transactional
+  public void reconstruirAgregados() {
+    dao.reconstruirAgregados();
+    // Só depois do commit: invalidado antes, uma recarga concorrente leria os agregados antigos e
+    // os guardaria como frescos por todo o max-age
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      cache.invalidar();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        cache.invalidar();
+      }
+    });
+  }
+
+  private <T> CompletableFuture<List<T>> submit(Semaphore conexoes, Supplier<List<T>> consulta) {
+    return CompletableFuture.supplyAsync(() -> {
+      conexoes.acquireUninterruptibly();
+      try {
+        return consulta.get();
+      } finally {
+        conexoes.release();
+      }
+    }, consultas);
+  }
+
+  private static RuntimeException translate(Throwable cause) {
+    if (CrudServiceSupport.isQueryTimeout(cause)) {
+      return new ResponseStatusException(
+        HttpStatus.GATEWAY_TIMEOUT,
+        "As consultas avançadas excederam o tempo limite.",
+        cause
+      );
+    }
+    if (cause instanceof RuntimeException runtime) {
+      return runtime;
+    }
+    return new IllegalStateException(cause);
+  }
 }
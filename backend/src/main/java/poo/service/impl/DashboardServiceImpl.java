@@ -0,0 +1,45 @@
+package poo.service.impl;
+
+import java.util.Map;
+import org.springframework.stereotype.Service;
+import poo.config.DashboardProperties;
+import poo.dao.DashboardDao;
+import poo.model.dashboard.Contagem;
+import poo.model.dashboard.DashboardResumo;
+import poo.service.DashboardService;
+
+@Service
+public class DashboardServiceImpl implements DashboardService {
+
+  private final DashboardDao dao;
+  private final DashboardProperties properties;
+
+  public DashboardServiceImpl(DashboardDao dao, DashboardProperties properties) {
+    this.dao = dao;
+    this.properties = properties;
+  }
+
+  @Override
+  public DashboardResumo obterResumo(boolean aproximado) {
+    Map<String, Long> estimativas = aproximado ? dao.estimarLinhas() : Map.of();
+    return new DashboardResumo(
+      contar("departamento", estimativas),
+      contar("aluno", estimativas),
+      contar("prova", estimativas),
+      // Notas, a maior tabela, saem dos agregados de V6: exatas e O(departamentos) nos dois modos
+      dao.resumoNotas(),
+      // Painéis também pelos agregados e índices de V12, nunca pelas listas completas
+      dao.desempenhoDepartamentos(),
+      dao.melhoresAlunos(properties.alunosDestaque()),
+      dao.proximaProva().orElse(null)
+    );
+  }
+
+  private Contagem contar(String tabela, Map<String, Long> estimativas) {
+    Long estimativa = estimativas.get(tabela);
+    if (estimativa != null && estimativa >= properties.limiteExato()) {
+      return new Contagem(estimativa, true);
+    }
+    return new Contagem(dao.contarLinhas(tabela), false);
+  }
+}
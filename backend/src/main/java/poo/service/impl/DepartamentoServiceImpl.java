@@ -2,47 +2,67 @@ package poo.service.impl;
 
 import java.util.List;
 import java.util.Optional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import poo.dao.DepartamentoDao;
+import poo.model.Alteracoes;
 import poo.model.Departamento;
 import poo.service.DepartamentoService;
 import poo.service.support.CrudServiceSupport;
 import poo.service.support.CrudServiceSupport.UpsertErrorDescriptor;
+import poo.service.support.EntidadeAlteradaEvent;
+import poo.service.support.EntidadeAlteradaEvent.Entidade;
+import poo.service.support.SincronizacaoSupport;
 
 @Service
 public class DepartamentoServiceImpl implements DepartamentoService {
 
   private final DepartamentoDao dao;
   private final CrudServiceSupport support;
+  private final ApplicationEventPublisher events;
+  private final SincronizacaoSupport sincronizacao;
 
   private static final @NonNull UpsertErrorDescriptor DEPARTAMENTO_ERRORS = CrudServiceSupport.conflictBadRequest(
     "Departamento com este nome já cadastrado.",
     "Dados inválidos para o departamento."
   );
 
-  public DepartamentoServiceImpl(DepartamentoDao dao, CrudServiceSupport support) {
+  public DepartamentoServiceImpl(DepartamentoDao dao, CrudServiceSupport support, ApplicationEventPublisher events, SincronizacaoSupport sincronizacao) {
     this.dao = dao;
     this.support = support;
+    this.events = events;
+    this.sincronizacao = sincronizacao;
   }
 
   @Override
   public Departamento create(Departamento departamento) {
     try {
-      return dao.create(departamento);
+      Departamento created = dao.create(departamento);
+      publishGravado(created);
+      return created;
     } catch (DataAccessException ex) {
       throw support.translateUpsertException(ex, DEPARTAMENTO_ERRORS);
     }
   }
 
   @Override
+  @Transactional(readOnly = true)
   public List<Departamento> listAll() {
     return dao.findAll();
   }
 
   @Override
+  @Transactional(readOnly = true)
+  public Alteracoes<Departamento, Long> listChangedSince(long since) {
+    return sincronizacao.alteracoes(since, dao::findUpdatedSince, sincronizacao.idsExcluidos("departamento"));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
   public Optional<Departamento> findById(Long id) {
     return dao.findById(id);
   }
@@ -59,7 +79,9 @@ public class DepartamentoServiceImpl implements DepartamentoService {
       .build();
 
     try {
-      return dao.update(toUpdate);
+      Optional<Departamento> updated = dao.update(toUpdate);
+      updated.ifPresent(this::publishGravado);
+      return updated;
     } catch (DataAccessException ex) {
       throw support.translateUpsertException(ex, DEPARTAMENTO_ERRORS);
     }
@@ -68,7 +90,11 @@ public class DepartamentoServiceImpl implements DepartamentoService {
   @Override
   public boolean delete(Long id) {
     try {
-      return dao.delete(id);
+      boolean removed = dao.delete(id);
+      if (removed) {
+        publishExcluido(id);
+      }
+      return removed;
     } catch (DataIntegrityViolationException ex) {
       throw support.translateDeleteException(
         ex,
@@ -76,4 +102,12 @@ public class DepartamentoServiceImpl implements DepartamentoService {
       );
     }
   }
+
+  private void publishGravado(Departamento departamento) {
+    events.publishEvent(EntidadeAlteradaEvent.gravado(Entidade.DEPARTAMENTO, departamento.getId(), departamento));
+  }
+
+  private void publishExcluido(Long id) {
+    events.publishEvent(EntidadeAlteradaEvent.excluido(Entidade.DEPARTAMENTO, id));
+  }
 }
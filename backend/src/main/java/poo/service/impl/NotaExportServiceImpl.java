@@ -0,0 +1,139 @@
+package poo.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import poo.dao.NotaDao;
+import poo.model.Nota;
+import poo.service.FormatoExportacao;
+import poo.service.NotaExportService;
+
+@Service
+public class NotaExportServiceImpl implements NotaExportService {
+
+  private static final String CSV_HEADER = "aluno_id,prova_id,departamento_id,valor,observacao,created_at,updated_at\n";
+  // Descarrega a saída periodicamente para o cliente receber dados antes do fim da consulta
+  private static final int FLUSH_EVERY_ROWS = 1000;
+
+  private final NotaDao dao;
+  private final ObjectMapper objectMapper;
+  private final TransactionTemplate readOnlyTx;
+
+  public NotaExportServiceImpl(NotaDao dao, ObjectMapper objectMapper, PlatformTransactionManager txManager) {
+    this.dao = dao;
+    this.objectMapper = objectMapper;
+    // A transação desliga o autocommit, condição para o pgjdbc abrir um cursor no servidor
+    this.readOnlyTx = new TransactionTemplate(txManager);
+    this.readOnlyTx.setReadOnly(true);
+  }
+
+  @Override
+  public void exportar(Long alunoId, Long provaId, FormatoExportacao formato, OutputStream out) throws IOException {
+    RowWriter writer = formato == FormatoExportacao.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+    try {
+      readOnlyTx.executeWithoutResult(status -> {
+        long[] count = { 0 };
+        dao.streamAll(alunoId, provaId, nota -> {
+          try {
+            writer.write(nota);
+            if (++count[0] % FLUSH_EVERY_ROWS == 1) {
+              writer.flush();
+            }
+          } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+          }
+        });
+      });
+      writer.finish();
+    } catch (UncheckedIOException ex) {
+      throw ex.getCause();
+    }
+  }
+
+  private interface RowWriter {
+    void write(Nota nota) throws IOException;
+    void flush() throws IOException;
+    void finish() throws IOException;
+  }
+
+  private final class NdjsonRowWriter implements RowWriter {
+    private final JsonGenerator generator;
+
+    private NdjsonRowWriter(OutputStream out) throws IOException {
+      this.generator = objectMapper.getFactory().createGenerator(out);
+      this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      this.generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(Nota nota) throws IOException {
+      generator.writeObject(nota);
+      generator.writeRaw('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+      generator.flush();
+    }
+
+    @Override
+    public void finish() throws IOException {
+      generator.close();
+    }
+  }
+
+  private static final class CsvRowWriter implements RowWriter {
+    private final Writer out;
+
+    private CsvRowWriter(OutputStream out) throws IOException {
+      this.out = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+      this.out.write(CSV_HEADER);
+    }
+
+    @Override
+    public void write(Nota nota) throws IOException {
+      out.write(String.valueOf(nota.getAlunoId()));
+      out.write(',');
+      out.write(String.valueOf(nota.getProvaId()));
+      out.write(',');
+      out.write(String.valueOf(nota.getDepartamentoId()));
+      out.write(',');
+      out.write(nota.getValor() != null ? nota.getValor().toPlainString() : "");
+      out.write(',');
+      out.write(escape(nota.getObservacao()));
+      out.write(',');
+      out.write(nota.getCreatedAt() != null ? nota.getCreatedAt().toString() : "");
+      out.write(',');
+      out.write(nota.getUpdatedAt() != null ? nota.getUpdatedAt().toString() : "");
+      out.write('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+      out.flush();
+    }
+
+    @Override
+    public void finish() throws IOException {
+      out.flush();
+    }
+
+    private static String escape(String value) {
+      if (value == null) {
+        return "";
+      }
+      if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+        return value;
+      }
+      return '"' + value.replace("\"", "\"\"") + '"';
+    }
+  }
+}
@@ -2,50 +2,108 @@ package poo.service.impl;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import poo.config.LoteProperties;
 import poo.dao.NotaDao;
+import poo.model.Alteracoes;
 import poo.model.Nota;
+import poo.model.NotaExpandida;
+import poo.model.NotaExpandida.Expansao;
+import poo.model.NotaId;
+import poo.model.PaginaCursor;
 import poo.service.NotaService;
 import poo.service.support.CrudServiceSupport;
 import poo.service.support.CrudServiceSupport.UpsertErrorDescriptor;
+import poo.service.support.CursorCodec;
+import poo.service.support.EntidadeAlteradaEvent;
+import poo.service.support.EntidadeAlteradaEvent.Entidade;
+import poo.service.support.SincronizacaoSupport;
 
 @Service
 public class NotaServiceImpl implements NotaService {
 
   private final NotaDao dao;
   private final CrudServiceSupport support;
+  private final ApplicationEventPublisher events;
+  private final SincronizacaoSupport sincronizacao;
+  private final LoteProperties lote;
 
   private static final @NonNull UpsertErrorDescriptor NOTA_ERRORS = CrudServiceSupport.conflictBadRequest(
     "Nota para esta combinação de aluno e prova já cadastrada.",
     "Dados inválidos para a nota. Verifique aluno, prova e valor informado."
   );
 
-  public NotaServiceImpl(NotaDao dao, CrudServiceSupport support) {
+  static final int DEFAULT_PAGE_LIMIT = 50;
+  static final int MAX_PAGE_LIMIT = 500;
+
+  public NotaServiceImpl(NotaDao dao, CrudServiceSupport support, ApplicationEventPublisher events, SincronizacaoSupport sincronizacao, LoteProperties lote) {
     this.dao = dao;
     this.support = support;
+    this.events = events;
+    this.sincronizacao = sincronizacao;
+    this.lote = lote;
   }
 
   @Override
   public Nota create(Nota nota) {
     try {
-      return dao.create(nota);
+      Nota created = dao.create(nota);
+      publishAlteracao();
+      return created;
     } catch (DataAccessException ex) {
       throw support.translateUpsertException(ex, NOTA_ERRORS);
     }
   }
 
   @Override
+  @Transactional(readOnly = true)
   public List<Nota> listAll(Long alunoId, Long provaId) {
     return dao.findAll(alunoId, provaId);
   }
 
   @Override
+  @Transactional(readOnly = true)
+  public Alteracoes<Nota, NotaId> listChangedSince(long since) {
+    return sincronizacao.alteracoes(since, dao::findUpdatedSince, sincronizacao.notasExcluidas());
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public PaginaCursor<Nota> listPage(Long alunoId, Long provaId, String cursor, Integer limit) {
+    return page(cursor, limit, (after, size) -> dao.findPage(alunoId, provaId, after, size));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<NotaExpandida> listAllExpanded(Long alunoId, Long provaId, Set<Expansao> expansoes) {
+    return dao.findAllExpanded(alunoId, provaId, expansoes);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public PaginaCursor<NotaExpandida> listPageExpanded(Long alunoId, Long provaId, String cursor, Integer limit, Set<Expansao> expansoes) {
+    return page(cursor, limit, (after, size) -> dao.findPageExpanded(alunoId, provaId, after, size, expansoes));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
   public Optional<Nota> findById(Long alunoId, Long provaId) {
     return dao.findById(alunoId, provaId);
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public List<Nota> findByIds(List<NotaId> ids) {
+    List<NotaId> distintos = CrudServiceSupport.distinctKeys(ids, lote.maximoChaves());
+    return distintos.isEmpty() ? List.of() : dao.findByIds(distintos);
+  }
+
   @Override
   public Optional<Nota> update(Long alunoId, Long provaId, Nota nota) {
     Nota toUpdate = support
@@ -59,7 +117,9 @@ public class NotaServiceImpl implements NotaService {
       .build();
 
     try {
-      return dao.update(toUpdate);
+      Optional<Nota> updated = dao.update(toUpdate);
+      updated.ifPresent(value -> publishAlteracao());
+      return updated;
     } catch (DataAccessException ex) {
       throw support.translateUpsertException(ex, NOTA_ERRORS);
     }
@@ -67,6 +127,36 @@ public class NotaServiceImpl implements NotaService {
 
   @Override
   public boolean delete(Long alunoId, Long provaId) {
-    return dao.delete(alunoId, provaId);
+    boolean removed = dao.delete(alunoId, provaId);
+    if (removed) {
+      publishAlteracao();
+    }
+    return removed;
+  }
+
+  private static <T extends Nota> PaginaCursor<T> page(String cursor, Integer limit, BiFunction<NotaId, Integer, List<T>> finder) {
+    int pageSize = limit == null ? DEFAULT_PAGE_LIMIT : Math.max(1, Math.min(limit, MAX_PAGE_LIMIT));
+    NotaId after = decodeCursor(cursor);
+
+    // Busca um registro a mais para saber se existe próxima página sem precisar de COUNT(*)
+    List<T> rows = finder.apply(after, pageSize + 1);
+    if (rows.size() <= pageSize) {
+      return new PaginaCursor<>(rows, pageSize, null);
+    }
+    List<T> page = rows.subList(0, pageSize);
+    T last = page.get(pageSize - 1);
+    return new PaginaCursor<>(page, pageSize, CursorCodec.encode(last.getProvaId(), last.getAlunoId()));
+  }
+
+  private static NotaId decodeCursor(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return null;
+    }
+    long[] key = CursorCodec.decode(cursor, 2);
+    return new NotaId(key[1], key[0]);
+  }
+
+  private void publishAlteracao() {
+    events.publishEvent(new EntidadeAlteradaEvent(Entidade.NOTA));
   }
 }
@@ -1,52 +1,117 @@
 package poo.service.impl;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import poo.config.LoteProperties;
 import poo.dao.ProvaDao;
+import poo.model.Alteracoes;
+import poo.model.PaginaCursor;
 import poo.model.Prova;
 import poo.service.ProvaService;
 import poo.service.support.CrudServiceSupport;
 import poo.service.support.CrudServiceSupport.UpsertErrorDescriptor;
+import poo.service.support.CursorCodec;
+import poo.service.support.EntidadeAlteradaEvent;
+import poo.service.support.EntidadeAlteradaEvent.Entidade;
+import poo.service.support.SincronizacaoSupport;
 
 @Service
 public class ProvaServiceImpl implements ProvaService {
 
   private final ProvaDao dao;
   private final CrudServiceSupport support;
+  private final ApplicationEventPublisher events;
+  private final SincronizacaoSupport sincronizacao;
+  private final LoteProperties lote;
 
   private static final @NonNull UpsertErrorDescriptor PROVA_ERRORS = CrudServiceSupport.conflictBadRequest(
     "Já existe uma prova com este título na mesma data para o departamento.",
     "Dados inválidos para a prova."
   );
 
-  public ProvaServiceImpl(ProvaDao dao, CrudServiceSupport support) {
+  static final int DEFAULT_PERIODO_LIMIT = 200;
+  static final int MAX_PERIODO_LIMIT = 1000;
+
+  public ProvaServiceImpl(ProvaDao dao, CrudServiceSupport support, ApplicationEventPublisher events, SincronizacaoSupport sincronizacao, LoteProperties lote) {
     this.dao = dao;
     this.support = support;
+    this.events = events;
+    this.sincronizacao = sincronizacao;
+    this.lote = lote;
   }
 
   @Override
   public Prova create(Prova prova) {
     try {
-      return dao.create(prova);
+      Prova created = dao.create(prova);
+      publishGravado(created);
+      return created;
     } catch (DataAccessException ex) {
       throw support.translateUpsertException(ex, PROVA_ERRORS);
     }
   }
 
   @Override
+  @Transactional(readOnly = true)
   public List<Prova> listAll() {
     return dao.findAll();
   }
 
   @Override
+  @Transactional(readOnly = true)
+  public PaginaCursor<Prova> listByDepartamentoAndPeriodo(Long departamentoId, LocalDate from, LocalDate to, String cursor, Integer limit) {
+    if (from != null && to != null && !from.isBefore(to)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O início do período deve ser anterior ao fim.");
+    }
+    int size = limit == null ? DEFAULT_PERIODO_LIMIT : Math.max(1, Math.min(limit, MAX_PERIODO_LIMIT));
+    ProvaDao.Posicao after = decodePosicao(cursor);
+
+    // Um registro a mais diz se existe próxima página, sem COUNT(*)
+    List<Prova> rows = dao.findByDepartamentoAndPeriodo(departamentoId, from, to, after, size + 1);
+    if (rows.size() <= size) {
+      return new PaginaCursor<>(rows, size, null);
+    }
+    List<Prova> page = rows.subList(0, size);
+    Prova last = page.get(size - 1);
+    return new PaginaCursor<>(page, size, CursorCodec.encodeComTexto(last.getTitulo(), last.getData().toEpochDay(), last.getId()));
+  }
+
+  private static ProvaDao.Posicao decodePosicao(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return null;
+    }
+    CursorCodec.ChaveComTexto chave = CursorCodec.decodeComTexto(cursor, 2);
+    return new ProvaDao.Posicao(LocalDate.ofEpochDay(chave.parts()[0]), chave.texto(), chave.parts()[1]);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Alteracoes<Prova, Long> listChangedSince(long since) {
+    return sincronizacao.alteracoes(since, dao::findUpdatedSince, sincronizacao.idsExcluidos("prova"));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
   public Optional<Prova> findById(Long id) {
     return dao.findById(id);
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public List<Prova> findByIds(List<Long> ids) {
+    List<Long> distintos = CrudServiceSupport.distinctKeys(ids, lote.maximoChaves());
+    return distintos.isEmpty() ? List.of() : dao.findByIds(distintos);
+  }
+
   @Override
   public Optional<Prova> update(Long id, Prova prova) {
     Prova toUpdate = support
@@ -61,8 +126,14 @@ public class ProvaServiceImpl implements ProvaService {
       .build();
 
     try {
-      return dao.update(toUpdate);
+      Optional<Prova> updated = dao.update(toUpdate);
+      updated.ifPresent(this::publishGravado);
+      return updated;
     } catch (DataAccessException ex) {
+      // Notas guardam o departamento e as FKs compostas não propagam a troca (V7)
+      if (CrudServiceSupport.violatesConstraint(ex, "fk_nota_prova")) {
+        throw new ResponseStatusException(HttpStatus.CONFLICT, "Não é possível trocar o departamento de uma prova que já tem notas lançadas.", ex);
+      }
       throw support.translateUpsertException(ex, PROVA_ERRORS);
     }
   }
@@ -70,7 +141,11 @@ public class ProvaServiceImpl implements ProvaService {
   @Override
   public boolean delete(Long id) {
     try {
-      return dao.delete(id);
+      boolean removed = dao.delete(id);
+      if (removed) {
+        publishExcluido(id);
+      }
+      return removed;
     } catch (DataIntegrityViolationException ex) {
       throw support.translateDeleteException(
         ex,
@@ -78,4 +153,12 @@ public class ProvaServiceImpl implements ProvaService {
       );
     }
   }
+
+  private void publishGravado(Prova prova) {
+    events.publishEvent(EntidadeAlteradaEvent.gravado(Entidade.PROVA, prova.getId(), prova));
+  }
+
+  private void publishExcluido(Long id) {
+    events.publishEvent(EntidadeAlteradaEvent.excluido(Entidade.PROVA, id));
+  }
 }
@@ -1,14 +1,18 @@
 package poo.service.support;
 
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
+import org.postgresql.util.PSQLException;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
@@ -43,6 +47,43 @@ public class CrudServiceSupport {
     return new ResponseStatusException(HttpStatus.CONFLICT, message, ex);
   }
 
+  /**
+   * Reconhece consultas canceladas por timeout. O pgjdbc sinaliza o cancelamento com SQLState 57014,
+   * que o Spring traduz como falha genérica de recurso em vez de {@link QueryTimeoutException}.
+   */
+  public static boolean isQueryTimeout(Throwable ex) {
+    for (Throwable current = ex; current != null; current = current.getCause()) {
+      if (current instanceof QueryTimeoutException) {
+        return true;
+      }
+      if (current instanceof SQLException sql && "57014".equals(sql.getSQLState())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Reconhece a violação de uma constraint pelo nome informado pelo Postgres. */
+  public static boolean violatesConstraint(Throwable ex, @NonNull String constraint) {
+    for (Throwable current = ex; current != null; current = current.getCause()) {
+      if (current instanceof PSQLException psql
+        && psql.getServerErrorMessage() != null
+        && constraint.equals(psql.getServerErrorMessage().getConstraint())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Chaves distintas de uma busca em lote; mais de {@code maximo} é recusado com 400. */
+  public static <K> @NonNull List<K> distinctKeys(@NonNull Collection<K> chaves, int maximo) {
+    List<K> distintas = chaves.stream().filter(Objects::nonNull).distinct().toList();
+    if (distintas.size() > maximo) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Informe no máximo " + maximo + " chaves por consulta.");
+    }
+    return distintas;
+  }
+
   public static @NonNull UpsertErrorDescriptor conflictBadRequest(@NonNull String duplicateMessage, @NonNull String integrityMessage) {
     return new UpsertErrorDescriptor(HttpStatus.CONFLICT, duplicateMessage, HttpStatus.BAD_REQUEST, integrityMessage);
   }
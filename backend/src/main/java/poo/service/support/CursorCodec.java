@@ -0,0 +1,87 @@
+package poo.service.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Codifica a posição de uma página keyset como token opaco (base64url), para que o cliente
+ * apenas repasse o {@code nextCursor} recebido sem depender do formato da chave.
+ */
+public final class CursorCodec {
+
+  private static final String SEPARATOR = ":";
+
+  private CursorCodec() {}
+
+  public static @NonNull String encode(long... parts) {
+    return Objects.requireNonNull(
+      Base64.getUrlEncoder().withoutPadding().encodeToString(encodeRaw(parts).getBytes(StandardCharsets.UTF_8))
+    );
+  }
+
+  /**
+   * Chave que termina num texto (o título de uma prova, por exemplo): os números vêm antes e o
+   * texto fica por último, inteiro, mesmo que contenha o separador.
+   */
+  public static @NonNull String encodeComTexto(@NonNull String texto, long... parts) {
+    String raw = parts.length == 0 ? texto : encodeRaw(parts) + SEPARATOR + texto;
+    return Objects.requireNonNull(
+      Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8))
+    );
+  }
+
+  public static @NonNull ChaveComTexto decodeComTexto(@NonNull String cursor, int numericParts) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] pieces = raw.split(SEPARATOR, numericParts + 1);
+      if (pieces.length != numericParts + 1) {
+        throw invalid(null);
+      }
+      long[] parts = new long[numericParts];
+      for (int i = 0; i < numericParts; i++) {
+        parts[i] = Long.parseLong(pieces[i]);
+      }
+      return new ChaveComTexto(parts, pieces[numericParts]);
+    } catch (IllegalArgumentException ex) {
+      throw invalid(ex);
+    }
+  }
+
+  public record ChaveComTexto(long[] parts, String texto) {}
+
+  public static long[] decode(@NonNull String cursor, int expectedParts) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] pieces = raw.split(SEPARATOR, -1);
+      if (pieces.length != expectedParts) {
+        throw invalid(null);
+      }
+      long[] parts = new long[expectedParts];
+      for (int i = 0; i < expectedParts; i++) {
+        parts[i] = Long.parseLong(pieces[i]);
+      }
+      return parts;
+    } catch (IllegalArgumentException ex) {
+      throw invalid(ex);
+    }
+  }
+
+  private static String encodeRaw(long[] parts) {
+    StringBuilder raw = new StringBuilder();
+    for (int i = 0; i < parts.length; i++) {
+      if (i > 0) {
+        raw.append(SEPARATOR);
+      }
+      raw.append(parts[i]);
+    }
+    return raw.toString();
+  }
+
+  private static ResponseStatusException invalid(Throwable cause) {
+    return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor de paginação inválido.", cause);
+  }
+}
@@ -0,0 +1,31 @@
+package poo.service.support;
+
+/**
+ * Publicado pelos services após cada escrita bem-sucedida, para que caches e índices derivados
+ * saibam que os dados da entidade mudaram.
+ *
+ * @param id chave da linha escrita, ou {@code null} quando a escrita não é de uma única linha
+ *   identificada por id (importação em lote, notas)
+ * @param atual a linha como ficou após criação ou alteração; {@code null} em exclusões
+ */
+public record EntidadeAlteradaEvent(Entidade entidade, Long id, Object atual) {
+
+  public EntidadeAlteradaEvent(Entidade entidade) {
+    this(entidade, null, null);
+  }
+
+  public static EntidadeAlteradaEvent gravado(Entidade entidade, Long id, Object atual) {
+    return new EntidadeAlteradaEvent(entidade, id, atual);
+  }
+
+  public static EntidadeAlteradaEvent excluido(Entidade entidade, Long id) {
+    return new EntidadeAlteradaEvent(entidade, id, null);
+  }
+
+  public enum Entidade {
+    DEPARTAMENTO,
+    ALUNO,
+    PROVA,
+    NOTA
+  }
+}
@@ -0,0 +1,295 @@
+package poo.service.support;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import poo.config.AutocompletarProperties;
+import poo.dao.AlunoDao;
+import poo.dao.DepartamentoDao;
+import poo.dao.ProvaDao;
+import poo.model.Alteracoes;
+import poo.model.Aluno;
+import poo.model.Departamento;
+import poo.model.Prova;
+import poo.model.Sugestao;
+import poo.service.support.EntidadeAlteradaEvent.Entidade;
+
+/**
+ * Autocompletar de alunos (nome, RA), provas (título) e departamentos (nome, sigla) servido da
+ * memória, sem consultar o banco.
+ *
+ * <p>Cada entidade tem um mapa ordenado de termos normalizados (minúsculos, sem acento) para a
+ * sugestão; um prefixo vira um {@code subMap} e as primeiras N sugestões distintas saem em
+ * O(log n + N). Além do texto inteiro, cada palavra a partir da segunda também é indexada, para
+ * "silva" encontrar "Maria da Silva".
+ *
+ * <p>A carga inicial e as escritas de outras instâncias chegam pela sincronização incremental
+ * ({@link SincronizacaoSupport}) a cada {@code poo.autocompletar.sincronizacao}; as escritas desta
+ * instância são aplicadas no lugar assim que confirmadas, pelo {@link EntidadeAlteradaEvent}.
+ */
+@Component
+public class IndiceAutocompletar {
+
+  public static final String METRICA = "poo.autocompletar.termos";
+
+  private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+  private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+  private final Map<Entidade, Fonte<?>> fontes = new EnumMap<>(Entidade.class);
+  private final SincronizacaoSupport sincronizacao;
+  private final AutocompletarProperties properties;
+  private final TransactionTemplate readOnlyTx;
+
+  public IndiceAutocompletar(
+    AlunoDao alunos,
+    ProvaDao provas,
+    DepartamentoDao departamentos,
+    SincronizacaoSupport sincronizacao,
+    AutocompletarProperties properties,
+    PlatformTransactionManager txManager,
+    MeterRegistry meterRegistry
+  ) {
+    this.sincronizacao = sincronizacao;
+    this.properties = properties;
+    this.readOnlyTx = new TransactionTemplate(txManager);
+    this.readOnlyTx.setReadOnly(true);
+
+    fontes.put(Entidade.ALUNO, new Fonte<>(Aluno.class, "aluno", alunos::findAll, alunos::findUpdatedSince,
+      a -> new Sugestao(a.getId(), a.getNome(), a.getRa()),
+      a -> Arrays.asList(a.getNome(), a.getRa())));
+    fontes.put(Entidade.PROVA, new Fonte<>(Prova.class, "prova", provas::findAll, provas::findUpdatedSince,
+      p -> new Sugestao(p.getId(), p.getTitulo(), p.getData() != null ? p.getData().toString() : null),
+      p -> Arrays.asList(p.getTitulo())));
+    fontes.put(Entidade.DEPARTAMENTO, new Fonte<>(Departamento.class, "departamento", departamentos::findAll, departamentos::findUpdatedSince,
+      d -> new Sugestao(d.getId(), d.getNome(), d.getSigla()),
+      d -> Arrays.asList(d.getNome(), d.getSigla())));
+
+    fontes.forEach((entidade, fonte) -> Gauge.builder(METRICA, fonte, Fonte::tamanho)
+      .description("Termos no índice do autocompletar")
+      .tag("entidade", fonte.tabela)
+      .register(meterRegistry));
+  }
+
+  /** Até {@code limit} sugestões cujo texto (ou uma de suas palavras) começa com {@code termo}. */
+  public @NonNull List<Sugestao> sugerir(@NonNull Entidade entidade, String termo, Integer limit) {
+    Fonte<?> fonte = fontes.get(entidade);
+    if (fonte == null) {
+      throw new IllegalArgumentException("Entidade sem autocompletar: " + entidade);
+    }
+    int limite = limit == null ? properties.limitePadrao() : Math.max(1, Math.min(limit, properties.limiteMaximo()));
+    Indice indice = fonte.indice;
+    if (indice == null) {
+      indice = carregarParaConsulta(fonte);
+    }
+    return indice.buscar(normalizar(termo), limite);
+  }
+
+  /** Agendado em {@code AutocompletarConfig}: carga inicial e, depois, só o que mudou no banco. */
+  public void sincronizar() {
+    fontes.values().forEach(this::sincronizar);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onEntidadeAlterada(EntidadeAlteradaEvent event) {
+    Fonte<?> fonte = fontes.get(event.entidade());
+    if (fonte == null || fonte.indice == null) {
+      // Ainda não carregado: a carga completa já vai trazer esta escrita
+      return;
+    }
+    if (event.id() == null) {
+      // Escrita em lote (importação): busca o que mudou em vez de recarregar tudo. Uma falha aqui
+      // não pode desfazer a resposta da escrita já confirmada; a próxima sincronização cobre.
+      try {
+        sincronizar(fonte);
+      } catch (DataAccessException | TransactionException ex) {
+        // mantém o índice atual até a próxima sincronização
+      }
+      return;
+    }
+    fonte.aplicar(event.id(), event.atual());
+  }
+
+  private Indice carregarParaConsulta(Fonte<?> fonte) {
+    try {
+      synchronized (fonte) {
+        Indice atual = fonte.indice;
+        return atual != null ? atual : carregar(fonte);
+      }
+    } catch (DataAccessException | TransactionException ex) {
+      throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Índice de sugestões ainda não foi carregado.", ex);
+    }
+  }
+
+  private <T> Indice carregar(Fonte<T> fonte) {
+    synchronized (fonte) {
+      // Cursor lido antes da carga: escritas concorrentes com ela voltam na próxima sincronização
+      SincronizacaoSupport.Carga<List<T>> tudo = sincronizacao.carregarTudo(fonte.todos);
+      Indice novo = new Indice();
+      tudo.dados().forEach(linha -> fonte.registrar(novo, linha));
+      fonte.sincronizadoAte = tudo.sincronizadoAte();
+      fonte.indice = novo;
+      return novo;
+    }
+  }
+
+  private <T> void sincronizar(Fonte<T> fonte) {
+    synchronized (fonte) {
+      Indice indice = fonte.indice;
+      if (indice == null) {
+        carregar(fonte);
+        return;
+      }
+      Alteracoes<T, Long> alteracoes;
+      try {
+        alteracoes = Objects.requireNonNull(readOnlyTx.execute(status -> sincronizacao.alteracoes(
+          fonte.sincronizadoAte, fonte.alterados, sincronizacao.idsExcluidos(fonte.tabela)
+        )));
+      } catch (ResponseStatusException ex) {
+        // Exclusões anteriores ao cursor já foram descartadas (410): só a carga completa é confiável
+        carregar(fonte);
+        return;
+      }
+      alteracoes.excluidos().forEach(indice::remover);
+      alteracoes.alterados().forEach(linha -> fonte.registrar(indice, linha));
+      fonte.sincronizadoAte = alteracoes.sincronizadoAte();
+    }
+  }
+
+  static @NonNull String normalizar(String texto) {
+    if (texto == null) {
+      return "";
+    }
+    String semAcento = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+    return ESPACOS.matcher(semAcento.toLowerCase(Locale.ROOT).strip()).replaceAll(" ");
+  }
+
+  /** Como indexar uma entidade e de onde vêm suas linhas. */
+  private static final class Fonte<T> {
+    private final Class<T> tipo;
+    private final String tabela;
+    private final Supplier<List<T>> todos;
+    private final LongFunction<List<T>> alterados;
+    private final Function<T, Sugestao> sugestao;
+    private final Function<T, List<String>> textos;
+    private volatile Indice indice;
+    private volatile long sincronizadoAte;
+
+    Fonte(
+      Class<T> tipo,
+      String tabela,
+      Supplier<List<T>> todos,
+      LongFunction<List<T>> alterados,
+      Function<T, Sugestao> sugestao,
+      Function<T, List<String>> textos
+    ) {
+      this.tipo = tipo;
+      this.tabela = tabela;
+      this.todos = todos;
+      this.alterados = alterados;
+      this.sugestao = sugestao;
+      this.textos = textos;
+    }
+
+    void registrar(Indice destino, T linha) {
+      destino.registrar(sugestao.apply(linha), textos.apply(linha));
+    }
+
+    void aplicar(Long id, Object atual) {
+      Indice destino = indice;
+      if (destino == null) {
+        return;
+      }
+      if (atual == null) {
+        destino.remover(id);
+      } else {
+        registrar(destino, tipo.cast(atual));
+      }
+    }
+
+    int tamanho() {
+      Indice atual = indice;
+      return atual == null ? 0 : atual.tamanho();
+    }
+  }
+
+  /**
+   * Termos normalizados de uma entidade. Buscas leem o mapa concorrente sem trava; escritas são
+   * serializadas para manter {@code chavesPorId} coerente com ele.
+   */
+  static final class Indice {
+    // Separa o termo do id na chave: termos iguais de linhas diferentes não colidem, e '\0' ordena
+    // antes de qualquer caractere, então "ana" vem antes de "ana maria"
+    private static final char SEPARADOR = '\0';
+
+    private final ConcurrentSkipListMap<String, Sugestao> termos = new ConcurrentSkipListMap<>();
+    private final Map<Long, List<String>> chavesPorId = new HashMap<>();
+
+    synchronized void registrar(Sugestao sugestao, List<String> textos) {
+      remover(sugestao.id());
+      List<String> chaves = new ArrayList<>();
+      for (String texto : textos) {
+        String normalizado = normalizar(texto);
+        if (normalizado.isEmpty()) {
+          continue;
+        }
+        // O texto inteiro e cada sufixo que começa numa palavra
+        for (int inicio = 0; inicio >= 0; inicio = proximaPalavra(normalizado, inicio)) {
+          String chave = normalizado.substring(inicio) + SEPARADOR + sugestao.id();
+          termos.put(chave, sugestao);
+          chaves.add(chave);
+        }
+      }
+      chavesPorId.put(sugestao.id(), chaves);
+    }
+
+    synchronized void remover(Long id) {
+      List<String> chaves = chavesPorId.remove(id);
+      if (chaves != null) {
+        chaves.forEach(termos::remove);
+      }
+    }
+
+    List<Sugestao> buscar(String prefixo, int limite) {
+      Map<Long, Sugestao> encontradas = new LinkedHashMap<>();
+      for (Sugestao sugestao : termos.subMap(prefixo, prefixo + Character.MAX_VALUE).values()) {
+        encontradas.putIfAbsent(sugestao.id(), sugestao);
+        if (encontradas.size() >= limite) {
+          break;
+        }
+      }
+      return List.copyOf(encontradas.values());
+    }
+
+    int tamanho() {
+      return termos.size();
+    }
+
+    private static int proximaPalavra(String texto, int inicio) {
+      int espaco = texto.indexOf(' ', inicio);
+      return espaco < 0 ? -1 : espaco + 1;
+    }
+  }
+}
@@ -0,0 +1,137 @@
+package poo.service.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import poo.config.LoginLimiteProperties;
+import poo.config.LoginLimiteProperties.Balde;
+
+/**
+ * Token bucket por username e por IP para {@code /api/auth/login}, consultado antes de qualquer
+ * acesso ao banco ou cálculo de bcrypt.
+ *
+ * <p>Cada balde é guardado como um único instante (GCRA): o momento em que ele estaria cheio de novo.
+ * Um balde cujo instante já passou equivale a não existir, então é descartado numa varredura
+ * periódica; o mapa também é limitado a {@code max-chaves} entradas, removendo as usadas há mais
+ * tempo.
+ */
+@Component
+public class LimitadorTentativasLogin {
+
+  public static final String METRICA = "poo.auth.limite";
+
+  private final LoginLimiteProperties properties;
+  private final LongSupplier relogio;
+  private final Map<String, Long> cheioEm;
+  private final long intervaloLimpezaNanos;
+  private long proximaLimpeza;
+  private final Counter permitidas;
+  private final Counter bloqueadasUsuario;
+  private final Counter bloqueadasIp;
+
+  @Autowired
+  public LimitadorTentativasLogin(LoginLimiteProperties properties, MeterRegistry meterRegistry) {
+    this(properties, meterRegistry, System::nanoTime);
+  }
+
+  LimitadorTentativasLogin(LoginLimiteProperties properties, MeterRegistry meterRegistry, LongSupplier relogio) {
+    this.properties = properties;
+    this.relogio = relogio;
+    this.cheioEm = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+        return size() > properties.maxChaves();
+      }
+    };
+    this.intervaloLimpezaNanos = Math.min(properties.usuario().reposicao().toNanos(), properties.ip().reposicao().toNanos());
+    this.proximaLimpeza = relogio.getAsLong() + intervaloLimpezaNanos;
+    this.permitidas = contador(meterRegistry, "permitida", "nenhuma");
+    this.bloqueadasUsuario = contador(meterRegistry, "bloqueada", "usuario");
+    this.bloqueadasIp = contador(meterRegistry, "bloqueada", "ip");
+    Gauge.builder(METRICA + ".chaves", this, LimitadorTentativasLogin::chavesAtivas)
+      .description("Baldes de limite de login em memória")
+      .register(meterRegistry);
+  }
+
+  /** Consome uma tentativa dos dois baldes, ou nenhuma se qualquer um estiver vazio. */
+  public synchronized @NonNull Decisao tentar(String username, String ip) {
+    if (!properties.habilitado()) {
+      return Decisao.PERMITIDA;
+    }
+    long agora = relogio.getAsLong();
+    removerExpirados(agora);
+    String chaveUsuario = "u:" + normalizar(username);
+    String chaveIp = "ip:" + ip;
+    long proximoUsuario = proximo(chaveUsuario, properties.usuario(), agora);
+    long proximoIp = proximo(chaveIp, properties.ip(), agora);
+    long esperaUsuario = espera(proximoUsuario, properties.usuario(), agora);
+    long esperaIp = espera(proximoIp, properties.ip(), agora);
+    if (esperaUsuario > 0 || esperaIp > 0) {
+      (esperaIp >= esperaUsuario ? bloqueadasIp : bloqueadasUsuario).increment();
+      return new Decisao(false, Duration.ofNanos(Math.max(esperaUsuario, esperaIp)));
+    }
+    cheioEm.put(chaveUsuario, proximoUsuario);
+    cheioEm.put(chaveIp, proximoIp);
+    permitidas.increment();
+    return Decisao.PERMITIDA;
+  }
+
+  /** Login certo zera o balde do usuário, para erros de digitação anteriores não travarem a conta. */
+  public synchronized void registrarSucesso(String username) {
+    cheioEm.remove("u:" + normalizar(username));
+  }
+
+  synchronized int chavesAtivas() {
+    return cheioEm.size();
+  }
+
+  private long proximo(String chave, Balde balde, long agora) {
+    Long atual = cheioEm.get(chave);
+    long base = atual == null || atual - agora < 0 ? agora : atual;
+    return base + balde.reposicao().toNanos();
+  }
+
+  // Quanto falta para caber mais uma tentativa; <= 0 quando ainda há ficha no balde
+  private static long espera(long proximo, Balde balde, long agora) {
+    return proximo - agora - balde.capacidade() * balde.reposicao().toNanos();
+  }
+
+  // Usuário e IP têm períodos diferentes, então a ordem de acesso não é a ordem de expiração: a
+  // varredura olha todas as entradas, no máximo uma vez a cada reposição mais curta
+  private void removerExpirados(long agora) {
+    if (agora - proximaLimpeza < 0) {
+      return;
+    }
+    proximaLimpeza = agora + intervaloLimpezaNanos;
+    cheioEm.values().removeIf(cheio -> cheio - agora <= 0);
+  }
+
+  private static String normalizar(String username) {
+    return username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+  }
+
+  private static Counter contador(MeterRegistry registry, String resultado, String limite) {
+    return Counter.builder(METRICA)
+      .description("Tentativas de login avaliadas pelo limitador")
+      .tag("resultado", resultado)
+      .tag("limite", limite)
+      .register(registry);
+  }
+
+  public record Decisao(boolean permitida, Duration retryAfter) {
+    static final Decisao PERMITIDA = new Decisao(true, Duration.ZERO);
+
+    /** Segundos para o cabeçalho Retry-After, arredondados para cima. */
+    public long retryAfterSegundos() {
+      return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+  }
+}
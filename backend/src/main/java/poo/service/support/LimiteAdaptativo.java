@@ -0,0 +1,109 @@
+package poo.service.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import poo.config.LimiteConcorrenciaProperties.Grupo;
+
+/**
+ * Limite de concorrência que se ajusta pela latência, no estilo gradiente: compara a latência recente
+ * com uma média longa (a latência "sem fila") e, quando a recente sobe além da tolerância, reduz o
+ * limite na mesma proporção; enquanto ela se mantém, o limite cresce em torno de √limite por ajuste.
+ *
+ * <p>Com o limite atingido a requisição é recusada na hora, em vez de esperar numa fila que só
+ * aumenta a latência de todas. Um 503/504 vindo de baixo (admissão JDBC, timeout) corta o limite em 10%.
+ */
+public class LimiteAdaptativo {
+
+  public static final String METRICA = "poo.http.limite";
+
+  // Janelas das médias móveis exponenciais, em amostras
+  private static final double JANELA_LONGA = 500;
+  private static final double JANELA_CURTA = 10;
+  // Quanto de cada novo cálculo entra no limite, para uma amostra isolada não derrubá-lo
+  private static final double SUAVIZACAO = 0.2;
+  private static final double REDUCAO_SOBRECARGA = 0.9;
+
+  private final int minimo;
+  private final int maximo;
+  private final double tolerancia;
+  private final Counter rejeitadas;
+  private double limite;
+  private double rttLongo;
+  private double rttCurto;
+  private int emUso;
+
+  public LimiteAdaptativo(String grupo, Grupo configuracao, double tolerancia, MeterRegistry meterRegistry) {
+    this.minimo = configuracao.minimo();
+    this.maximo = configuracao.maximo();
+    this.limite = configuracao.inicial();
+    this.tolerancia = tolerancia;
+    this.rejeitadas = Counter.builder(METRICA + ".rejeitadas")
+      .description("Requisições recusadas com 503 por limite de concorrência")
+      .tag("grupo", grupo)
+      .register(meterRegistry);
+    Gauge.builder(METRICA, this, LimiteAdaptativo::limite)
+      .description("Limite atual de requisições simultâneas")
+      .tag("grupo", grupo)
+      .register(meterRegistry);
+    Gauge.builder(METRICA + ".em-uso", this, LimiteAdaptativo::emUso)
+      .description("Requisições em andamento dentro do limite")
+      .tag("grupo", grupo)
+      .register(meterRegistry);
+  }
+
+  /** Ocupa uma vaga, ou devolve {@code false} se o limite já foi atingido. */
+  public synchronized boolean tentarAdquirir() {
+    if (emUso >= limite()) {
+      rejeitadas.increment();
+      return false;
+    }
+    emUso++;
+    return true;
+  }
+
+  /** Devolve a vaga de uma requisição concluída, usando a latência dela para ajustar o limite. */
+  public synchronized void liberar(long latenciaNanos) {
+    // Com menos da metade das vagas em uso a latência não diz nada sobre o limite
+    boolean aproveitado = emUso * 2 >= limite;
+    emUso--;
+    if (latenciaNanos <= 0) {
+      return;
+    }
+    if (rttLongo == 0) {
+      rttLongo = latenciaNanos;
+      rttCurto = latenciaNanos;
+    } else {
+      rttLongo += (latenciaNanos - rttLongo) / JANELA_LONGA;
+      rttCurto += (latenciaNanos - rttCurto) / JANELA_CURTA;
+    }
+    // Depois de um período lento a média longa fica alta demais; deixa ela voltar mais rápido
+    if (rttLongo > 2 * rttCurto) {
+      rttLongo *= 0.95;
+    }
+    if (!aproveitado) {
+      return;
+    }
+    double gradiente = Math.max(0.5, Math.min(1.0, tolerancia * rttLongo / rttCurto));
+    double novo = limite * gradiente + Math.sqrt(limite);
+    ajustar(limite * (1 - SUAVIZACAO) + novo * SUAVIZACAO);
+  }
+
+  /** Devolve a vaga de uma requisição que falhou por sobrecarga mais abaixo (503/504). */
+  public synchronized void liberarComSobrecarga() {
+    emUso--;
+    ajustar(limite * REDUCAO_SOBRECARGA);
+  }
+
+  public synchronized int limite() {
+    return (int) limite;
+  }
+
+  synchronized int emUso() {
+    return emUso;
+  }
+
+  private void ajustar(double novo) {
+    limite = Math.max(minimo, Math.min(maximo, novo));
+  }
+}
@@ -0,0 +1,125 @@
+package poo.service.support;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import poo.config.SessaoProperties;
+import poo.model.Usuario;
+
+/**
+ * Emite e verifica tokens de sessão autocontidos no formato {@code kid.payload.assinatura}
+ * (Base64 URL), assinados com HMAC-SHA256. O {@code kid} escolhe a chave de verificação, o que
+ * permite rotacionar chaves sem invalidar quem já está logado.
+ */
+@Component
+public class SessaoTokenCodec {
+
+  private static final String ALGORITMO = "HmacSHA256";
+  private static final int TAMANHO_MINIMO_CHAVE = 32;
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private final Map<String, SecretKeySpec> chaves = new HashMap<>();
+  private final String chaveAtiva;
+  private final SessaoProperties properties;
+  private final ObjectMapper objectMapper;
+  private final Clock clock;
+
+  @Autowired
+  public SessaoTokenCodec(SessaoProperties properties, ObjectMapper objectMapper) {
+    this(properties, objectMapper, Clock.systemUTC());
+  }
+
+  SessaoTokenCodec(SessaoProperties properties, ObjectMapper objectMapper, Clock clock) {
+    this.properties = properties;
+    this.objectMapper = objectMapper;
+    this.clock = clock;
+    this.chaveAtiva = properties.chaveAtiva();
+    properties.chaves().forEach((id, segredo) -> {
+      byte[] bytes = Base64.getDecoder().decode(segredo);
+      if (bytes.length < TAMANHO_MINIMO_CHAVE) {
+        throw new IllegalArgumentException("Chave de sessão '" + id + "' deve ter pelo menos " + TAMANHO_MINIMO_CHAVE + " bytes");
+      }
+      chaves.put(id, new SecretKeySpec(bytes, ALGORITMO));
+    });
+  }
+
+  public @NonNull String emitir(@NonNull Usuario usuario) {
+    Instant expiraEm = clock.instant().plus(properties.validade());
+    Sessao sessao = new Sessao(usuario.getId(), usuario.getUsername(), usuario.getNome(), expiraEm.getEpochSecond());
+    String payload;
+    try {
+      payload = ENCODER.encodeToString(objectMapper.writeValueAsBytes(sessao));
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("Falha ao serializar sessão", ex);
+    }
+    String assinado = chaveAtiva + "." + payload;
+    return assinado + "." + ENCODER.encodeToString(assinar(chaves.get(chaveAtiva), assinado));
+  }
+
+  /** Sessão contida no token, se a assinatura confere e o token não expirou. */
+  public Optional<Sessao> verificar(String token) {
+    if (token == null) {
+      return Optional.empty();
+    }
+    int primeiro = token.indexOf('.');
+    int ultimo = token.lastIndexOf('.');
+    if (primeiro <= 0 || ultimo <= primeiro) {
+      return Optional.empty();
+    }
+    SecretKeySpec chave = chaves.get(token.substring(0, primeiro));
+    if (chave == null) {
+      return Optional.empty();
+    }
+    try {
+      byte[] esperada = assinar(chave, token.substring(0, ultimo));
+      byte[] recebida = DECODER.decode(token.substring(ultimo + 1));
+      if (!MessageDigest.isEqual(esperada, recebida)) {
+        return Optional.empty();
+      }
+      Sessao sessao = objectMapper.readValue(DECODER.decode(token.substring(primeiro + 1, ultimo)), Sessao.class);
+      if (sessao.exp() <= clock.instant().getEpochSecond()) {
+        return Optional.empty();
+      }
+      return Optional.of(sessao);
+    } catch (IllegalArgumentException | IOException ex) {
+      return Optional.empty();
+    }
+  }
+
+  /** Tokens assinados por uma chave em rotação são reemitidos com a chave ativa. */
+  public boolean precisaReemitir(@NonNull String token) {
+    return !token.startsWith(chaveAtiva + ".");
+  }
+
+  private static byte[] assinar(SecretKeySpec chave, String conteudo) {
+    try {
+      // Mac não é thread-safe; criar um por chamada custa bem menos que a ida ao banco que o token evita
+      Mac mac = Mac.getInstance(ALGORITMO);
+      mac.init(chave);
+      return mac.doFinal(conteudo.getBytes(StandardCharsets.US_ASCII));
+    } catch (GeneralSecurityException ex) {
+      throw new IllegalStateException("HMAC indisponível", ex);
+    }
+  }
+
+  public record Sessao(Long id, String username, String nome, long exp) {
+    public Usuario toUsuario() {
+      return new Usuario(id, username, nome);
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package poo.service.support;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import poo.config.SincronizacaoProperties;
+import poo.dao.ExclusaoDao;
+import poo.model.Alteracoes;
+import poo.model.NotaId;
+
+/**
+ * Monta as respostas de {@code ?since=} para os services do CRUD e limpa o registro de exclusões.
+ * O cursor é lido na mesma transação somente leitura das linhas (a do service, ou a aberta por
+ * {@link #carregarTudo}), e antes delas: com réplicas, cursor e linhas vêm do mesmo servidor.
+ */
+@Component
+public class SincronizacaoSupport {
+
+  private final ExclusaoDao exclusoes;
+  private final SincronizacaoProperties properties;
+  private final TransactionTemplate readOnlyTx;
+
+  public SincronizacaoSupport(ExclusaoDao exclusoes, SincronizacaoProperties properties, PlatformTransactionManager txManager) {
+    this.exclusoes = exclusoes;
+    this.properties = properties;
+    this.readOnlyTx = new TransactionTemplate(txManager);
+    this.readOnlyTx.setReadOnly(true);
+  }
+
+  public <T, K> @NonNull Alteracoes<T, K> alteracoes(
+    long since,
+    @NonNull LongFunction<List<T>> alterados,
+    @NonNull LongFunction<List<K>> excluidos
+  ) {
+    // Cursor lido antes das consultas: o que não estiver visível nelas volta na próxima chamada
+    long cursor = exclusoes.currentCursor();
+    List<T> linhas = alterados.apply(since);
+    List<K> chaves = excluidos.apply(since);
+    // Limite lido depois: um expurgo confirmado durante as consultas já aparece aqui
+    if (since <= exclusoes.purgedCursor()) {
+      throw new ResponseStatusException(
+        HttpStatus.GONE,
+        "Histórico de exclusões anterior a 'since' já foi descartado; refaça a carga completa."
+      );
+    }
+    return new Alteracoes<>(linhas, chaves, cursor);
+  }
+
+  /**
+   * Lê {@code dados} (a listagem completa) numa transação somente leitura, com o cursor para o
+   * primeiro {@code since} lido antes, na mesma conexão.
+   */
+  public <T> @NonNull Carga<T> carregarTudo(@NonNull Supplier<T> dados) {
+    return Objects.requireNonNull(readOnlyTx.execute(status -> {
+      long cursor = exclusoes.currentCursor();
+      return new Carga<>(dados.get(), cursor);
+    }));
+  }
+
+  public @NonNull LongFunction<List<Long>> idsExcluidos(@NonNull String tabela) {
+    return since -> exclusoes.findDeletedIds(tabela, since);
+  }
+
+  public @NonNull LongFunction<List<NotaId>> notasExcluidas() {
+    return exclusoes::findDeletedNotas;
+  }
+
+  /** Agendado em {@code SincronizacaoConfig} a cada {@code poo.sync.intervalo-limpeza}. */
+  public void limparExclusoesAntigas() {
+    exclusoes.purgeBefore(exclusoes.currentTimestamp().minus(properties.retencao()));
+  }
+
+  /** Listagem completa e o {@code since} para a próxima sincronização incremental. */
+  public record Carga<T>(T dados, long sincronizadoAte) {}
+}
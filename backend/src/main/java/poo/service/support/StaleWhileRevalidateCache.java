@@ -0,0 +1,143 @@
+package poo.service.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.springframework.lang.NonNull;
+
+/**
+ * Cache de valor único com max-age e stale-while-revalidate.
+ *
+ * <p>Enquanto fresco, o valor é devolvido direto. Vencido (ou invalidado) mas dentro da janela de
+ * revalidação, o valor antigo é devolvido na hora e uma única recarga roda no executor. Sem valor,
+ * ou fora da janela, o chamador espera a recarga em andamento. Uma invalidação durante a recarga
+ * faz o resultado já nascer vencido.
+ */
+public final class StaleWhileRevalidateCache<T> {
+
+  private final Supplier<T> loader;
+  private final long maxAgeNanos;
+  private final long staleNanos;
+  private final Executor executor;
+  private final Counter hits;
+  private final Counter stale;
+  private final Counter misses;
+  private final Timer refreshTimer;
+  private final LongSupplier relogio;
+
+  private final AtomicLong geracao = new AtomicLong();
+  private final AtomicReference<CompletableFuture<T>> recarga = new AtomicReference<>();
+  private volatile Entrada<T> entrada;
+
+  public StaleWhileRevalidateCache(
+    @NonNull String nome,
+    @NonNull Supplier<T> loader,
+    @NonNull Duration maxAge,
+    @NonNull Duration staleWhileRevalidate,
+    @NonNull Executor executor,
+    @NonNull MeterRegistry registry
+  ) {
+    this(nome, loader, maxAge, staleWhileRevalidate, executor, registry, System::nanoTime);
+  }
+
+  StaleWhileRevalidateCache(
+    String nome,
+    Supplier<T> loader,
+    Duration maxAge,
+    Duration staleWhileRevalidate,
+    Executor executor,
+    MeterRegistry registry,
+    LongSupplier relogio
+  ) {
+    this.loader = Objects.requireNonNull(loader, "loader must not be null");
+    this.maxAgeNanos = maxAge.toNanos();
+    this.staleNanos = staleWhileRevalidate.toNanos();
+    this.executor = Objects.requireNonNull(executor, "executor must not be null");
+    this.hits = resultado(registry, nome, "hit");
+    this.stale = resultado(registry, nome, "stale");
+    this.misses = resultado(registry, nome, "miss");
+    this.refreshTimer = Timer.builder(nome + ".refresh")
+      .description("Tempo de recarga do valor em cache")
+      .publishPercentiles(0.5, 0.95, 0.99)
+      .register(registry);
+    this.relogio = relogio;
+  }
+
+  public T get() {
+    Entrada<T> atual = entrada;
+    if (atual != null) {
+      long idade = relogio.getAsLong() - atual.carregadoEm();
+      boolean valida = atual.geracao() == geracao.get();
+      if (valida && idade <= maxAgeNanos) {
+        hits.increment();
+        return atual.valor();
+      }
+      if (idade <= maxAgeNanos + staleNanos) {
+        stale.increment();
+        recarregar();
+        return atual.valor();
+      }
+    }
+    misses.increment();
+    try {
+      return recarregar().join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      throw ex;
+    }
+  }
+
+  public void invalidar() {
+    geracao.incrementAndGet();
+  }
+
+  private CompletableFuture<T> recarregar() {
+    while (true) {
+      CompletableFuture<T> emAndamento = recarga.get();
+      if (emAndamento != null) {
+        return emAndamento;
+      }
+      CompletableFuture<T> nova = new CompletableFuture<>();
+      if (recarga.compareAndSet(null, nova)) {
+        long geracaoInicial = geracao.get();
+        executor.execute(() -> carregar(nova, geracaoInicial));
+        return nova;
+      }
+    }
+  }
+
+  private void carregar(CompletableFuture<T> destino, long geracaoInicial) {
+    long inicio = System.nanoTime();
+    try {
+      T valor = loader.get();
+      entrada = new Entrada<>(valor, relogio.getAsLong(), geracaoInicial);
+      recarga.set(null);
+      destino.complete(valor);
+    } catch (Throwable ex) {
+      recarga.set(null);
+      destino.completeExceptionally(ex);
+    } finally {
+      refreshTimer.record(Duration.ofNanos(System.nanoTime() - inicio));
+    }
+  }
+
+  private static Counter resultado(MeterRegistry registry, String nome, String resultado) {
+    return Counter.builder(nome)
+      .description("Leituras do cache por resultado (hit, stale, miss)")
+      .tag("resultado", resultado)
+      .register(registry);
+  }
+
+  private record Entrada<T>(T valor, long carregadoEm, long geracao) {}
+}
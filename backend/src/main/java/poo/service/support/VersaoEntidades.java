@@ -0,0 +1,87 @@
+package poo.service.support;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import poo.config.CacheHttpProperties;
+import poo.dao.MarcaTabelaDao;
+import poo.service.support.EntidadeAlteradaEvent.Entidade;
+
+/**
+ * Versão atual de cada entidade, usada como base dos ETags das listagens e detalhes.
+ *
+ * <p>A versão vem do contador da tabela em {@code versao_tabela}, incrementado por gatilho na mesma
+ * transação de cada escrita, então é igual em todas as instâncias da aplicação. Ela fica em memória por {@code validade-versao}; cada escrita feita
+ * por esta instância incrementa um contador da entidade e descarta a marca na hora, e escritas de
+ * outras instâncias aparecem quando a validade vence.
+ */
+@Component
+public class VersaoEntidades {
+
+  private final MarcaTabelaDao dao;
+  private final long validadeNanos;
+  private final LongSupplier relogio;
+  private final Map<Entidade, AtomicLong> escritas = new EnumMap<>(Entidade.class);
+  private final Map<Entidade, Lida> marcas = new ConcurrentHashMap<>();
+
+  @Autowired
+  public VersaoEntidades(MarcaTabelaDao dao, CacheHttpProperties properties) {
+    this(dao, properties.validadeVersao(), System::nanoTime);
+  }
+
+  VersaoEntidades(MarcaTabelaDao dao, Duration validade, LongSupplier relogio) {
+    this.dao = dao;
+    this.validadeNanos = validade.toNanos();
+    this.relogio = relogio;
+    for (Entidade entidade : Entidade.values()) {
+      escritas.put(entidade, new AtomicLong());
+    }
+  }
+
+  /** Identificador da versão atual dos dados da entidade, próprio para compor um ETag forte. */
+  @Transactional(readOnly = true)
+  public @NonNull String versao(Entidade entidade) {
+    return tabela(entidade) + "-" + Long.toString(marca(entidade), 36);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onEntidadeAlterada(EntidadeAlteradaEvent event) {
+    escritas.get(event.entidade()).incrementAndGet();
+    // Excluir aluno ou prova remove as notas em cascata
+    if (event.entidade() == Entidade.ALUNO || event.entidade() == Entidade.PROVA) {
+      escritas.get(Entidade.NOTA).incrementAndGet();
+    }
+  }
+
+  private long marca(Entidade entidade) {
+    long escrita = escritas.get(entidade).get();
+    long agora = relogio.getAsLong();
+    Lida lida = marcas.get(entidade);
+    if (lida != null && lida.escrita() == escrita && agora - lida.lidaEm() < validadeNanos) {
+      return lida.versao();
+    }
+    // Contador lido antes da consulta: uma escrita concorrente invalida esta leitura
+    long versao = dao.versao(tabela(entidade));
+    marcas.put(entidade, new Lida(escrita, agora, versao));
+    return versao;
+  }
+
+  private static String tabela(Entidade entidade) {
+    return switch (entidade) {
+      case DEPARTAMENTO -> "departamento";
+      case ALUNO -> "aluno";
+      case PROVA -> "prova";
+      case NOTA -> "nota";
+    };
+  }
+
+  private record Lida(long escrita, long lidaEm, long versao) {}
+}
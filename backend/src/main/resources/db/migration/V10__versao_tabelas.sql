@@ -0,0 +1,45 @@
+-- V10__versao_tabelas.sql
+
+-- Versão de cada tabela para os ETags (VersaoEntidades), no lugar de count(*) + max(updated_at).
+-- updated_at vem de NOW(), o início da transação: um UPDATE confirmado depois de outra escrita mais
+-- recente não mudava o máximo e o ETag continuava o mesmo (304 com dados velhos). O contador é
+-- incrementado por gatilho de instrução na mesma transação da escrita, então a nova versão só fica
+-- visível junto com os dados; a leitura é uma busca pela PK, sem contar linhas.
+--
+-- Custo: escritas concorrentes na mesma tabela esperam o commit umas das outras na linha do
+-- contador. Com as transações curtas do CRUD isso não pesa; cargas em lote seguram a linha até o
+-- fim, como já fazem com os agregados da V6.
+
+CREATE TABLE versao_tabela (
+  tabela  TEXT PRIMARY KEY,
+  versao  BIGINT NOT NULL
+);
+
+-- Começa no instante da migração (ms): banco recriado não repete ETags guardados pelos clientes
+INSERT INTO versao_tabela (tabela, versao)
+SELECT t.tabela, (extract(EPOCH FROM clock_timestamp()) * 1000)::BIGINT
+FROM (VALUES ('departamento'), ('aluno'), ('prova'), ('nota')) AS t(tabela);
+
+CREATE OR REPLACE FUNCTION incrementar_versao_tabela()
+RETURNS TRIGGER AS $$
+BEGIN
+  UPDATE versao_tabela SET versao = versao + 1 WHERE tabela = TG_TABLE_NAME;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER tg_departamento_versao
+AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON departamento
+FOR EACH STATEMENT EXECUTE FUNCTION incrementar_versao_tabela();
+
+CREATE TRIGGER tg_aluno_versao
+AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON aluno
+FOR EACH STATEMENT EXECUTE FUNCTION incrementar_versao_tabela();
+
+CREATE TRIGGER tg_prova_versao
+AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON prova
+FOR EACH STATEMENT EXECUTE FUNCTION incrementar_versao_tabela();
+
+CREATE TRIGGER tg_nota_versao
+AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON nota
+FOR EACH STATEMENT EXECUTE FUNCTION incrementar_versao_tabela();
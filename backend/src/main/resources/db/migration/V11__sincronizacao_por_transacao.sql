@@ -0,0 +1,67 @@
+-- V11__sincronizacao_por_transacao.sql
+
+-- Cursor do ?since= pela transação que gravou a linha, no lugar de updated_at. updated_at vem de
+-- NOW(), o início da transação: uma transação longa (a importação por COPY, por exemplo) confirmava
+-- linhas com instante anterior ao cursor já entregue, e nenhuma margem fixa cobria todos os casos.
+--
+-- Cada linha guarda o id da transação que a gravou (xid8, em BIGINT). O cursor é o xmin do snapshot
+-- de leitura: toda transação ainda não visível nele tem id >= xmin, então o que ela gravar volta na
+-- próxima chamada, não importa quanto tempo leve para confirmar. Linhas já vistas com id >= xmin
+-- podem vir de novo; enquanto uma transação longa estiver aberta, o cursor não avança além dela.
+
+CREATE OR REPLACE FUNCTION registrar_xid_alteracao()
+RETURNS TRIGGER AS $$
+BEGIN
+  NEW.xid_alteracao := pg_current_xact_id()::text::bigint;
+  RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 0: linhas anteriores à migração já são visíveis para qualquer cursor
+ALTER TABLE departamento ADD COLUMN xid_alteracao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE aluno ADD COLUMN xid_alteracao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE prova ADD COLUMN xid_alteracao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE nota ADD COLUMN xid_alteracao BIGINT NOT NULL DEFAULT 0;
+
+CREATE TRIGGER tg_departamento_xid_alteracao
+BEFORE INSERT OR UPDATE ON departamento
+FOR EACH ROW EXECUTE FUNCTION registrar_xid_alteracao();
+
+CREATE TRIGGER tg_aluno_xid_alteracao
+BEFORE INSERT OR UPDATE ON aluno
+FOR EACH ROW EXECUTE FUNCTION registrar_xid_alteracao();
+
+CREATE TRIGGER tg_prova_xid_alteracao
+BEFORE INSERT OR UPDATE ON prova
+FOR EACH ROW EXECUTE FUNCTION registrar_xid_alteracao();
+
+CREATE TRIGGER tg_nota_xid_alteracao
+BEFORE INSERT OR UPDATE ON nota
+FOR EACH ROW EXECUTE FUNCTION registrar_xid_alteracao();
+
+CREATE INDEX ix_departamento_xid_alteracao ON departamento(xid_alteracao);
+CREATE INDEX ix_aluno_xid_alteracao ON aluno(xid_alteracao);
+CREATE INDEX ix_prova_xid_alteracao ON prova(xid_alteracao);
+CREATE INDEX ix_nota_xid_alteracao ON nota(xid_alteracao);
+
+-- Os índices da V8 em updated_at só serviam ao ?since=
+DROP INDEX IF EXISTS ix_departamento_updated_at;
+DROP INDEX IF EXISTS ix_aluno_updated_at;
+DROP INDEX IF EXISTS ix_prova_updated_at;
+DROP INDEX IF EXISTS ix_nota_updated_at;
+
+-- Exclusões: o gatilho da V8 só informa tabela e chave; o id da transação vem do DEFAULT
+ALTER TABLE exclusao ADD COLUMN xid BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE exclusao ALTER COLUMN xid SET DEFAULT pg_current_xact_id()::text::bigint;
+
+DROP INDEX IF EXISTS ix_exclusao_tabela_excluido_em;
+CREATE INDEX ix_exclusao_tabela_xid ON exclusao(tabela, xid);
+
+-- Maior id de transação entre as exclusões já descartadas pela retenção: um cursor que não passa
+-- dele pode ter perdido exclusões e recebe 410
+CREATE TABLE exclusao_expurgo (
+  unica       BOOLEAN PRIMARY KEY DEFAULT TRUE CHECK (unica),
+  xid_limite  BIGINT NOT NULL
+);
+
+INSERT INTO exclusao_expurgo (xid_limite) VALUES (0);
@@ -0,0 +1,183 @@
+-- V12__agregados_dashboard.sql
+
+-- Painéis da página inicial servidos pelo GET /api/dashboard, sem o navegador baixar as listas
+-- completas: distribuição de notas por faixa nos agregados da V6, ranking de alunos pelo índice de
+-- média e próxima prova pelo índice de data. Cada painel lê O(departamentos) ou poucas linhas.
+
+-- Faixas da distribuição: [0, 5), [5, 7), [7, 9) e [9, 10]
+ALTER TABLE nota_agregado_aluno
+  ADD COLUMN faixa_0_5 BIGINT NOT NULL DEFAULT 0,
+  ADD COLUMN faixa_5_7 BIGINT NOT NULL DEFAULT 0,
+  ADD COLUMN faixa_7_9 BIGINT NOT NULL DEFAULT 0,
+  ADD COLUMN faixa_9_10 BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE nota_agregado_departamento
+  ADD COLUMN faixa_0_5 BIGINT NOT NULL DEFAULT 0,
+  ADD COLUMN faixa_5_7 BIGINT NOT NULL DEFAULT 0,
+  ADD COLUMN faixa_7_9 BIGINT NOT NULL DEFAULT 0,
+  ADD COLUMN faixa_9_10 BIGINT NOT NULL DEFAULT 0;
+
+-- Mesmo recálculo da V6, agora com as faixas
+CREATE OR REPLACE FUNCTION atualizar_agregados_alunos(ids BIGINT[])
+RETURNS VOID AS $$
+DECLARE
+  deps_extremos BIGINT[];
+BEGIN
+  IF ids IS NULL OR cardinality(ids) = 0 THEN
+    RETURN;
+  END IF;
+
+  -- Serializa transações com notas dos mesmos alunos (ver V6)
+  PERFORM 1 FROM aluno WHERE id = ANY(ids) ORDER BY id FOR NO KEY UPDATE;
+
+  SELECT COALESCE(array_agg(DISTINCT g.departamento_id), '{}')
+    INTO deps_extremos
+  FROM nota_agregado_aluno g
+  JOIN nota_agregado_departamento d ON d.departamento_id = g.departamento_id
+  WHERE g.aluno_id = ANY(ids)
+    AND (g.menor_nota <= d.menor_nota OR g.maior_nota >= d.maior_nota);
+
+  WITH antigos AS (
+    SELECT aluno_id, departamento_id, soma_notas, notas_lancadas,
+           faixa_0_5, faixa_5_7, faixa_7_9, faixa_9_10
+    FROM nota_agregado_aluno
+    WHERE aluno_id = ANY(ids)
+  ),
+  novos AS (
+    SELECT
+      a.id AS aluno_id,
+      a.departamento_id,
+      COALESCE(SUM(n.valor), 0) AS soma_notas,
+      COUNT(n.valor) AS notas_lancadas,
+      MIN(n.valor) AS menor_nota,
+      MAX(n.valor) AS maior_nota,
+      COUNT(n.valor) FILTER (WHERE n.valor < 5) AS faixa_0_5,
+      COUNT(n.valor) FILTER (WHERE n.valor >= 5 AND n.valor < 7) AS faixa_5_7,
+      COUNT(n.valor) FILTER (WHERE n.valor >= 7 AND n.valor < 9) AS faixa_7_9,
+      COUNT(n.valor) FILTER (WHERE n.valor >= 9) AS faixa_9_10
+    FROM aluno a
+    LEFT JOIN nota n ON n.aluno_id = a.id
+    WHERE a.id = ANY(ids)
+    GROUP BY a.id, a.departamento_id
+  ),
+  removidos AS (
+    DELETE FROM nota_agregado_aluno g
+    WHERE g.aluno_id = ANY(ids)
+      AND NOT EXISTS (SELECT 1 FROM novos WHERE novos.aluno_id = g.aluno_id AND novos.notas_lancadas > 0)
+  ),
+  gravados AS (
+    INSERT INTO nota_agregado_aluno (aluno_id, departamento_id, soma_notas, notas_lancadas, menor_nota, maior_nota,
+                                     faixa_0_5, faixa_5_7, faixa_7_9, faixa_9_10)
+    SELECT aluno_id, departamento_id, soma_notas, notas_lancadas, menor_nota, maior_nota,
+           faixa_0_5, faixa_5_7, faixa_7_9, faixa_9_10
+    FROM novos
+    WHERE notas_lancadas > 0
+    ON CONFLICT (aluno_id) DO UPDATE SET
+      departamento_id = EXCLUDED.departamento_id,
+      soma_notas = EXCLUDED.soma_notas,
+      notas_lancadas = EXCLUDED.notas_lancadas,
+      menor_nota = EXCLUDED.menor_nota,
+      maior_nota = EXCLUDED.maior_nota,
+      faixa_0_5 = EXCLUDED.faixa_0_5,
+      faixa_5_7 = EXCLUDED.faixa_5_7,
+      faixa_7_9 = EXCLUDED.faixa_7_9,
+      faixa_9_10 = EXCLUDED.faixa_9_10
+  ),
+  deltas AS (
+    SELECT
+      departamento_id,
+      SUM(soma_notas) AS soma_notas,
+      SUM(notas_lancadas) AS notas_lancadas,
+      SUM(avaliado) AS alunos_avaliados,
+      MIN(menor_nota) AS menor_nota,
+      MAX(maior_nota) AS maior_nota,
+      SUM(faixa_0_5) AS faixa_0_5,
+      SUM(faixa_5_7) AS faixa_5_7,
+      SUM(faixa_7_9) AS faixa_7_9,
+      SUM(faixa_9_10) AS faixa_9_10
+    FROM (
+      SELECT departamento_id, soma_notas, notas_lancadas,
+             CASE WHEN notas_lancadas > 0 THEN 1 ELSE 0 END AS avaliado,
+             menor_nota, maior_nota,
+             faixa_0_5, faixa_5_7, faixa_7_9, faixa_9_10
+      FROM novos
+      UNION ALL
+      SELECT departamento_id, -soma_notas, -notas_lancadas, -1, NULL, NULL,
+             -faixa_0_5, -faixa_5_7, -faixa_7_9, -faixa_9_10
+      FROM antigos
+    ) x
+    GROUP BY departamento_id
+  )
+  INSERT INTO nota_agregado_departamento AS d
+    (departamento_id, soma_notas, notas_lancadas, alunos_avaliados, menor_nota, maior_nota,
+     faixa_0_5, faixa_5_7, faixa_7_9, faixa_9_10)
+  SELECT departamento_id, soma_notas, notas_lancadas, alunos_avaliados, menor_nota, maior_nota,
+         faixa_0_5, faixa_5_7, faixa_7_9, faixa_9_10
+  FROM deltas
+  WHERE EXISTS (SELECT 1 FROM departamento WHERE departamento.id = deltas.departamento_id)
+  ON CONFLICT (departamento_id) DO UPDATE SET
+    soma_notas = d.soma_notas + EXCLUDED.soma_notas,
+    notas_lancadas = d.notas_lancadas + EXCLUDED.notas_lancadas,
+    alunos_avaliados = d.alunos_avaliados + EXCLUDED.alunos_avaliados,
+    menor_nota = LEAST(d.menor_nota, EXCLUDED.menor_nota),
+    maior_nota = GREATEST(d.maior_nota, EXCLUDED.maior_nota),
+    faixa_0_5 = d.faixa_0_5 + EXCLUDED.faixa_0_5,
+    faixa_5_7 = d.faixa_5_7 + EXCLUDED.faixa_5_7,
+    faixa_7_9 = d.faixa_7_9 + EXCLUDED.faixa_7_9,
+    faixa_9_10 = d.faixa_9_10 + EXCLUDED.faixa_9_10;
+
+  IF cardinality(deps_extremos) > 0 THEN
+    UPDATE nota_agregado_departamento d SET
+      menor_nota = x.menor_nota,
+      maior_nota = x.maior_nota
+    FROM (
+      SELECT departamento_id, MIN(menor_nota) AS menor_nota, MAX(maior_nota) AS maior_nota
+      FROM nota_agregado_aluno
+      WHERE departamento_id = ANY(deps_extremos)
+      GROUP BY departamento_id
+    ) x
+    WHERE d.departamento_id = x.departamento_id;
+  END IF;
+
+  DELETE FROM nota_agregado_departamento WHERE notas_lancadas = 0;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION reconstruir_agregados_notas()
+RETURNS VOID AS $$
+BEGIN
+  LOCK TABLE nota IN SHARE MODE;
+
+  DELETE FROM nota_agregado_aluno;
+  DELETE FROM nota_agregado_departamento;
+
+  INSERT INTO nota_agregado_aluno (aluno_id, departamento_id, soma_notas, notas_lancadas, menor_nota, maior_nota,
+                                   faixa_0_5, faixa_5_7, faixa_7_9, faixa_9_10)
+  SELECT a.id, a.departamento_id, SUM(n.valor), COUNT(*), MIN(n.valor), MAX(n.valor),
+         COUNT(*) FILTER (WHERE n.valor < 5),
+         COUNT(*) FILTER (WHERE n.valor >= 5 AND n.valor < 7),
+         COUNT(*) FILTER (WHERE n.valor >= 7 AND n.valor < 9),
+         COUNT(*) FILTER (WHERE n.valor >= 9)
+  FROM nota n
+  JOIN aluno a ON a.id = n.aluno_id
+  GROUP BY a.id, a.departamento_id;
+
+  INSERT INTO nota_agregado_departamento
+    (departamento_id, soma_notas, notas_lancadas, alunos_avaliados, menor_nota, maior_nota,
+     faixa_0_5, faixa_5_7, faixa_7_9, faixa_9_10)
+  SELECT departamento_id, SUM(soma_notas), SUM(notas_lancadas), COUNT(*), MIN(menor_nota), MAX(maior_nota),
+         SUM(faixa_0_5), SUM(faixa_5_7), SUM(faixa_7_9), SUM(faixa_9_10)
+  FROM nota_agregado_aluno
+  GROUP BY departamento_id;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT reconstruir_agregados_notas();
+
+-- Ranking de alunos: os primeiros pela média saem do início do índice, sem ordenar todos os avaliados.
+-- A expressão precisa ser a mesma do ORDER BY em DashboardDaoJdbc.
+CREATE INDEX ix_nota_agregado_aluno_media
+  ON nota_agregado_aluno ((soma_notas / notas_lancadas) DESC, notas_lancadas DESC, aluno_id);
+
+-- Próxima prova: a de V2 começa por departamento_id e não serve à busca só por data
+CREATE INDEX ix_prova_data ON prova(data, id);
@@ -0,0 +1,8 @@
+-- V13__prova_calendario_keyset.sql
+
+-- Calendário do departamento em páginas: o cursor é a última (data, titulo, id) entregue e a
+-- próxima página continua do ponto exato do índice, sem ordenar o período inteiro nem cortar o
+-- resultado. A V2 indexava só (departamento_id, data) e não cobre o desempate por título e id.
+CREATE INDEX ix_prova_departamento_calendario ON prova(departamento_id, data, titulo, id);
+
+DROP INDEX IF EXISTS ix_prova_departamento_data;
@@ -0,0 +1,6 @@
+-- V5__nota_paginacao.sql
+
+-- A listagem de notas é ordenada por (prova_id, aluno_id), mas pk_nota indexa (aluno_id, prova_id).
+-- Este índice serve a paginação keyset (WHERE (prova_id, aluno_id) > (?, ?) ORDER BY prova_id, aluno_id LIMIT ?)
+-- e o filtro por prova, mantendo o custo de cada página constante independente da profundidade.
+CREATE INDEX IF NOT EXISTS ix_nota_prova_aluno ON nota(prova_id, aluno_id);
@@ -0,0 +1,232 @@
+-- V6__agregados_notas.sql
+
+-- Agregados de notas mantidos incrementalmente para as consultas avançadas.
+-- O ranking por departamento e a cobertura por aluno passam a ler O(departamentos) e O(alunos)
+-- linhas em vez de varrer e agrupar toda a tabela nota.
+
+-- Por aluno: só existem linhas para alunos com pelo menos uma nota.
+-- Sem FK para aluno de propósito: a remoção de um aluno precisa ser vista pelo gatilho de nota
+-- (que subtrai o antigo agregado do departamento) antes de a linha sumir.
+CREATE TABLE nota_agregado_aluno (
+  aluno_id         BIGINT PRIMARY KEY,
+  departamento_id  BIGINT NOT NULL,
+  soma_notas       NUMERIC NOT NULL,
+  notas_lancadas   BIGINT NOT NULL,
+  menor_nota       NUMERIC(5,2) NOT NULL,
+  maior_nota       NUMERIC(5,2) NOT NULL
+);
+
+CREATE INDEX ix_nota_agregado_aluno_departamento ON nota_agregado_aluno(departamento_id);
+
+-- Por departamento: alunos_avaliados substitui o COUNT(DISTINCT n.aluno_id).
+CREATE TABLE nota_agregado_departamento (
+  departamento_id  BIGINT PRIMARY KEY,
+  soma_notas       NUMERIC NOT NULL,
+  notas_lancadas   BIGINT NOT NULL,
+  alunos_avaliados BIGINT NOT NULL,
+  menor_nota       NUMERIC(5,2),
+  maior_nota       NUMERIC(5,2),
+  CONSTRAINT fk_nota_agregado_departamento
+    FOREIGN KEY (departamento_id) REFERENCES departamento(id)
+    ON UPDATE CASCADE ON DELETE CASCADE
+);
+
+-- Recalcula os agregados dos alunos informados e aplica a diferença no departamento de cada um.
+-- Custo proporcional às notas desses alunos; menor/maior nota do departamento só é recalculada
+-- quando um dos alunos afetados detinha o extremo atual.
+CREATE OR REPLACE FUNCTION atualizar_agregados_alunos(ids BIGINT[])
+RETURNS VOID AS $$
+DECLARE
+  deps_extremos BIGINT[];
+BEGIN
+  IF ids IS NULL OR cardinality(ids) = 0 THEN
+    RETURN;
+  END IF;
+
+  -- Cada chamada recalcula os alunos a partir do que a sua transação enxerga e grava valores
+  -- absolutos: duas transações concorrentes com notas do mesmo aluno perderiam uma das notas e
+  -- contariam o aluno duas vezes no departamento. O bloqueio serializa essas transações, e em READ
+  -- COMMITTED cada comando seguinte já enxerga o que a anterior confirmou. NO KEY UPDATE não
+  -- conflita com o KEY SHARE que as FKs de nota tomam no aluno; a ordem por id evita deadlock
+  -- entre lotes com alunos em comum.
+  PERFORM 1 FROM aluno WHERE id = ANY(ids) ORDER BY id FOR NO KEY UPDATE;
+
+  SELECT COALESCE(array_agg(DISTINCT g.departamento_id), '{}')
+    INTO deps_extremos
+  FROM nota_agregado_aluno g
+  JOIN nota_agregado_departamento d ON d.departamento_id = g.departamento_id
+  WHERE g.aluno_id = ANY(ids)
+    AND (g.menor_nota <= d.menor_nota OR g.maior_nota >= d.maior_nota);
+
+  WITH antigos AS (
+    SELECT aluno_id, departamento_id, soma_notas, notas_lancadas
+    FROM nota_agregado_aluno
+    WHERE aluno_id = ANY(ids)
+  ),
+  novos AS (
+    SELECT
+      a.id AS aluno_id,
+      a.departamento_id,
+      COALESCE(SUM(n.valor), 0) AS soma_notas,
+      COUNT(n.valor) AS notas_lancadas,
+      MIN(n.valor) AS menor_nota,
+      MAX(n.valor) AS maior_nota
+    FROM aluno a
+    LEFT JOIN nota n ON n.aluno_id = a.id
+    WHERE a.id = ANY(ids)
+    GROUP BY a.id, a.departamento_id
+  ),
+  removidos AS (
+    DELETE FROM nota_agregado_aluno g
+    WHERE g.aluno_id = ANY(ids)
+      AND NOT EXISTS (SELECT 1 FROM novos WHERE novos.aluno_id = g.aluno_id AND novos.notas_lancadas > 0)
+  ),
+  gravados AS (
+    INSERT INTO nota_agregado_aluno (aluno_id, departamento_id, soma_notas, notas_lancadas, menor_nota, maior_nota)
+    SELECT aluno_id, departamento_id, soma_notas, notas_lancadas, menor_nota, maior_nota
+    FROM novos
+    WHERE notas_lancadas > 0
+    ON CONFLICT (aluno_id) DO UPDATE SET
+      departamento_id = EXCLUDED.departamento_id,
+      soma_notas = EXCLUDED.soma_notas,
+      notas_lancadas = EXCLUDED.notas_lancadas,
+      menor_nota = EXCLUDED.menor_nota,
+      maior_nota = EXCLUDED.maior_nota
+  ),
+  deltas AS (
+    SELECT
+      departamento_id,
+      SUM(soma_notas) AS soma_notas,
+      SUM(notas_lancadas) AS notas_lancadas,
+      SUM(avaliado) AS alunos_avaliados,
+      MIN(menor_nota) AS menor_nota,
+      MAX(maior_nota) AS maior_nota
+    FROM (
+      SELECT departamento_id, soma_notas, notas_lancadas,
+             CASE WHEN notas_lancadas > 0 THEN 1 ELSE 0 END AS avaliado,
+             menor_nota, maior_nota
+      FROM novos
+      UNION ALL
+      SELECT departamento_id, -soma_notas, -notas_lancadas, -1, NULL, NULL
+      FROM antigos
+    ) x
+    GROUP BY departamento_id
+  )
+  INSERT INTO nota_agregado_departamento AS d
+    (departamento_id, soma_notas, notas_lancadas, alunos_avaliados, menor_nota, maior_nota)
+  SELECT departamento_id, soma_notas, notas_lancadas, alunos_avaliados, menor_nota, maior_nota
+  FROM deltas
+  WHERE EXISTS (SELECT 1 FROM departamento WHERE departamento.id = deltas.departamento_id)
+  ON CONFLICT (departamento_id) DO UPDATE SET
+    soma_notas = d.soma_notas + EXCLUDED.soma_notas,
+    notas_lancadas = d.notas_lancadas + EXCLUDED.notas_lancadas,
+    alunos_avaliados = d.alunos_avaliados + EXCLUDED.alunos_avaliados,
+    menor_nota = LEAST(d.menor_nota, EXCLUDED.menor_nota),
+    maior_nota = GREATEST(d.maior_nota, EXCLUDED.maior_nota);
+
+  IF cardinality(deps_extremos) > 0 THEN
+    UPDATE nota_agregado_departamento d SET
+      menor_nota = x.menor_nota,
+      maior_nota = x.maior_nota
+    FROM (
+      SELECT departamento_id, MIN(menor_nota) AS menor_nota, MAX(maior_nota) AS maior_nota
+      FROM nota_agregado_aluno
+      WHERE departamento_id = ANY(deps_extremos)
+      GROUP BY departamento_id
+    ) x
+    WHERE d.departamento_id = x.departamento_id;
+  END IF;
+
+  DELETE FROM nota_agregado_departamento WHERE notas_lancadas = 0;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Gatilhos por instrução (com tabelas de transição): um único recálculo por INSERT/UPDATE/DELETE,
+-- inclusive nas remoções em cascata vindas de aluno e prova.
+CREATE OR REPLACE FUNCTION tg_nota_agregados_insert()
+RETURNS TRIGGER AS $$
+BEGIN
+  PERFORM atualizar_agregados_alunos(ARRAY(SELECT DISTINCT aluno_id FROM novas));
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION tg_nota_agregados_update()
+RETURNS TRIGGER AS $$
+BEGIN
+  PERFORM atualizar_agregados_alunos(ARRAY(
+    SELECT aluno_id FROM antigas
+    UNION
+    SELECT aluno_id FROM novas
+  ));
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION tg_nota_agregados_delete()
+RETURNS TRIGGER AS $$
+BEGIN
+  PERFORM atualizar_agregados_alunos(ARRAY(SELECT DISTINCT aluno_id FROM antigas));
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER tg_nota_agregados_insert
+AFTER INSERT ON nota
+REFERENCING NEW TABLE AS novas
+FOR EACH STATEMENT EXECUTE FUNCTION tg_nota_agregados_insert();
+
+CREATE TRIGGER tg_nota_agregados_update
+AFTER UPDATE ON nota
+REFERENCING OLD TABLE AS antigas NEW TABLE AS novas
+FOR EACH STATEMENT EXECUTE FUNCTION tg_nota_agregados_update();
+
+CREATE TRIGGER tg_nota_agregados_delete
+AFTER DELETE ON nota
+REFERENCING OLD TABLE AS antigas
+FOR EACH STATEMENT EXECUTE FUNCTION tg_nota_agregados_delete();
+
+-- Aluno que troca de departamento leva suas notas para o agregado do novo departamento.
+CREATE OR REPLACE FUNCTION tg_aluno_agregados_departamento()
+RETURNS TRIGGER AS $$
+BEGIN
+  PERFORM atualizar_agregados_alunos(ARRAY(
+    SELECT n.id
+    FROM novos n
+    JOIN antigos o ON o.id = n.id
+    WHERE o.departamento_id IS DISTINCT FROM n.departamento_id
+  ));
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER tg_aluno_agregados_departamento
+AFTER UPDATE ON aluno
+REFERENCING OLD TABLE AS antigos NEW TABLE AS novos
+FOR EACH STATEMENT EXECUTE FUNCTION tg_aluno_agregados_departamento();
+
+-- Reconstrução completa (reparo): SELECT reconstruir_agregados_notas();
+CREATE OR REPLACE FUNCTION reconstruir_agregados_notas()
+RETURNS VOID AS $$
+BEGIN
+  -- Bloqueia escritas concorrentes em nota enquanto os agregados são refeitos
+  LOCK TABLE nota IN SHARE MODE;
+
+  DELETE FROM nota_agregado_aluno;
+  DELETE FROM nota_agregado_departamento;
+
+  INSERT INTO nota_agregado_aluno (aluno_id, departamento_id, soma_notas, notas_lancadas, menor_nota, maior_nota)
+  SELECT a.id, a.departamento_id, SUM(n.valor), COUNT(*), MIN(n.valor), MAX(n.valor)
+  FROM nota n
+  JOIN aluno a ON a.id = n.aluno_id
+  GROUP BY a.id, a.departamento_id;
+
+  INSERT INTO nota_agregado_departamento
+    (departamento_id, soma_notas, notas_lancadas, alunos_avaliados, menor_nota, maior_nota)
+  SELECT departamento_id, SUM(soma_notas), SUM(notas_lancadas), COUNT(*), MIN(menor_nota), MAX(maior_nota)
+  FROM nota_agregado_aluno
+  GROUP BY departamento_id;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT reconstruir_agregados_notas();
@@ -0,0 +1,42 @@
+-- V7__nota_departamento_fk.sql
+
+-- Substitui o gatilho check_nota_mesmo_departamento() (dois SELECTs extras por linha inserida ou
+-- atualizada em nota) por uma regra declarativa: nota passa a guardar o departamento_id e as FKs
+-- compostas exigem que aluno e prova pertençam a esse mesmo departamento.
+
+-- Alvos das FKs compostas
+ALTER TABLE aluno ADD CONSTRAINT uq_aluno_id_departamento UNIQUE (id, departamento_id);
+ALTER TABLE prova ADD CONSTRAINT uq_prova_id_departamento UNIQUE (id, departamento_id);
+
+ALTER TABLE nota ADD COLUMN departamento_id BIGINT;
+
+UPDATE nota n
+SET departamento_id = a.departamento_id
+FROM aluno a
+WHERE a.id = n.aluno_id;
+
+ALTER TABLE nota ALTER COLUMN departamento_id SET NOT NULL;
+
+DROP TRIGGER tg_nota_mesmo_departamento ON nota;
+DROP FUNCTION check_nota_mesmo_departamento();
+
+-- Se algum aluno trocou de departamento depois de receber notas (o gatilho antigo não via isso),
+-- a criação de fk_nota_prova falha aqui e os registros precisam ser corrigidos antes da migração.
+ALTER TABLE nota
+  DROP CONSTRAINT fk_nota_aluno,
+  DROP CONSTRAINT fk_nota_prova;
+
+-- ON UPDATE NO ACTION: aluno ou prova com notas não pode trocar de departamento. Propagar a troca
+-- para nota.departamento_id violaria sempre a outra FK (a prova ou o aluno continua no
+-- departamento antigo); a API responde 409 com base no nome destas constraints.
+ALTER TABLE nota
+  ADD CONSTRAINT fk_nota_aluno
+    FOREIGN KEY (aluno_id, departamento_id) REFERENCES aluno(id, departamento_id)
+    ON UPDATE NO ACTION ON DELETE CASCADE,
+  ADD CONSTRAINT fk_nota_prova
+    FOREIGN KEY (prova_id, departamento_id) REFERENCES prova(id, departamento_id)
+    ON UPDATE NO ACTION ON DELETE CASCADE;
+
+-- Com a regra acima, aluno que troca de departamento não tem notas nem linha de agregado a mover.
+DROP TRIGGER tg_aluno_agregados_departamento ON aluno;
+DROP FUNCTION tg_aluno_agregados_departamento();
@@ -0,0 +1,53 @@
+-- V8__sincronizacao_incremental.sql
+
+-- Sincronização incremental (?since=): o cliente pede só o que mudou depois do último instante visto.
+-- Alterações saem de updated_at (mantido por set_updated_at()); exclusões, que não deixam linha para
+-- consultar, ficam registradas em "exclusao" por um gatilho AFTER DELETE, inclusive as em cascata.
+
+CREATE INDEX IF NOT EXISTS ix_departamento_updated_at ON departamento(updated_at);
+CREATE INDEX IF NOT EXISTS ix_aluno_updated_at ON aluno(updated_at);
+CREATE INDEX IF NOT EXISTS ix_prova_updated_at ON prova(updated_at);
+CREATE INDEX IF NOT EXISTS ix_nota_updated_at ON nota(updated_at);
+
+CREATE TABLE exclusao (
+  id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  tabela       TEXT NOT NULL,
+  -- Chave da linha excluída, com as colunas passadas ao gatilho (ex.: {"aluno_id": 1, "prova_id": 2})
+  chave        JSONB NOT NULL,
+  excluido_em  TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX ix_exclusao_tabela_excluido_em ON exclusao(tabela, excluido_em);
+-- Limpeza periódica dos registros mais antigos que a retenção
+CREATE INDEX ix_exclusao_excluido_em ON exclusao(excluido_em);
+
+CREATE OR REPLACE FUNCTION registrar_exclusao()
+RETURNS TRIGGER AS $$
+DECLARE
+  coluna TEXT;
+  chave JSONB := '{}'::jsonb;
+  linha JSONB := to_jsonb(OLD);
+BEGIN
+  FOREACH coluna IN ARRAY TG_ARGV LOOP
+    chave := chave || jsonb_build_object(coluna, linha -> coluna);
+  END LOOP;
+  INSERT INTO exclusao (tabela, chave) VALUES (TG_TABLE_NAME, chave);
+  RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER tg_departamento_exclusao
+AFTER DELETE ON departamento
+FOR EACH ROW EXECUTE FUNCTION registrar_exclusao('id');
+
+CREATE TRIGGER tg_aluno_exclusao
+AFTER DELETE ON aluno
+FOR EACH ROW EXECUTE FUNCTION registrar_exclusao('id');
+
+CREATE TRIGGER tg_prova_exclusao
+AFTER DELETE ON prova
+FOR EACH ROW EXECUTE FUNCTION registrar_exclusao('id');
+
+CREATE TRIGGER tg_nota_exclusao
+AFTER DELETE ON nota
+FOR EACH ROW EXECUTE FUNCTION registrar_exclusao('aluno_id', 'prova_id');
@@ -0,0 +1,28 @@
+-- V9__busca_alunos.sql
+
+-- Busca de alunos por nome, RA e e-mail no servidor, sem diferenciar maiúsculas nem acentos.
+-- pg_trgm indexa trigramas do texto normalizado: o mesmo índice GiST atende o trecho exato
+-- (LIKE '%termo%'), a busca aproximada (termo <% texto) e devolve as linhas já em ordem de
+-- distância (termo <<-> texto), então a página mais relevante sai sem ordenar todos os encontrados.
+-- Ambas são extensões "trusted" desde o PostgreSQL 13: o dono do banco pode criá-las.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- unaccent() é STABLE (o dicionário pode mudar), então não pode aparecer em índice. Fixar o
+-- dicionário torna o resultado determinístico e permite declarar a função IMMUTABLE.
+CREATE OR REPLACE FUNCTION sem_acento(texto TEXT) RETURNS TEXT
+LANGUAGE sql IMMUTABLE STRICT PARALLEL SAFE AS $$
+  SELECT public.unaccent('public.unaccent'::regdictionary, texto)
+$$;
+
+-- Texto pesquisável do aluno; as consultas precisam usar exatamente esta expressão para o
+-- planejador reconhecer o índice. sem_acento vai qualificado como o unaccent acima: pg_dump/restore,
+-- ANALYZE e autovacuum avaliam o índice com search_path restrito, onde o nome puro não é achado.
+-- (SET search_path na função também resolveria, mas impede o inline da função SQL.)
+CREATE OR REPLACE FUNCTION aluno_texto_busca(nome TEXT, ra TEXT, email TEXT) RETURNS TEXT
+LANGUAGE sql IMMUTABLE PARALLEL SAFE AS $$
+  SELECT lower(public.sem_acento(nome || ' ' || ra || ' ' || coalesce(email, '')))
+$$;
+
+CREATE INDEX IF NOT EXISTS ix_aluno_busca_trgm
+  ON aluno USING gist (aluno_texto_busca(nome, ra, email) gist_trgm_ops);
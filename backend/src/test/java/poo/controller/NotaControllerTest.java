@@ -0,0 +1,64 @@
+package poo.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import poo.service.NotaService;
+import poo.service.support.SincronizacaoSupport;
+import poo.service.support.VersaoEntidades;
+
+@ExtendWith(MockitoExtension.class)
+class NotaControllerTest {
+
+  @Mock
+  private NotaService service;
+
+  @Mock
+  private VersaoEntidades versoes;
+
+  @Mock
+  private SincronizacaoSupport sincronizacao;
+
+  @Test
+  void shouldReturnBadRequest_whenExpandIsUnknown() {
+    // Given
+    NotaController controller = new NotaController(service, versoes, sincronizacao);
+
+    // When
+    ResponseStatusException erro = assertThrows(
+      ResponseStatusException.class,
+      () -> controller.list(null, null, "aluno,turma", mock(WebRequest.class))
+    );
+
+    // Then
+    assertEquals(HttpStatus.BAD_REQUEST, erro.getStatusCode());
+    assertEquals("Expansão não suportada: turma. Use aluno, prova ou departamento.", erro.getReason());
+    verifyNoInteractions(service, versoes, sincronizacao);
+  }
+
+  @Test
+  void shouldReturnBadRequest_whenListingModesAreCombined() throws Exception {
+    // Given: mapeamentos reais, para que a combinação não vire mapeamento ambíguo (500)
+    MockMvc mvc = MockMvcBuilders.standaloneSetup(new NotaController(service, versoes, sincronizacao)).build();
+
+    // When / Then
+    mvc.perform(get("/api/notas").param("chaves", "1:2").param("limit", "10"))
+      .andExpect(status().isBadRequest());
+    mvc.perform(get("/api/notas").param("since", "10").param("cursor", "abc"))
+      .andExpect(status().isBadRequest());
+    verifyNoInteractions(service, sincronizacao);
+  }
+}
@@ -0,0 +1,59 @@
+package poo.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import poo.service.FormatoExportacao;
+import poo.service.NotaExportService;
+
+@ExtendWith(MockitoExtension.class)
+class NotaExportControllerTest {
+
+  @Mock
+  private NotaExportService service;
+
+  @Test
+  void shouldStreamCsvAsAttachment_whenFormatoCsv() throws IOException {
+    // Given
+    NotaExportController controller = new NotaExportController(service);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // When
+    ResponseEntity<StreamingResponseBody> resposta = controller.exportar("CSV", 3L, null);
+    resposta.getBody().writeTo(out);
+
+    // Then
+    assertEquals("text/csv;charset=UTF-8", resposta.getHeaders().getContentType().toString());
+    assertEquals("attachment; filename=\"notas.csv\"", resposta.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+    verify(service).exportar(same(3L), same(null), same(FormatoExportacao.CSV), same(out));
+  }
+
+  @Test
+  void shouldDefaultToNdjson_andRejectUnknownFormato() {
+    // Given
+    NotaExportController controller = new NotaExportController(service);
+
+    // When
+    ResponseEntity<StreamingResponseBody> resposta = controller.exportar(null, null, null);
+    ResponseStatusException erro = assertThrows(ResponseStatusException.class, () -> controller.exportar("xml", null, null));
+
+    // Then
+    assertEquals("application/x-ndjson;charset=UTF-8", resposta.getHeaders().getContentType().toString());
+    assertEquals(HttpStatus.BAD_REQUEST, erro.getStatusCode(), "Formato desconhecido deveria ser 400");
+    verifyNoInteractions(service);
+  }
+}
@@ -0,0 +1,165 @@
+package poo.dao.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.lang.NonNull;
+import org.springframework.test.util.ReflectionTestUtils;
+import poo.model.importacao.AlunoImportLinha;
+import poo.model.importacao.AlunoImportResultado;
+import poo.model.importacao.AlunoImportStatus;
+
+@ExtendWith(MockitoExtension.class)
+class AlunoImportDaoJdbcTest {
+
+  private static final @NonNull String SQL_COPY = readStaticString("SQL_COPY");
+  private static final @NonNull String SQL_MARCAR_INVALIDOS = readStaticString("SQL_MARCAR_INVALIDOS");
+  private static final @NonNull String SQL_MARCAR_DEPARTAMENTO_INEXISTENTE = readStaticString("SQL_MARCAR_DEPARTAMENTO_INEXISTENTE");
+  private static final @NonNull String SQL_MARCAR_RA_DUPLICADO = readStaticString("SQL_MARCAR_RA_DUPLICADO");
+  private static final @NonNull String SQL_MARCAR_EMAIL_DUPLICADO = readStaticString("SQL_MARCAR_EMAIL_DUPLICADO");
+  private static final @NonNull String SQL_MESCLAR = readStaticString("SQL_MESCLAR");
+  private static final @NonNull String SQL_MARCAR_CONFLITOS_CONCORRENTES = readStaticString("SQL_MARCAR_CONFLITOS_CONCORRENTES");
+  private static final @NonNull String SQL_TOTAIS = readStaticString("SQL_TOTAIS");
+  private static final @NonNull String SQL_REJEITADAS = readStaticString("SQL_REJEITADAS");
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  @InjectMocks
+  private AlunoImportDaoJdbc dao;
+
+  @Test
+  void shouldClassifyBeforeMerging_andSummarizeByStatus() throws Exception {
+    // Given
+    ResultSet totais = mock(ResultSet.class);
+    when(totais.getString("status")).thenReturn("INSERIDO", "RA_DUPLICADO", "INVALIDO");
+    when(totais.getLong("total")).thenReturn(8L, 1L, 1L);
+    doAnswer(invocation -> {
+      RowCallbackHandler handler = invocation.getArgument(1);
+      for (int i = 0; i < 3; i++) {
+        handler.processRow(totais);
+      }
+      return null;
+    }).when(jdbcTemplate).query(eq(SQL_TOTAIS), any(RowCallbackHandler.class));
+    AlunoImportLinha rejeitada = linha(3L, "RA1", null, AlunoImportStatus.RA_DUPLICADO);
+    when(jdbcTemplate.query(eq(SQL_REJEITADAS), any(RowMapper.class))).thenReturn(List.of(rejeitada));
+
+    // When
+    AlunoImportResultado resultado = dao.importarCsv(new StringReader("ra,nome\n"));
+
+    // Then: validação e duplicidades antes do INSERT; corridas perdidas reclassificadas depois dele
+    InOrder ordem = inOrder(jdbcTemplate);
+    ordem.verify(jdbcTemplate).update(SQL_MARCAR_INVALIDOS);
+    ordem.verify(jdbcTemplate).update(SQL_MARCAR_DEPARTAMENTO_INEXISTENTE);
+    ordem.verify(jdbcTemplate).update(SQL_MARCAR_RA_DUPLICADO);
+    ordem.verify(jdbcTemplate).update(SQL_MARCAR_EMAIL_DUPLICADO);
+    ordem.verify(jdbcTemplate).update(SQL_MESCLAR);
+    ordem.verify(jdbcTemplate).update(SQL_MARCAR_CONFLITOS_CONCORRENTES);
+    assertEquals(10, resultado.getTotalLinhas(), "Total deveria somar todas as classificações");
+    assertEquals(
+      Map.of(AlunoImportStatus.INSERIDO, 8L, AlunoImportStatus.RA_DUPLICADO, 1L, AlunoImportStatus.INVALIDO, 1L),
+      resultado.getTotaisPorStatus()
+    );
+    assertEquals(List.of(rejeitada), resultado.getRejeitadas());
+  }
+
+  @Test
+  void shouldMapRejectedRow_withFileLineAndStatus() throws Exception {
+    // Given
+    ResultSet rs = mock(ResultSet.class);
+    when(rs.getLong("linha_arquivo")).thenReturn(4L);
+    when(rs.getString("ra")).thenReturn("RA9");
+    when(rs.getString("email")).thenReturn("x@exemplo.com");
+    when(rs.getString("status")).thenReturn("EMAIL_DUPLICADO");
+
+    // When
+    AlunoImportLinha linha = readRowMapper().mapRow(rs, 0);
+
+    // Then
+    assertEquals(4L, linha.getLinha());
+    assertEquals("RA9", linha.getRa());
+    assertEquals("x@exemplo.com", linha.getEmail());
+    assertEquals(AlunoImportStatus.EMAIL_DUPLICADO, linha.getStatus());
+    assertTrue(SQL_REJEITADAS.contains("linha + 1"), "Linha informada deveria contar o cabeçalho do arquivo");
+  }
+
+  @Test
+  void shouldWrapReadFailure_andSkipClassification_whenCopyFails() throws Exception {
+    // Given
+    Reader csv = new StringReader("ra,nome\n");
+    IOException falha = new IOException("conexão do upload caiu");
+    CopyManager copy = mock(CopyManager.class);
+    when(copy.copyIn(SQL_COPY, csv)).thenThrow(falha);
+    PGConnection pg = mock(PGConnection.class);
+    when(pg.getCopyAPI()).thenReturn(copy);
+    Connection con = mock(Connection.class);
+    when(con.unwrap(PGConnection.class)).thenReturn(pg);
+    // lenient: execute(String) da tabela de staging tem o mesmo nome e não deve acusar stub divergente
+    lenient().when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+      .thenAnswer(invocation -> invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(con));
+
+    // When
+    UncheckedIOException erro = assertThrows(UncheckedIOException.class, () -> dao.importarCsv(csv));
+
+    // Then
+    assertSame(falha, erro.getCause());
+    verify(jdbcTemplate, never()).update(SQL_MESCLAR);
+  }
+
+  private static AlunoImportLinha linha(Long numero, String ra, String email, AlunoImportStatus status) {
+    AlunoImportLinha linha = new AlunoImportLinha();
+    linha.setLinha(numero);
+    linha.setRa(ra);
+    linha.setEmail(email);
+    linha.setStatus(status);
+    return linha;
+  }
+
+  private static @NonNull String readStaticString(@NonNull String fieldName) {
+    Object value = Objects.requireNonNull(
+        ReflectionTestUtils.getField(AlunoImportDaoJdbc.class, fieldName),
+        "Não foi possível ler o campo " + fieldName);
+    if (value instanceof String stringValue) {
+      return stringValue;
+    }
+    throw new IllegalStateException("O campo " + fieldName + " não é uma String");
+  }
+
+  @SuppressWarnings("unchecked")
+  private static @NonNull RowMapper<AlunoImportLinha> readRowMapper() {
+    Object value = ReflectionTestUtils.getField(AlunoImportDaoJdbc.class, "LINHA_ROW_MAPPER");
+    return (RowMapper<AlunoImportLinha>) Objects.requireNonNull(value, "Não foi possível ler LINHA_ROW_MAPPER");
+  }
+}
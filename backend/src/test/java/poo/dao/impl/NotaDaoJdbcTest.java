@@ -0,0 +1,49 @@
+package poo.dao.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+
+import java.util.EnumSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import poo.model.NotaExpandida.Expansao;
+import poo.model.NotaId;
+
+@ExtendWith(MockitoExtension.class)
+class NotaDaoJdbcTest {
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  @InjectMocks
+  private NotaDaoJdbc dao;
+
+  @Test
+  void shouldJoinOnlyRequestedTables_whenFindPageExpanded() {
+    // Given
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+    ArgumentCaptor<Object[]> params = ArgumentCaptor.forClass(Object[].class);
+
+    // When
+    dao.findPageExpanded(3L, null, new NotaId(3L, 10L), 21, EnumSet.of(Expansao.PROVA));
+
+    // Then
+    verify(jdbcTemplate).query(sql.capture(), any(RowMapper.class), params.capture());
+    String consulta = sql.getValue();
+    assertTrue(consulta.contains(" JOIN prova p ON p.id = n.prova_id"), "Expansão pedida deveria virar JOIN");
+    assertTrue(consulta.contains("p.titulo AS prova_titulo"), "Só as colunas exibidas da prova deveriam ser lidas");
+    assertFalse(consulta.contains("JOIN aluno"), "Aluno não foi pedido e não deveria ser juntado");
+    assertFalse(consulta.contains("JOIN departamento"), "Departamento não foi pedido e não deveria ser juntado");
+    assertTrue(consulta.contains("WHERE n.aluno_id = ? AND (n.prova_id, n.aluno_id) > (?, ?)"), "Filtros deveriam usar colunas qualificadas");
+    assertArrayEquals(new Object[] { 3L, 10L, 3L, 21 }, params.getValue());
+  }
+}
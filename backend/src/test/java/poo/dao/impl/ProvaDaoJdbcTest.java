@@ -1,10 +1,12 @@
 package poo.dao.impl;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -17,6 +19,7 @@ import java.util.Objects;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -24,6 +27,7 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.lang.NonNull;
 import org.springframework.test.util.ReflectionTestUtils;
+import poo.dao.ProvaDao;
 import poo.model.Prova;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +37,12 @@ class ProvaDaoJdbcTest {
       Objects.requireNonNull(readStaticString("INSERT_SQL"));
   private static final @NonNull String SELECT_BY_ID_SQL =
       Objects.requireNonNull(readStaticString("SELECT_BY_ID_SQL"));
+  private static final @NonNull String SELECT_BY_IDS_SQL =
+      Objects.requireNonNull(readStaticString("SELECT_BY_IDS_SQL"));
+  private static final @NonNull String SELECT_BY_DEPARTAMENTO_PERIODO_SQL =
+      Objects.requireNonNull(readStaticString("SELECT_BY_DEPARTAMENTO_PERIODO_SQL"));
+  private static final @NonNull String SELECT_BY_DEPARTAMENTO_PERIODO_APOS_SQL =
+      Objects.requireNonNull(readStaticString("SELECT_BY_DEPARTAMENTO_PERIODO_APOS_SQL"));
   private static final @NonNull String UPDATE_SQL =
       Objects.requireNonNull(readStaticString("UPDATE_SQL"));
   private static final @NonNull RowMapper<Prova> ROW_MAPPER = readRowMapper();
@@ -87,6 +97,60 @@ class ProvaDaoJdbcTest {
     verify(jdbcTemplate).query(SELECT_BY_ID_SQL, ROW_MAPPER, idInexistente);
   }
 
+  @Test
+  void shouldBindIdsAsSingleArrayParameter_whenFindByIds() {
+    // Given
+    Prova prova = buildProva(7L, 42L, "Álgebra I", LocalDate.of(2023, 5, 10), null);
+    ArgumentCaptor<Object> parametro = ArgumentCaptor.forClass(Object.class);
+    when(jdbcTemplate.query(eq(SELECT_BY_IDS_SQL), eq(ROW_MAPPER), parametro.capture())).thenReturn(List.of(prova));
+
+    // When
+    List<Prova> resultado = dao.findByIds(List.of(7L, 8L));
+
+    // Then
+    assertEquals(List.of(prova), resultado);
+    assertTrue(SELECT_BY_IDS_SQL.contains("id = ANY(?)"), "Deveria haver um único placeholder para todos os ids");
+    assertArrayEquals(new Long[] { 7L, 8L }, (Object[]) parametro.getValue(), "Ids deveriam ir num único parâmetro array");
+  }
+
+  @Test
+  void shouldQueryHalfOpenRange_whenFindByDepartamentoAndPeriodo() {
+    // Given
+    LocalDate from = LocalDate.of(2024, 3, 1);
+    Prova prova = buildProva(7L, 42L, "Álgebra I", LocalDate.of(2024, 3, 10), null);
+    when(jdbcTemplate.query(SELECT_BY_DEPARTAMENTO_PERIODO_SQL, ROW_MAPPER, 42L, Date.valueOf(from), null, 50))
+        .thenReturn(List.of(prova));
+
+    // When
+    List<Prova> resultado = dao.findByDepartamentoAndPeriodo(42L, from, null, null, 50);
+
+    // Then
+    assertEquals(List.of(prova), resultado);
+    assertTrue(SELECT_BY_DEPARTAMENTO_PERIODO_SQL.contains("departamento_id = ? AND data >= "), "Filtro deveria casar com ix_prova_departamento_calendario");
+    assertTrue(SELECT_BY_DEPARTAMENTO_PERIODO_SQL.contains("data < COALESCE(?::date, 'infinity')"), "Fim do período deveria ser exclusivo");
+    assertTrue(SELECT_BY_DEPARTAMENTO_PERIODO_SQL.endsWith("ORDER BY data, titulo, id LIMIT ?"), "Ordem deveria ser a do índice");
+  }
+
+  @Test
+  void shouldContinueAfterLastKey_whenFindByDepartamentoAndPeriodoWithPosicao() {
+    // Given
+    LocalDate from = LocalDate.of(2024, 3, 1);
+    LocalDate to = LocalDate.of(2024, 7, 1);
+    LocalDate ultima = LocalDate.of(2024, 3, 10);
+    Prova prova = buildProva(9L, 42L, "Cálculo I", ultima, null);
+    when(jdbcTemplate.query(SELECT_BY_DEPARTAMENTO_PERIODO_APOS_SQL, ROW_MAPPER,
+        42L, Date.valueOf(from), Date.valueOf(to), Date.valueOf(ultima), "Álgebra I", 7L, 50))
+        .thenReturn(List.of(prova));
+
+    // When
+    List<Prova> resultado = dao.findByDepartamentoAndPeriodo(42L, from, to,
+        new ProvaDao.Posicao(ultima, "Álgebra I", 7L), 50);
+
+    // Then
+    assertEquals(List.of(prova), resultado);
+    assertTrue(SELECT_BY_DEPARTAMENTO_PERIODO_APOS_SQL.contains("(data, titulo, id) > (?, ?, ?)"), "Próxima página deveria comparar a chave inteira, sem OFFSET");
+  }
+
   @Test
   void shouldUpdateProva_whenStateIsValidAndIdPresent() {
     // Given
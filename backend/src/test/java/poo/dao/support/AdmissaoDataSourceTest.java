@@ -0,0 +1,102 @@
+package poo.dao.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.web.server.ResponseStatusException;
+
+class AdmissaoDataSourceTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final DataSource alvo = mock(DataSource.class);
+
+  @Test
+  void shouldRejectBeforeAskingPool_whenPermitsBusyLongerThanMaxWait() throws Exception {
+    // Given: uma permissão, presa a uma conexão ainda aberta
+    when(alvo.getConnection()).thenReturn(mock(Connection.class));
+    AdmissaoDataSource dataSource = admissao(1);
+    Connection ocupada = dataSource.getConnection();
+
+    // When
+    ResponseStatusException ex = assertThrows(ResponseStatusException.class, dataSource::getConnection);
+
+    // Then
+    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatusCode(), "Sem permissão dentro da espera máxima deveria responder 503");
+    assertEquals(1.0, registry.get(AdmissaoDataSource.METRICA + ".rejeitadas").counter().count());
+    verify(alvo, times(1)).getConnection();
+    ocupada.close();
+    dataSource.getConnection();
+    verify(alvo, times(2)).getConnection();
+  }
+
+  @Test
+  void shouldReleasePermitOnce_whenConnectionClosedTwice() throws Exception {
+    // Given
+    when(alvo.getConnection()).thenReturn(mock(Connection.class));
+    AdmissaoDataSource dataSource = admissao(2);
+    Connection conexao = dataSource.getConnection();
+
+    // When
+    conexao.close();
+    conexao.close();
+
+    // Then
+    assertEquals(2.0, disponiveis(), "Fechar de novo não deveria devolver permissão extra");
+  }
+
+  @Test
+  void shouldReleasePermit_whenPoolFailsToConnect() throws Exception {
+    // Given
+    when(alvo.getConnection()).thenThrow(new SQLException("pool esgotado"));
+    AdmissaoDataSource dataSource = admissao(1);
+
+    // When
+    assertThrows(SQLException.class, dataSource::getConnection);
+
+    // Then
+    assertEquals(1.0, disponiveis(), "Falha ao conectar não deveria reter a permissão");
+  }
+
+  @Test
+  void shouldHoldPermit_untilTransactionReleasesConnection() throws Exception {
+    // Given: o gerenciador de transações pede a conexão pelo DataSource com admissão
+    when(alvo.getConnection()).thenReturn(mock(Connection.class));
+    AdmissaoDataSource dataSource = admissao(1);
+    DataSourceTransactionManager txManager = new DataSourceTransactionManager(dataSource);
+    TransactionStatus tx = txManager.getTransaction(new DefaultTransactionDefinition());
+
+    // When: uma transação nova, sem permissão livre, não chega a pedir conexão ao pool
+    DefaultTransactionDefinition nova = new DefaultTransactionDefinition(DefaultTransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    CannotCreateTransactionException ex = assertThrows(CannotCreateTransactionException.class, () -> txManager.getTransaction(nova));
+
+    // Then
+    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ((ResponseStatusException) ex.getCause()).getStatusCode());
+    verify(alvo, times(1)).getConnection();
+    assertEquals(0.0, disponiveis(), "Permissão fica com a transação");
+    txManager.commit(tx);
+    assertEquals(1.0, disponiveis(), "Fim da transação devolve a permissão");
+  }
+
+  private AdmissaoDataSource admissao(int permissoes) {
+    return new AdmissaoDataSource("crud", alvo, permissoes, Duration.ofMillis(50), 10, () -> registry);
+  }
+
+  private double disponiveis() {
+    return registry.get(AdmissaoDataSource.METRICA + ".disponiveis").gauge().value();
+  }
+}
@@ -0,0 +1,131 @@
+package poo.dao.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+class JdbcTemplateComPrazoTest {
+
+  private final AtomicInteger queryTimeout = new AtomicInteger();
+  private final AtomicBoolean cancelado = new AtomicBoolean();
+  private final Statement statement = (Statement) Proxy.newProxyInstance(
+    getClass().getClassLoader(),
+    new Class<?>[] { Statement.class },
+    (proxy, method, args) -> switch (method.getName()) {
+      case "getQueryTimeout" -> queryTimeout.get();
+      case "setQueryTimeout" -> {
+        queryTimeout.set((Integer) args[0]);
+        yield null;
+      }
+      case "cancel" -> {
+        cancelado.set(true);
+        yield null;
+      }
+      case "hashCode" -> System.identityHashCode(proxy);
+      case "equals" -> proxy == args[0];
+      default -> null;
+    }
+  );
+  private final JdbcTemplateComPrazo jdbc = new JdbcTemplateComPrazo(
+    (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { DataSource.class }, (p, m, a) -> null)
+  );
+
+  @AfterEach
+  void encerrarPrazo() {
+    PrazoRequisicao.encerrar();
+  }
+
+  @Test
+  void shouldApplyRemainingTime_asQueryTimeout() throws Exception {
+    // Given
+    PrazoRequisicao.iniciar(Duration.ofMillis(2500));
+
+    // When
+    jdbc.applyStatementSettings(statement);
+
+    // Then
+    assertEquals(3, queryTimeout.get(), "Restante do prazo deveria virar queryTimeout, arredondado para cima");
+  }
+
+  @Test
+  void shouldKeepTemplateTimeout_whenShorterThanDeadline() throws Exception {
+    // Given
+    jdbc.setQueryTimeout(2);
+    PrazoRequisicao.iniciar(Duration.ofSeconds(30));
+
+    // When
+    jdbc.applyStatementSettings(statement);
+
+    // Then
+    assertEquals(2, queryTimeout.get(), "Timeout do template menor que o prazo deveria prevalecer");
+  }
+
+  @Test
+  void shouldLeaveStatementAlone_withoutDeadline() throws Exception {
+    jdbc.applyStatementSettings(statement);
+
+    assertEquals(0, queryTimeout.get(), "Sem prazo o statement não deveria ganhar timeout");
+  }
+
+  @Test
+  void shouldRefuseQuery_whenDeadlineAlreadyPassed() {
+    // Given
+    PrazoRequisicao.iniciar(Duration.ZERO);
+
+    // When / Then
+    assertThrows(QueryTimeoutException.class, () -> jdbc.applyStatementSettings(statement));
+  }
+
+  @Test
+  void shouldCancelRunningStatement_whenDeadlineCancelled() throws Exception {
+    // Given
+    PrazoRequisicao prazo = PrazoRequisicao.iniciar(Duration.ofSeconds(10));
+    jdbc.applyStatementSettings(statement);
+
+    // When
+    prazo.cancelar();
+
+    // Then
+    assertTrue(cancelado.get(), "Statement em execução deveria ser cancelado");
+    assertThrows(QueryTimeoutException.class, () -> jdbc.applyStatementSettings(statement), "Novas consultas no prazo cancelado deveriam ser recusadas");
+  }
+
+  @Test
+  void shouldKeepStatementCancellable_withoutTimeLimit() throws Exception {
+    // Given: exportação, sem limite de tempo
+    PrazoRequisicao prazo = PrazoRequisicao.iniciarSemLimite();
+    jdbc.applyStatementSettings(statement);
+
+    // When
+    prazo.cancelar();
+
+    // Then
+    assertEquals(0, queryTimeout.get(), "Sem limite o statement não deveria ganhar timeout");
+    assertTrue(cancelado.get(), "Desconexão do cliente deveria cancelar o statement mesmo sem limite");
+  }
+
+  @Test
+  void shouldForgetStatement_afterItExecutes() throws Exception {
+    // Given
+    PrazoRequisicao prazo = PrazoRequisicao.iniciar(Duration.ofSeconds(10));
+    jdbc.applyStatementSettings(statement);
+
+    // When: o JdbcTemplate trata os avisos logo depois de executar
+    jdbc.handleWarnings(statement);
+    prazo.cancelar();
+
+    // Then
+    assertFalse(cancelado.get(), "Statement já executado não deveria continuar registrado no prazo");
+  }
+}
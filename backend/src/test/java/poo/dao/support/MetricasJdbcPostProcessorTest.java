@@ -0,0 +1,76 @@
+package poo.dao.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import poo.dao.ProvaDao;
+import poo.dao.impl.ProvaDaoJdbc;
+import poo.model.Prova;
+
+@ExtendWith(MockitoExtension.class)
+class MetricasJdbcPostProcessorTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void shouldRecordLatencyAndRows_whenDaoCallSucceeds() {
+    // Given
+    when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenReturn(List.of(new Prova(), new Prova()));
+    ProvaDao dao = instrumentar(new ProvaDaoJdbc(jdbcTemplate));
+
+    // When
+    dao.findAll();
+    dao.findAll();
+
+    // Then
+    assertTrue(AopUtils.isAopProxy(dao), "DAO anotado deveria receber proxy");
+    var tempo = registry.find(MetricasJdbcInterceptor.METRICA_TEMPO)
+      .tags("dao", "ProvaDaoJdbc", "operacao", "findAll", "tabela", "prova")
+      .timer();
+    assertNotNull(tempo, "Timer deveria ser registrado com as tags do DAO");
+    assertEquals(2, tempo.count(), "Cada chamada deveria ser medida");
+    var linhas = registry.find(MetricasJdbcInterceptor.METRICA_LINHAS).tags("operacao", "findAll").summary();
+    assertNotNull(linhas, "Resumo de linhas deveria ser registrado");
+    assertEquals(4.0, linhas.totalAmount(), "Linhas devolvidas deveriam ser somadas");
+  }
+
+  @Test
+  void shouldCountError_whenDaoCallFails() {
+    // Given
+    when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenThrow(new DataAccessResourceFailureException("falha"));
+    ProvaDao dao = instrumentar(new ProvaDaoJdbc(jdbcTemplate));
+
+    // When
+    assertThrows(DataAccessResourceFailureException.class, dao::findAll);
+
+    // Then
+    var erros = registry.find(MetricasJdbcInterceptor.METRICA_ERROS).tags("operacao", "findAll").counter();
+    assertNotNull(erros, "Contador de erros deveria ser registrado");
+    assertEquals(1.0, erros.count(), "Falha deveria ser contada");
+    assertEquals(1, registry.get(MetricasJdbcInterceptor.METRICA_TEMPO).timer().count(), "Falha também entra na latência");
+  }
+
+  private ProvaDao instrumentar(ProvaDaoJdbc alvo) {
+    MetricasJdbcPostProcessor postProcessor = new MetricasJdbcPostProcessor(() -> registry);
+    postProcessor.setBeanClassLoader(getClass().getClassLoader());
+    return (ProvaDao) postProcessor.postProcessAfterInitialization(alvo, "provaDaoJdbc");
+  }
+}
@@ -0,0 +1,140 @@
+package poo.dao.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class RoteamentoDataSourceTest {
+
+  @Mock
+  private DataSource primario;
+
+  @Mock
+  private DataSource replica1;
+
+  @Mock
+  private DataSource replica2;
+
+  private final Map<DataSource, Duration> lags = new ConcurrentHashMap<>();
+  private RoteamentoDataSource roteador;
+
+  @BeforeEach
+  void setUp() {
+    Map<String, DataSource> replicas = new LinkedHashMap<>();
+    replicas.put("replica-1", replica1);
+    replicas.put("replica-2", replica2);
+    roteador = new RoteamentoDataSource(primario, replicas, Duration.ofSeconds(5), replica -> {
+      Duration lag = lags.get(replica);
+      if (lag == null) {
+        throw new IllegalStateException("fora do ar");
+      }
+      return lag;
+    });
+    roteador.afterPropertiesSet();
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    RoteamentoDataSource.fixarNoPrimario(false);
+    roteador.destroy();
+  }
+
+  @Test
+  void shouldRouteToPrimary_whenTransactionWrites() {
+    // Given
+    lags.put(replica1, Duration.ZERO);
+    roteador.verificarReplicas();
+
+    // When / Then
+    assertEquals(RoteamentoDataSource.PRIMARIO, roteador.determineCurrentLookupKey(), "Escrita deveria ir para o primário");
+  }
+
+  @Test
+  void shouldRotateHealthyReplicas_whenReadOnly() {
+    // Given
+    lags.put(replica1, Duration.ZERO);
+    lags.put(replica2, Duration.ofSeconds(1));
+    roteador.verificarReplicas();
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+    // When
+    Object primeira = roteador.determineCurrentLookupKey();
+    Object segunda = roteador.determineCurrentLookupKey();
+
+    // Then
+    assertEquals(Set.of("replica-1", "replica-2"), new HashSet<>(List.of(primeira, segunda)), "Leituras deveriam alternar entre as réplicas");
+  }
+
+  @Test
+  void shouldSkipLaggingOrDownReplicas_andFallBackToPrimary() {
+    // Given: replica-1 atrasada além do tolerado, replica-2 fora do ar
+    lags.put(replica1, Duration.ofSeconds(30));
+    roteador.verificarReplicas();
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+    // When / Then
+    assertEquals(RoteamentoDataSource.PRIMARIO, roteador.determineCurrentLookupKey(), "Sem réplica saudável a leitura volta ao primário");
+
+    lags.put(replica2, Duration.ZERO);
+    roteador.verificarReplicas();
+    assertEquals("replica-2", roteador.determineCurrentLookupKey(), "Réplica recuperada deveria voltar ao rodízio");
+  }
+
+  @Test
+  void shouldReadFromPrimary_whenClientJustWrote() {
+    // Given
+    lags.put(replica1, Duration.ZERO);
+    lags.put(replica2, Duration.ZERO);
+    roteador.verificarReplicas();
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+    // When
+    RoteamentoDataSource.fixarNoPrimario(true);
+
+    // Then
+    assertEquals(RoteamentoDataSource.PRIMARIO, roteador.determineCurrentLookupKey(), "Read-your-writes deveria fixar o primário");
+  }
+
+  @Test
+  void shouldKeepPrimaryPin_inTasksSubmittedByPinnedRequest() throws Exception {
+    // Given
+    lags.put(replica1, Duration.ZERO);
+    lags.put(replica2, Duration.ZERO);
+    roteador.verificarReplicas();
+    RoteamentoDataSource.fixarNoPrimario(true);
+    AtomicReference<Object> destino = new AtomicReference<>();
+    Runnable tarefa = ContextoRequisicao.propagar(() -> {
+      TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+      try {
+        destino.set(roteador.determineCurrentLookupKey());
+      } finally {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+      }
+    });
+    RoteamentoDataSource.fixarNoPrimario(false);
+
+    // When
+    Thread outra = Thread.ofVirtual().start(tarefa);
+    outra.join();
+
+    // Then
+    assertEquals(RoteamentoDataSource.PRIMARIO, destino.get(), "Tarefa assíncrona do cliente que escreveu deveria ler do primário");
+  }
+}
@@ -0,0 +1,83 @@
+package poo.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import poo.dao.AlunoImportDao;
+import poo.model.importacao.AlunoImportResultado;
+import poo.service.support.EntidadeAlteradaEvent;
+import poo.service.support.EntidadeAlteradaEvent.Entidade;
+
+@ExtendWith(MockitoExtension.class)
+class AlunoImportServiceImplTest {
+
+  @Mock
+  private AlunoImportDao dao;
+
+  @Mock
+  private ApplicationEventPublisher events;
+
+  @InjectMocks
+  private AlunoImportServiceImpl service;
+
+  @Test
+  void shouldReturnResult_andPublishAlunoChange_whenImportSucceeds() {
+    // Given
+    Reader csv = new StringReader("ra,nome,email,departamento_id,data_nascimento\n");
+    AlunoImportResultado resultado = new AlunoImportResultado();
+    when(dao.importarCsv(csv)).thenReturn(resultado);
+
+    // When
+    AlunoImportResultado retorno = service.importarCsv(csv);
+
+    // Then
+    assertSame(resultado, retorno);
+    verify(events).publishEvent(new EntidadeAlteradaEvent(Entidade.ALUNO));
+  }
+
+  @Test
+  void shouldRejectWholeFile_whenCopyFindsMalformedCsv() {
+    // Given: COPY recusa linhas com colunas a mais ou aspas abertas
+    when(dao.importarCsv(any())).thenThrow(new DataIntegrityViolationException("extra data after last expected column"));
+
+    // When
+    ResponseStatusException erro = assertThrows(ResponseStatusException.class, () -> service.importarCsv(new StringReader("")));
+
+    // Then
+    assertEquals(HttpStatus.BAD_REQUEST, erro.getStatusCode());
+    assertEquals("Arquivo CSV inválido. Esperado cabeçalho ra,nome,email,departamento_id,data_nascimento.", erro.getReason());
+    verifyNoInteractions(events);
+  }
+
+  @Test
+  void shouldReturnBadRequest_whenUploadCannotBeRead() {
+    // Given
+    when(dao.importarCsv(any())).thenThrow(new UncheckedIOException(new IOException("stream fechado")));
+
+    // When
+    ResponseStatusException erro = assertThrows(ResponseStatusException.class, () -> service.importarCsv(new StringReader("")));
+
+    // Then
+    assertEquals(HttpStatus.BAD_REQUEST, erro.getStatusCode());
+    assertEquals("Não foi possível ler o arquivo CSV enviado.", erro.getReason());
+    verifyNoInteractions(events);
+  }
+}
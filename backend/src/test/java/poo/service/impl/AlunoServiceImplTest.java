@@ -0,0 +1,148 @@
+package poo.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import poo.config.LoteProperties;
+import poo.dao.AlunoDao;
+import poo.model.Aluno;
+import poo.model.PaginaCursor;
+import poo.service.support.CrudServiceSupport;
+import poo.service.support.CursorCodec;
+import poo.service.support.SincronizacaoSupport;
+
+@ExtendWith(MockitoExtension.class)
+class AlunoServiceImplTest {
+
+  @Mock
+  private AlunoDao dao;
+
+  @Mock
+  private ApplicationEventPublisher events;
+
+  @Mock
+  private SincronizacaoSupport sincronizacao;
+
+  private AlunoServiceImpl service;
+
+  @BeforeEach
+  void setUp() {
+    service = new AlunoServiceImpl(dao, new CrudServiceSupport(), events, sincronizacao, new LoteProperties(500));
+  }
+
+  @Test
+  void shouldReturnConflict_whenDepartamentoChangesWithNotas() {
+    // Given: V7 recusa a troca porque as notas do aluno ficariam no departamento antigo
+    when(dao.update(any())).thenThrow(violacao("fk_nota_aluno"));
+
+    // When
+    ResponseStatusException erro = assertThrows(ResponseStatusException.class, () -> service.update(1L, aluno(2L)));
+
+    // Then
+    assertEquals(HttpStatus.CONFLICT, erro.getStatusCode());
+    assertEquals("Não é possível trocar o departamento de um aluno que já tem notas lançadas.", erro.getReason());
+    verifyNoInteractions(events);
+  }
+
+  @Test
+  void shouldKeepBadRequest_whenOtherIntegrityViolation() {
+    // Given: departamento inexistente
+    when(dao.update(any())).thenThrow(violacao("fk_aluno_departamento"));
+
+    // When
+    ResponseStatusException erro = assertThrows(ResponseStatusException.class, () -> service.update(1L, aluno(99L)));
+
+    // Then
+    assertEquals(HttpStatus.BAD_REQUEST, erro.getStatusCode());
+  }
+
+  @Test
+  void shouldRejectSearch_whenTermIsShorterThanMinimum() {
+    // When: espaços nas pontas não contam
+    ResponseStatusException erro = assertThrows(ResponseStatusException.class, () -> service.search("  ab ", null, null));
+
+    // Then
+    assertEquals(HttpStatus.BAD_REQUEST, erro.getStatusCode());
+    verifyNoInteractions(dao);
+  }
+
+  @Test
+  void shouldClampLimit_andFetchOneExtraRow() {
+    // When
+    service.search(" ana ", null, null);
+    service.search("ana", null, 500);
+    service.search("ana", null, 0);
+
+    // Then: uma linha a mais indica se existe próxima página
+    verify(dao).search("ana", null, AlunoServiceImpl.DEFAULT_SEARCH_LIMIT + 1);
+    verify(dao).search("ana", null, AlunoServiceImpl.MAX_SEARCH_LIMIT + 1);
+    verify(dao).search("ana", null, 2);
+  }
+
+  @Test
+  void shouldReturnKeysetCursor_fromLastRowOfPage() {
+    // Given: a linha extra só indica que há próxima página
+    when(dao.search("ana", null, 3)).thenReturn(List.of(
+      encontrado(10L, 0.1f), encontrado(11L, 0.25f), encontrado(12L, 0.25f)));
+
+    // When
+    PaginaCursor<Aluno> primeira = service.search("ana", null, 2);
+    service.search("ana", primeira.getNextCursor(), 2);
+
+    // Then
+    assertEquals(List.of(10L, 11L), primeira.getItems().stream().map(Aluno::getId).toList());
+    verify(dao).search("ana", new AlunoDao.Posicao(0.25f, 11L), 3);
+  }
+
+  @Test
+  void shouldEndPaging_whenNoExtraRow() {
+    // Given
+    when(dao.search(eq("ana"), any(), anyInt())).thenReturn(List.of(encontrado(10L, 0.1f)));
+
+    // When
+    PaginaCursor<Aluno> ultima = service.search("ana", CursorCodec.encode(Float.floatToIntBits(0.05f), 3L), null);
+
+    // Then
+    assertEquals(1, ultima.getItems().size());
+    assertNull(ultima.getNextCursor(), "Sem linha extra não deveria haver próxima página");
+    verify(dao).search("ana", new AlunoDao.Posicao(0.05f, 3L), AlunoServiceImpl.DEFAULT_SEARCH_LIMIT + 1);
+  }
+
+  private static DataIntegrityViolationException violacao(String constraint) {
+    PSQLException causa = new PSQLException(new ServerErrorMessage("SERROR\0C23503\0Mviolação de FK\0n" + constraint + "\0"));
+    return new DataIntegrityViolationException("update aluno", causa);
+  }
+
+  private static AlunoDao.Encontrado encontrado(Long id, float distancia) {
+    Aluno aluno = aluno(1L);
+    aluno.setId(id);
+    return new AlunoDao.Encontrado(aluno, distancia);
+  }
+
+  private static Aluno aluno(Long departamentoId) {
+    Aluno aluno = new Aluno();
+    aluno.setRa("RA1");
+    aluno.setNome("Ana");
+    aluno.setDepartamentoId(departamentoId);
+    return aluno;
+  }
+}
@@ -0,0 +1,115 @@
+package poo.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder.BCryptVersion;
+import org.springframework.web.server.ResponseStatusException;
+import poo.config.SenhaProperties;
+import poo.dao.UsuarioDao;
+import poo.model.Usuario;
+import poo.model.UsuarioCredencial;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceImplTest {
+
+  private static final Usuario ADMIN = new Usuario(1L, "admin", "Administrador");
+  // Mesmo formato gerado por crypt('senha123', gen_salt('bf')) no pgcrypto
+  private static final String HASH_PGCRYPTO = BCrypt.hashpw("senha123", BCrypt.gensalt("$2a", 4));
+
+  private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+  @Mock
+  private UsuarioDao dao;
+
+  @AfterEach
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void shouldLoginAndRehash_whenPgcryptoHashHasLowerCost() {
+    // Given
+    when(dao.findCredencial("admin")).thenReturn(Optional.of(new UsuarioCredencial(ADMIN, HASH_PGCRYPTO)));
+    AuthServiceImpl service = service(executor, 5);
+
+    // When
+    Optional<Usuario> usuario = service.login("admin", "senha123");
+
+    // Then
+    assertTrue(usuario.isPresent(), "Hash $2a$ do pgcrypto deveria ser aceito");
+    ArgumentCaptor<String> novoHash = ArgumentCaptor.forClass(String.class);
+    verify(dao).atualizarHash(eq(1L), eq(HASH_PGCRYPTO), novoHash.capture());
+    assertTrue(novoHash.getValue().startsWith("$2a$05$"), "Hash refeito deveria manter $2a$ com o custo configurado");
+  }
+
+  @Test
+  void shouldRejectWithoutRehash_whenPasswordWrong() {
+    // Given
+    when(dao.findCredencial("admin")).thenReturn(Optional.of(new UsuarioCredencial(ADMIN, HASH_PGCRYPTO)));
+    AuthServiceImpl service = service(executor, 5);
+
+    // When / Then
+    assertTrue(service.login("admin", "errada").isEmpty(), "Senha errada não deveria autenticar");
+    verify(dao, never()).atualizarHash(any(), anyString(), anyString());
+  }
+
+  @Test
+  void shouldNotRehash_whenCostAlreadyCurrent() {
+    // Given
+    when(dao.findCredencial("admin")).thenReturn(Optional.of(new UsuarioCredencial(ADMIN, HASH_PGCRYPTO)));
+    AuthServiceImpl service = service(executor, 4);
+
+    // When / Then
+    assertTrue(service.login("admin", "senha123").isPresent(), "Senha correta deveria autenticar");
+    verify(dao, never()).atualizarHash(any(), anyString(), anyString());
+  }
+
+  @Test
+  void shouldReturnEmpty_whenUserUnknown() {
+    // Given
+    when(dao.findCredencial("ninguem")).thenReturn(Optional.empty());
+
+    // When / Then
+    assertTrue(service(executor, 4).login("ninguem", "senha123").isEmpty(), "Usuário inexistente não deveria autenticar");
+  }
+
+  @Test
+  void shouldFailWith503_whenExecutorSaturated() {
+    // Given
+    when(dao.findCredencial("admin")).thenReturn(Optional.of(new UsuarioCredencial(ADMIN, HASH_PGCRYPTO)));
+    AuthServiceImpl service = service(executor, 4);
+    executor.shutdown();
+
+    // When
+    ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> service.login("admin", "senha123"));
+
+    // Then
+    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatusCode(), "Pool de senha cheio deveria responder 503");
+  }
+
+  private AuthServiceImpl service(ExecutorService executor, int custo) {
+    SenhaProperties properties = new SenhaProperties(custo, 1, 1, Duration.ofSeconds(5));
+    return new AuthServiceImpl(dao, new BCryptPasswordEncoder(BCryptVersion.$2A, custo), executor, properties);
+  }
+}
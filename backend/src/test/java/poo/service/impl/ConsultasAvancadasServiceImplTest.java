@@ -0,0 +1,186 @@
+package poo.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+import poo.config.ConsultasAvancadasProperties;
+import poo.dao.ConsultasAvancadasDao;
+import poo.dao.support.PrazoRequisicao;
+import poo.model.consultas.AlunoCoberturaNotas;
+import poo.model.consultas.AlunoModalidadeEquilibrada;
+import poo.model.consultas.ConsultasAvancadasResumo;
+import poo.model.consultas.DepartamentoDesempenho;
+import poo.service.support.EntidadeAlteradaEvent;
+import poo.service.support.EntidadeAlteradaEvent.Entidade;
+
+@ExtendWith(MockitoExtension.class)
+class ConsultasAvancadasServiceImplTest {
+
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  @Mock
+  private ConsultasAvancadasDao dao;
+
+  @AfterEach
+  void shutdown() {
+    executor.close();
+  }
+
+  @Test
+  void shouldRunQueriesConcurrently_whenPermitsAllow() {
+    // Given: cada consulta só termina quando as três estiverem em execução ao mesmo tempo
+    CountDownLatch todasIniciadas = new CountDownLatch(3);
+    List<DepartamentoDesempenho> ranking = List.of(new DepartamentoDesempenho());
+    List<AlunoModalidadeEquilibrada> modalidades = List.of(new AlunoModalidadeEquilibrada());
+    List<AlunoCoberturaNotas> cobertura = List.of(new AlunoCoberturaNotas());
+    when(dao.listarRankingDepartamentos()).thenAnswer(inv -> aguardar(todasIniciadas, ranking));
+    when(dao.listarAlunosModalidades()).thenAnswer(inv -> aguardar(todasIniciadas, modalidades));
+    when(dao.listarCoberturaNotas()).thenAnswer(inv -> aguardar(todasIniciadas, cobertura));
+    ConsultasAvancadasServiceImpl service = service(3);
+
+    // When
+    ConsultasAvancadasResumo resumo = service.obterResumo();
+
+    // Then
+    assertSame(ranking, resumo.getRankingDepartamentos());
+    assertSame(modalidades, resumo.getAlunosModalidades());
+    assertSame(cobertura, resumo.getCoberturaNotas());
+  }
+
+  @Test
+  void shouldRunSharedRefresh_underConfiguredDeadline_notCallers() {
+    // Given: quem dispara a recarga tem um prazo mínimo
+    AtomicReference<PrazoRequisicao> vistoPeloDao = new AtomicReference<>();
+    when(dao.listarRankingDepartamentos()).thenAnswer(inv -> {
+      vistoPeloDao.set(PrazoRequisicao.atual());
+      return List.of();
+    });
+    when(dao.listarAlunosModalidades()).thenReturn(List.of());
+    when(dao.listarCoberturaNotas()).thenReturn(List.of());
+    ConsultasAvancadasServiceImpl service = service(3);
+    PrazoRequisicao prazo = PrazoRequisicao.iniciar(Duration.ofMillis(1));
+
+    // When
+    try {
+      service.obterResumo();
+    } finally {
+      PrazoRequisicao.encerrar();
+    }
+
+    // Then
+    assertNotSame(prazo, vistoPeloDao.get(), "Recarga compartilhada não deveria herdar o prazo de quem a disparou");
+    assertTrue(vistoPeloDao.get().restanteNanos() > Duration.ofSeconds(20).toNanos(), "Recarga deveria rodar com o prazo configurado");
+  }
+
+  @Test
+  void shouldTranslateCancelledStatement_toGatewayTimeout() {
+    // Given
+    SQLException cancelada = new SQLException("canceling statement due to statement timeout", "57014");
+    when(dao.listarRankingDepartamentos()).thenThrow(new DataAccessResourceFailureException("timeout", cancelada));
+    when(dao.listarAlunosModalidades()).thenReturn(List.of());
+    when(dao.listarCoberturaNotas()).thenReturn(List.of());
+    ConsultasAvancadasServiceImpl service = service(1);
+
+    // When
+    ResponseStatusException ex = assertThrows(ResponseStatusException.class, service::obterResumo);
+
+    // Then
+    assertEquals(HttpStatus.GATEWAY_TIMEOUT, ex.getStatusCode());
+  }
+
+  @Test
+  void shouldServeCachedResumo_untilAWriteInvalidatesIt() {
+    // Given
+    when(dao.listarRankingDepartamentos()).thenReturn(List.of());
+    when(dao.listarAlunosModalidades()).thenReturn(List.of());
+    when(dao.listarCoberturaNotas()).thenReturn(List.of());
+    ConsultasAvancadasServiceImpl service = service(3);
+    ConsultasAvancadasResumo primeiro = service.obterResumo();
+
+    // When
+    ConsultasAvancadasResumo emCache = service.obterResumo();
+    service.onEntidadeAlterada(new EntidadeAlteradaEvent(Entidade.NOTA));
+    ConsultasAvancadasResumo vencido = service.obterResumo();
+
+    // Then: após a escrita o valor antigo ainda é servido enquanto uma recarga roda em segundo plano
+    assertSame(primeiro, emCache);
+    assertSame(primeiro, vencido);
+    verify(dao, timeout(5000).times(2)).listarRankingDepartamentos();
+  }
+
+  @Test
+  void shouldInvalidateCache_onlyAfterRebuildCommits() {
+    // Given
+    when(dao.listarRankingDepartamentos()).thenReturn(List.of());
+    when(dao.listarAlunosModalidades()).thenReturn(List.of());
+    when(dao.listarCoberturaNotas()).thenReturn(List.of());
+    ConsultasAvancadasServiceImpl service = service(3);
+    ConsultasAvancadasResumo antes = service.obterResumo();
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      // When: reconstrução ainda não confirmada
+      service.reconstruirAgregados();
+      ConsultasAvancadasResumo antesDoCommit = service.obterResumo();
+
+      // Then
+      assertSame(antes, antesDoCommit);
+      verify(dao, times(1)).listarRankingDepartamentos();
+
+      // When
+      TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+      service.obterResumo();
+
+      // Then: valor vencido dispara a recarga
+      verify(dao, timeout(5000).times(2)).listarRankingDepartamentos();
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  private ConsultasAvancadasServiceImpl service(int maxConexoes) {
+    return new ConsultasAvancadasServiceImpl(
+      dao,
+      executor,
+      new ConsultasAvancadasProperties(
+        maxConexoes,
+        Duration.ofSeconds(5),
+        new ConsultasAvancadasProperties.Cache(Duration.ofMinutes(1), Duration.ofMinutes(5), Duration.ofSeconds(30))
+      ),
+      new SimpleMeterRegistry()
+    );
+  }
+
+  private static <T> T aguardar(CountDownLatch latch, T resultado) throws InterruptedException {
+    latch.countDown();
+    if (!latch.await(5, TimeUnit.SECONDS)) {
+      throw new IllegalStateException("consultas não rodaram em paralelo");
+    }
+    return resultado;
+  }
+}
@@ -0,0 +1,100 @@
+package poo.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import poo.config.DashboardProperties;
+import poo.dao.DashboardDao;
+import poo.model.dashboard.AlunoDestaque;
+import poo.model.dashboard.Contagem;
+import poo.model.dashboard.DashboardResumo;
+import poo.model.dashboard.DesempenhoDepartamento;
+import poo.model.dashboard.DistribuicaoNotas;
+import poo.model.dashboard.ResumoNotas;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceImplTest {
+
+  private static final ResumoNotas NOTAS = new ResumoNotas(
+    1200, 300, new BigDecimal("7.25"), BigDecimal.ZERO, BigDecimal.TEN, new DistribuicaoNotas(100, 300, 500, 300)
+  );
+
+  @Mock
+  private DashboardDao dao;
+
+  @Test
+  void shouldUseEstimate_onlyForLargeTables_whenApproximate() {
+    // Given: alunos passa do limite; departamentos não; provas ainda sem estatísticas
+    when(dao.estimarLinhas()).thenReturn(Map.of("aluno", 512_000L, "departamento", 12L));
+    when(dao.contarLinhas("departamento")).thenReturn(10L);
+    when(dao.contarLinhas("prova")).thenReturn(40L);
+    when(dao.resumoNotas()).thenReturn(NOTAS);
+
+    // When
+    DashboardResumo resumo = service(100_000).obterResumo(true);
+
+    // Then
+    assertEquals(new Contagem(512_000, true), resumo.alunos(), "Tabela grande deveria vir da estimativa");
+    assertEquals(new Contagem(10, false), resumo.departamentos(), "Tabela pequena deveria ser contada");
+    assertEquals(new Contagem(40, false), resumo.provas(), "Sem estatísticas deveria ser contada");
+    assertEquals(NOTAS, resumo.notas());
+    verify(dao, never()).contarLinhas("aluno");
+  }
+
+  @Test
+  void shouldCountEverything_whenExact() {
+    // Given
+    when(dao.contarLinhas("departamento")).thenReturn(10L);
+    when(dao.contarLinhas("aluno")).thenReturn(512_000L);
+    when(dao.contarLinhas("prova")).thenReturn(40L);
+    when(dao.resumoNotas()).thenReturn(NOTAS);
+
+    // When
+    DashboardResumo resumo = service(100_000).obterResumo(false);
+
+    // Then
+    assertEquals(new Contagem(512_000, false), resumo.alunos());
+    verify(dao, never()).estimarLinhas();
+  }
+
+  @Test
+  void shouldServePanelsFromAggregates_withConfiguredRankingSize() {
+    // Given
+    List<DesempenhoDepartamento> departamentos = List.of(
+      new DesempenhoDepartamento(1, "Computação", "DC", new BigDecimal("8.10"), 900, 200),
+      new DesempenhoDepartamento(2, "Física", null, null, 0, 0)
+    );
+    List<AlunoDestaque> alunos = List.of(new AlunoDestaque(7, "Ana", new BigDecimal("9.80"), 4));
+    when(dao.resumoNotas()).thenReturn(NOTAS);
+    when(dao.desempenhoDepartamentos()).thenReturn(departamentos);
+    when(dao.melhoresAlunos(3)).thenReturn(alunos);
+    when(dao.proximaProva()).thenReturn(Optional.empty());
+
+    // When
+    DashboardResumo resumo = service(100_000, 3).obterResumo(false);
+
+    // Then
+    assertEquals(departamentos, resumo.departamentosDesempenho());
+    assertEquals(alunos, resumo.melhoresAlunos(), "Ranking deveria ter o tamanho configurado");
+    assertNull(resumo.proximaProva(), "Sem prova futura o campo deveria vir nulo");
+  }
+
+  private DashboardServiceImpl service(long limiteExato) {
+    return service(limiteExato, 5);
+  }
+
+  private DashboardServiceImpl service(long limiteExato, int alunosDestaque) {
+    return new DashboardServiceImpl(dao, new DashboardProperties(limiteExato, alunosDestaque));
+  }
+}
@@ -0,0 +1,143 @@
+package poo.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import poo.dao.NotaDao;
+import poo.model.Nota;
+import poo.service.FormatoExportacao;
+
+@ExtendWith(MockitoExtension.class)
+class NotaExportServiceImplTest {
+
+  private static final Instant CRIADA = Instant.parse("2024-03-01T12:00:00Z");
+
+  @Mock
+  private NotaDao dao;
+
+  @Mock
+  private PlatformTransactionManager txManager;
+
+  // Como em application.yml (spring.jackson.serialization.write-dates-as-timestamps: false)
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+    .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+    .build();
+
+  private NotaExportServiceImpl service;
+
+  @BeforeEach
+  void setUp() {
+    when(txManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    service = new NotaExportServiceImpl(dao, objectMapper, txManager);
+  }
+
+  @Test
+  void shouldQuoteObservacao_whenItHasSeparatorsQuotesOrNewlines() throws IOException {
+    // Given
+    streamar(
+      new Nota(1L, 10L, 5L, new BigDecimal("7.50"), "bom, mas atrasou", CRIADA, CRIADA),
+      new Nota(2L, 10L, 5L, new BigDecimal("8"), "disse \"ok\"", CRIADA, CRIADA),
+      new Nota(3L, 10L, 5L, new BigDecimal("9"), "linha 1\nlinha 2", CRIADA, CRIADA),
+      new Nota(4L, 10L, 5L, new BigDecimal("6"), "simples", CRIADA, CRIADA)
+    );
+
+    // When
+    String csv = exportar(FormatoExportacao.CSV);
+
+    // Then
+    assertEquals(
+      "aluno_id,prova_id,departamento_id,valor,observacao,created_at,updated_at\n"
+        + "1,10,5,7.50,\"bom, mas atrasou\",2024-03-01T12:00:00Z,2024-03-01T12:00:00Z\n"
+        + "2,10,5,8,\"disse \"\"ok\"\"\",2024-03-01T12:00:00Z,2024-03-01T12:00:00Z\n"
+        + "3,10,5,9,\"linha 1\nlinha 2\",2024-03-01T12:00:00Z,2024-03-01T12:00:00Z\n"
+        + "4,10,5,6,simples,2024-03-01T12:00:00Z,2024-03-01T12:00:00Z\n",
+      csv
+    );
+  }
+
+  @Test
+  void shouldWriteEmptyFields_whenCsvValuesAreNull() throws IOException {
+    // Given
+    streamar(new Nota(1L, 10L, 5L, null, null, null, null));
+
+    // When
+    String csv = exportar(FormatoExportacao.CSV);
+
+    // Then
+    assertTrue(csv.endsWith("\n1,10,5,,,,\n"), "Campos nulos deveriam sair vazios, sem \"null\": " + csv);
+  }
+
+  @Test
+  void shouldWriteOneJsonObjectPerLine_whenNdjson() throws IOException {
+    // Given
+    streamar(
+      new Nota(1L, 10L, 5L, new BigDecimal("7.50"), "linha 1\nlinha 2", CRIADA, CRIADA),
+      new Nota(2L, 10L, 5L, new BigDecimal("8"), null, CRIADA, CRIADA)
+    );
+
+    // When
+    String ndjson = exportar(FormatoExportacao.NDJSON);
+
+    // Then
+    assertTrue(ndjson.endsWith("\n"), "Cada registro deveria terminar em quebra de linha");
+    List<String> linhas = ndjson.lines().toList();
+    assertEquals(2, linhas.size(), "Quebras de linha dentro dos valores deveriam vir escapadas");
+    JsonNode primeira = objectMapper.readTree(linhas.get(0));
+    assertEquals("linha 1\nlinha 2", primeira.get("observacao").asText());
+    assertEquals("2024-03-01T12:00:00Z", primeira.get("createdAt").asText(), "Datas deveriam sair em ISO-8601");
+    assertTrue(objectMapper.readTree(linhas.get(1)).get("observacao").isNull());
+  }
+
+  @Test
+  void shouldWriteOnlyCsvHeader_whenNoRows() throws IOException {
+    // Given
+    streamar();
+
+    // When
+    String csv = exportar(FormatoExportacao.CSV);
+
+    // Then
+    assertEquals("aluno_id,prova_id,departamento_id,valor,observacao,created_at,updated_at\n", csv);
+    verify(dao).streamAll(eq(null), eq(null), any());
+  }
+
+  @SuppressWarnings("unchecked")
+  private void streamar(Nota... notas) {
+    doAnswer(invocation -> {
+      Consumer<Nota> consumer = invocation.getArgument(2, Consumer.class);
+      for (Nota nota : notas) {
+        consumer.accept(nota);
+      }
+      return null;
+    }).when(dao).streamAll(any(), any(), any());
+  }
+
+  private String exportar(FormatoExportacao formato) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    service.exportar(null, null, formato, out);
+    return out.toString(StandardCharsets.UTF_8);
+  }
+}
@@ -1,9 +1,15 @@
 package poo.service.support;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Arrays;
+import java.util.List;
 import org.junit.jupiter.api.Test;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
@@ -57,6 +63,26 @@ class CrudServiceSupportTest {
     assertEquals("invalido", ex.getReason());
   }
 
+  @Test
+  void violatesConstraintMatchesPostgresConstraintName() {
+    PSQLException fk = new PSQLException(new ServerErrorMessage("SERROR\0C23503\0Mfk\0nfk_nota_prova\0"));
+    DataIntegrityViolationException ex = new DataIntegrityViolationException("update prova", fk);
+
+    assertTrue(CrudServiceSupport.violatesConstraint(ex, "fk_nota_prova"));
+    assertFalse(CrudServiceSupport.violatesConstraint(ex, "fk_nota_aluno"));
+    assertFalse(CrudServiceSupport.violatesConstraint(new DataIntegrityViolationException("sem causa"), "fk_nota_prova"));
+  }
+
+  @Test
+  void distinctKeysRemovesDuplicatesAndEnforcesMaximum() {
+    assertEquals(List.of(3L, 1L), CrudServiceSupport.distinctKeys(Arrays.asList(3L, 1L, null, 3L), 2));
+    ResponseStatusException ex = assertThrows(
+      ResponseStatusException.class,
+      () -> CrudServiceSupport.distinctKeys(List.of(1L, 2L, 3L), 2)
+    );
+    assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+  }
+
   private static class DummyEntity {
     private Long id;
     private String nome;
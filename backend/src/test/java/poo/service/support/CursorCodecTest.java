@@ -0,0 +1,45 @@
+package poo.service.support;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+class CursorCodecTest {
+
+  @Test
+  void encodeDecodeRoundTrip() {
+    String cursor = CursorCodec.encode(42L, 7L);
+
+    assertArrayEquals(new long[] { 42L, 7L }, CursorCodec.decode(cursor, 2));
+  }
+
+  @Test
+  void decodeRejectsMalformedToken() {
+    ResponseStatusException ex = assertThrows(
+      ResponseStatusException.class,
+      () -> CursorCodec.decode("não-é-base64", 2)
+    );
+    assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+  }
+
+  @Test
+  void decodeRejectsWrongNumberOfParts() {
+    String cursor = CursorCodec.encode(1L, 2L, 3L);
+
+    assertThrows(ResponseStatusException.class, () -> CursorCodec.decode(cursor, 2));
+  }
+
+  @Test
+  void encodeDecodeWithTextRoundTrip_whenTextContainsSeparator() {
+    String cursor = CursorCodec.encodeComTexto("Prova 1: revisão", 19_800L, 7L);
+
+    CursorCodec.ChaveComTexto chave = CursorCodec.decodeComTexto(cursor, 2);
+
+    assertArrayEquals(new long[] { 19_800L, 7L }, chave.parts());
+    assertEquals("Prova 1: revisão", chave.texto());
+  }
+}
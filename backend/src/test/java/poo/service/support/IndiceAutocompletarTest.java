@@ -0,0 +1,75 @@
+package poo.service.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import poo.model.Sugestao;
+import poo.service.support.IndiceAutocompletar.Indice;
+
+class IndiceAutocompletarTest {
+
+  private final Indice indice = new Indice();
+
+  @Test
+  void shouldMatchPrefix_ignoringCaseAndAccents() {
+    // Given
+    registrar(1L, "João Conceição", "RA001");
+    registrar(2L, "Joana Prado", "RA002");
+    registrar(3L, "Maria Joaquina", "RA003");
+
+    // When
+    List<Long> jo = ids(indice.buscar(IndiceAutocompletar.normalizar("JO"), 10));
+    List<Long> conceicao = ids(indice.buscar(IndiceAutocompletar.normalizar("concei"), 10));
+    List<Long> ra = ids(indice.buscar(IndiceAutocompletar.normalizar("ra00"), 10));
+
+    // Then
+    assertEquals(List.of(2L, 1L, 3L), jo, "Início do nome vem antes de palavra seguinte (ordem dos termos)");
+    assertEquals(List.of(1L), conceicao, "Palavra do meio do nome deveria casar sem acento");
+    assertEquals(List.of(1L, 2L, 3L), ra, "RA também é indexado");
+  }
+
+  @Test
+  void shouldReturnDistinctTopN_whenManyTermsMatch() {
+    // Given: "ana" aparece em nome e sobrenome do mesmo aluno
+    registrar(1L, "Ana Ana", "RA1");
+    registrar(2L, "Ana Beatriz", "RA2");
+    registrar(3L, "Anabela", "RA3");
+
+    // When
+    List<Long> encontrados = ids(indice.buscar("ana", 2));
+
+    // Then
+    assertEquals(List.of(1L, 2L), encontrados, "Cada aluno deveria aparecer uma vez, até o limite");
+  }
+
+  @Test
+  void shouldReplaceAndRemoveTerms_whenRowChanges() {
+    // Given
+    registrar(1L, "Carlos Souza", "RA1");
+
+    // When
+    registrar(1L, "Carla Souza", "RA1");
+
+    // Then
+    assertTrue(indice.buscar("carlos", 10).isEmpty(), "Nome antigo não deveria continuar indexado");
+    assertEquals("Carla Souza", indice.buscar("carla", 10).get(0).rotulo());
+
+    // When
+    indice.remover(1L);
+
+    // Then
+    assertTrue(indice.buscar("souza", 10).isEmpty(), "Linha excluída deveria sair de todos os termos");
+    assertEquals(0, indice.tamanho());
+  }
+
+  private void registrar(Long id, String nome, String ra) {
+    indice.registrar(new Sugestao(id, nome, ra), Arrays.asList(nome, ra));
+  }
+
+  private static List<Long> ids(List<Sugestao> sugestoes) {
+    return sugestoes.stream().map(Sugestao::id).toList();
+  }
+}
@@ -0,0 +1,114 @@
+package poo.service.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import poo.config.LoginLimiteProperties;
+import poo.config.LoginLimiteProperties.Balde;
+
+class LimitadorTentativasLoginTest {
+
+  private final AtomicLong agora = new AtomicLong();
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  @Test
+  void shouldBlockUsername_whenBucketEmpty() {
+    // Given: 3 tentativas por usuário, uma reposta por minuto
+    LimitadorTentativasLogin limitador = limitador(new Balde(3, Duration.ofMinutes(1)), new Balde(100, Duration.ofSeconds(1)), 100);
+
+    // When
+    for (int i = 0; i < 3; i++) {
+      assertTrue(limitador.tentar("admin", "10.0.0." + i).permitida(), "Tentativas dentro da capacidade deveriam passar");
+    }
+    var bloqueada = limitador.tentar(" ADMIN ", "10.0.0.9");
+
+    // Then
+    assertFalse(bloqueada.permitida(), "Quarta tentativa para o mesmo usuário deveria ser bloqueada");
+    assertEquals(60, bloqueada.retryAfterSegundos(), "Retry-After deveria indicar quando a próxima ficha volta");
+    assertEquals(1.0, registry.get(LimitadorTentativasLogin.METRICA).tags("resultado", "bloqueada", "limite", "usuario").counter().count());
+  }
+
+  @Test
+  void shouldRefill_whenIntervalPasses() {
+    // Given
+    LimitadorTentativasLogin limitador = limitador(new Balde(1, Duration.ofSeconds(10)), new Balde(100, Duration.ofSeconds(1)), 100);
+    assertTrue(limitador.tentar("admin", "10.0.0.1").permitida());
+    assertFalse(limitador.tentar("admin", "10.0.0.1").permitida());
+
+    // When
+    agora.addAndGet(Duration.ofSeconds(10).toNanos());
+
+    // Then
+    assertTrue(limitador.tentar("admin", "10.0.0.1").permitida(), "Balde deveria ser reposto após o intervalo");
+    assertEquals(2, limitador.chavesAtivas(), "Baldes ativos continuam no mapa");
+  }
+
+  @Test
+  void shouldBlockIp_whenScriptTriesManyUsers() {
+    // Given
+    LimitadorTentativasLogin limitador = limitador(new Balde(5, Duration.ofMinutes(1)), new Balde(2, Duration.ofSeconds(5)), 100);
+
+    // When
+    limitador.tentar("a", "10.0.0.1");
+    limitador.tentar("b", "10.0.0.1");
+    var bloqueada = limitador.tentar("c", "10.0.0.1");
+
+    // Then
+    assertFalse(bloqueada.permitida(), "Mesmo IP com usuários diferentes deveria ser limitado");
+    assertEquals(5, bloqueada.retryAfterSegundos());
+    assertTrue(limitador.tentar("c", "10.0.0.2").permitida(), "Outro IP não deveria ser afetado");
+  }
+
+  @Test
+  void shouldResetUsername_whenLoginSucceeds() {
+    // Given
+    LimitadorTentativasLogin limitador = limitador(new Balde(1, Duration.ofMinutes(1)), new Balde(100, Duration.ofSeconds(1)), 100);
+    limitador.tentar("admin", "10.0.0.1");
+
+    // When
+    limitador.registrarSucesso("admin");
+
+    // Then
+    assertTrue(limitador.tentar("admin", "10.0.0.1").permitida(), "Sucesso deveria liberar o balde do usuário");
+  }
+
+  @Test
+  void shouldDropIdleBuckets_andRespectMaxKeys() {
+    // Given
+    LimitadorTentativasLogin limitador = limitador(new Balde(5, Duration.ofSeconds(1)), new Balde(5, Duration.ofSeconds(1)), 4);
+
+    // When
+    for (int i = 0; i < 10; i++) {
+      limitador.tentar("u" + i, "10.0.0." + i);
+    }
+
+    // Then
+    assertEquals(4, limitador.chavesAtivas(), "Mapa não deveria passar de max-chaves");
+    agora.addAndGet(Duration.ofSeconds(2).toNanos());
+    limitador.tentar("x", "10.0.1.1");
+    assertEquals(2, limitador.chavesAtivas(), "Baldes cheios de novo deveriam ser descartados");
+  }
+
+  @Test
+  void shouldDropExpiredIpBucket_behindLiveUsernameBucket() {
+    // Given: o balde do usuário (1 min) fica à frente do balde do IP (1 s) na ordem de acesso
+    LimitadorTentativasLogin limitador = limitador(new Balde(5, Duration.ofMinutes(1)), new Balde(5, Duration.ofSeconds(1)), 100);
+    limitador.tentar("a", "10.0.0.1");
+
+    // When
+    agora.addAndGet(Duration.ofSeconds(2).toNanos());
+    limitador.tentar("b", "10.0.0.2");
+
+    // Then
+    assertEquals(3, limitador.chavesAtivas(), "Balde de IP vencido deveria sair mesmo atrás de um balde ainda ativo");
+  }
+
+  private LimitadorTentativasLogin limitador(Balde usuario, Balde ip, int maxChaves) {
+    return new LimitadorTentativasLogin(new LoginLimiteProperties(true, usuario, ip, maxChaves), registry, agora::get);
+  }
+}
@@ -0,0 +1,120 @@
+package poo.service.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import poo.config.LimiteConcorrenciaProperties.Grupo;
+
+class LimiteAdaptativoTest {
+
+  private static final long RAPIDA = TimeUnit.MILLISECONDS.toNanos(10);
+  private static final long LENTA = TimeUnit.MILLISECONDS.toNanos(200);
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  @Test
+  void shouldRejectImmediately_whenLimitReached() {
+    // Given
+    LimiteAdaptativo limite = new LimiteAdaptativo("crud", new Grupo(2, 1, 10), 2.0, registry);
+
+    // When
+    assertTrue(limite.tentarAdquirir());
+    assertTrue(limite.tentarAdquirir());
+    boolean terceira = limite.tentarAdquirir();
+
+    // Then
+    assertFalse(terceira, "Acima do limite a requisição deveria ser recusada sem esperar");
+    assertEquals(1.0, registry.get(LimiteAdaptativo.METRICA + ".rejeitadas").tag("grupo", "crud").counter().count());
+    limite.liberar(RAPIDA);
+    assertTrue(limite.tentarAdquirir(), "Vaga devolvida deveria admitir a próxima");
+  }
+
+  @Test
+  void shouldGrow_whenLatencyStableAndLimitInUse() {
+    // Given
+    LimiteAdaptativo limite = new LimiteAdaptativo("crud", new Grupo(4, 1, 50), 2.0, registry);
+
+    // When: sempre com todas as vagas ocupadas e latência constante
+    for (int i = 0; i < 50; i++) {
+      ocuparTudo(limite);
+      limite.liberar(RAPIDA);
+      soltarRestantes(limite);
+    }
+
+    // Then
+    assertTrue(limite.limite() > 4, "Latência estável com o limite em uso deveria aumentar o limite");
+  }
+
+  @Test
+  void shouldShrink_whenLatencyRisesBeyondTolerance() {
+    // Given: limite já em 40 com latência de referência baixa
+    LimiteAdaptativo limite = new LimiteAdaptativo("crud", new Grupo(40, 2, 50), 2.0, registry);
+    for (int i = 0; i < 20; i++) {
+      ocuparTudo(limite);
+      limite.liberar(RAPIDA);
+      soltarRestantes(limite);
+    }
+    int antes = limite.limite();
+
+    // When: a latência sobe 20x (fila no banco)
+    for (int i = 0; i < 30; i++) {
+      ocuparTudo(limite);
+      limite.liberar(LENTA);
+      soltarRestantes(limite);
+    }
+
+    // Then
+    assertTrue(limite.limite() < antes / 2, "Latência acima da tolerância deveria derrubar o limite");
+  }
+
+  @Test
+  void shouldKeepLimit_whenMostlyIdle() {
+    // Given
+    LimiteAdaptativo limite = new LimiteAdaptativo("consultas", new Grupo(10, 1, 50), 2.0, registry);
+
+    // When: uma requisição por vez, mesmo lenta
+    for (int i = 0; i < 30; i++) {
+      limite.tentarAdquirir();
+      limite.liberar(i < 10 ? RAPIDA : LENTA);
+    }
+
+    // Then
+    assertEquals(10, limite.limite(), "Sem uso do limite a latência não deveria mudá-lo");
+  }
+
+  @Test
+  void shouldCutLimit_whenDownstreamOverloaded_butNotBelowMinimum() {
+    // Given
+    LimiteAdaptativo limite = new LimiteAdaptativo("consultas", new Grupo(10, 3, 50), 2.0, registry);
+
+    // When
+    limite.tentarAdquirir();
+    limite.liberarComSobrecarga();
+    int depoisDeUm = limite.limite();
+    for (int i = 0; i < 50; i++) {
+      limite.tentarAdquirir();
+      limite.liberarComSobrecarga();
+    }
+
+    // Then
+    assertEquals(9, depoisDeUm, "503/504 de baixo deveria cortar 10% do limite");
+    assertEquals(3, limite.limite(), "Limite não deveria ficar abaixo do mínimo");
+    assertEquals(0, limite.emUso());
+  }
+
+  private static void ocuparTudo(LimiteAdaptativo limite) {
+    while (limite.tentarAdquirir()) {
+      // ocupa até o limite
+    }
+  }
+
+  private static void soltarRestantes(LimiteAdaptativo limite) {
+    while (limite.emUso() > 0) {
+      limite.liberar(0);
+    }
+  }
+}
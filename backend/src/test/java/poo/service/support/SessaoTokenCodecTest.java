@@ -0,0 +1,97 @@
+package poo.service.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import poo.config.SessaoProperties;
+import poo.config.SessaoProperties.Modo;
+import poo.model.Usuario;
+
+class SessaoTokenCodecTest {
+
+  private static final String CHAVE_1 = chave("chave-um-com-pelo-menos-32-bytes!!");
+  private static final String CHAVE_2 = chave("chave-dois-com-pelo-menos-32-bytes");
+  private static final Instant AGORA = Instant.parse("2024-03-01T12:00:00Z");
+  private static final Usuario ADMIN = new Usuario(1L, "admin", "Administrador");
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  void shouldVerifyToken_whenSignedWithActiveKey() {
+    // Given
+    SessaoTokenCodec codec = codec("k1", Map.of("k1", CHAVE_1), AGORA);
+
+    // When
+    String token = codec.emitir(ADMIN);
+    var sessao = codec.verificar(token);
+
+    // Then
+    assertTrue(sessao.isPresent(), "Token recém-emitido deveria ser aceito");
+    assertEquals(1L, sessao.get().id(), "Id do usuário deveria vir do token");
+    assertEquals("Administrador", sessao.get().nome(), "Nome do usuário deveria vir do token");
+    assertFalse(codec.precisaReemitir(token), "Token da chave ativa não precisa ser reemitido");
+  }
+
+  @Test
+  void shouldRejectToken_whenPayloadTampered() {
+    // Given
+    SessaoTokenCodec codec = codec("k1", Map.of("k1", CHAVE_1), AGORA);
+    String[] partes = codec.emitir(ADMIN).split("\\.");
+    String payloadAlterado = Base64.getUrlEncoder().withoutPadding().encodeToString(
+      "{\"id\":2,\"username\":\"admin\",\"nome\":\"Intruso\",\"exp\":9999999999}".getBytes(StandardCharsets.UTF_8)
+    );
+
+    // When / Then
+    assertTrue(codec.verificar(partes[0] + "." + payloadAlterado + "." + partes[2]).isEmpty(), "Payload alterado deveria ser rejeitado");
+    assertTrue(codec.verificar("lixo").isEmpty(), "Token malformado deveria ser rejeitado");
+    assertTrue(codec.verificar(null).isEmpty(), "Ausência de token deveria ser rejeitada");
+  }
+
+  @Test
+  void shouldRejectToken_whenExpired() {
+    // Given
+    String token = codec("k1", Map.of("k1", CHAVE_1), AGORA).emitir(ADMIN);
+    SessaoTokenCodec depois = codec("k1", Map.of("k1", CHAVE_1), AGORA.plus(Duration.ofHours(8)));
+
+    // When / Then
+    assertTrue(depois.verificar(token).isEmpty(), "Token vencido deveria ser rejeitado");
+  }
+
+  @Test
+  void shouldAcceptPreviousKey_whenRotating() {
+    // Given: token emitido com k1; depois k2 vira a ativa e k1 continua configurada
+    String antigo = codec("k1", Map.of("k1", CHAVE_1), AGORA).emitir(ADMIN);
+    SessaoTokenCodec rotacionado = codec("k2", Map.of("k1", CHAVE_1, "k2", CHAVE_2), AGORA);
+    SessaoTokenCodec semChaveAntiga = codec("k2", Map.of("k2", CHAVE_2), AGORA);
+
+    // When / Then
+    assertTrue(rotacionado.verificar(antigo).isPresent(), "Chave anterior ainda configurada deveria validar o token");
+    assertTrue(rotacionado.precisaReemitir(antigo), "Token da chave anterior deveria ser reemitido");
+    assertTrue(semChaveAntiga.verificar(antigo).isEmpty(), "Chave removida não deveria validar mais nada");
+  }
+
+  @Test
+  void shouldRejectConfiguration_whenKeyTooShort() {
+    assertThrows(IllegalArgumentException.class, () -> codec("k1", Map.of("k1", chave("curta")), AGORA));
+  }
+
+  private SessaoTokenCodec codec(String ativa, Map<String, String> chaves, Instant agora) {
+    SessaoProperties properties = new SessaoProperties(Modo.TOKEN, "poo_sessao", true, Duration.ofHours(8), ativa, chaves);
+    return new SessaoTokenCodec(properties, objectMapper, Clock.fixed(agora, ZoneOffset.UTC));
+  }
+
+  private static String chave(String texto) {
+    return Base64.getEncoder().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+  }
+}
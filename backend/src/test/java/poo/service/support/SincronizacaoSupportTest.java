@@ -0,0 +1,118 @@
+package poo.service.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+import poo.config.SincronizacaoProperties;
+import poo.dao.ExclusaoDao;
+import poo.model.NotaId;
+
+class SincronizacaoSupportTest {
+
+  private static final Instant AGORA = Instant.parse("2024-03-10T12:00:00Z");
+
+  private final List<Instant> purgas = new ArrayList<>();
+  private final List<String> leituras = new ArrayList<>();
+  private long cursor = 1_000;
+  private long expurgado = 500;
+  private final ExclusaoDao dao = new ExclusaoDao() {
+    @Override
+    public long currentCursor() {
+      leituras.add("cursor");
+      return cursor;
+    }
+
+    @Override
+    public long purgedCursor() {
+      return expurgado;
+    }
+
+    @Override
+    public Instant currentTimestamp() {
+      return AGORA;
+    }
+
+    @Override
+    public List<Long> findDeletedIds(String tabela, long since) {
+      return "aluno".equals(tabela) ? List.of(7L) : List.of();
+    }
+
+    @Override
+    public List<NotaId> findDeletedNotas(long since) {
+      return List.of();
+    }
+
+    @Override
+    public int purgeBefore(Instant limite) {
+      purgas.add(limite);
+      return 0;
+    }
+  };
+  private final SincronizacaoSupport sincronizacao = new SincronizacaoSupport(
+    dao,
+    new SincronizacaoProperties(Duration.ofDays(7), Duration.ofHours(1)),
+    mock(PlatformTransactionManager.class)
+  );
+
+  @Test
+  void shouldReturnChangesAndTombstones_withCursorReadBeforeRows() {
+    // Given: uma transação confirma durante a leitura e o snapshot seguinte já avançou
+    List<String> alterados = List.of("alterado");
+
+    // When
+    var alteracoes = sincronizacao.alteracoes(900, s -> {
+      leituras.add("linhas");
+      cursor = 1_200;
+      return alterados;
+    }, sincronizacao.idsExcluidos("aluno"));
+
+    // Then
+    assertEquals(alterados, alteracoes.alterados());
+    assertEquals(List.of(7L), alteracoes.excluidos());
+    assertEquals(1_000, alteracoes.sincronizadoAte(), "Cursor deveria ser o do snapshot lido antes das linhas");
+    assertEquals(List.of("cursor", "linhas"), leituras);
+  }
+
+  @Test
+  void shouldAnswerGone_whenSinceNotPastPurgedTombstones() {
+    // When
+    ResponseStatusException ex = assertThrows(
+      ResponseStatusException.class,
+      () -> sincronizacao.alteracoes(expurgado, s -> List.of(), sincronizacao.idsExcluidos("aluno"))
+    );
+
+    // Then
+    assertEquals(HttpStatus.GONE, ex.getStatusCode(), "Exclusões já descartadas exigem carga completa");
+  }
+
+  @Test
+  void shouldReadCursorBeforeFullLoad() {
+    // When
+    var carga = sincronizacao.carregarTudo(() -> {
+      leituras.add("linhas");
+      cursor = 1_200;
+      return List.of("a", "b");
+    });
+
+    // Then
+    assertEquals(List.of("a", "b"), carga.dados());
+    assertEquals(1_000, carga.sincronizadoAte());
+    assertEquals(List.of("cursor", "linhas"), leituras);
+  }
+
+  @Test
+  void shouldPurgeTombstones_olderThanRetention() {
+    sincronizacao.limparExclusoesAntigas();
+
+    assertEquals(List.of(AGORA.minus(Duration.ofDays(7))), purgas);
+  }
+}
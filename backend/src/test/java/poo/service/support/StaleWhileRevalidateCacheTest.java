@@ -0,0 +1,131 @@
+package poo.service.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StaleWhileRevalidateCacheTest {
+
+  private static final Duration MAX_AGE = Duration.ofSeconds(10);
+  private static final Duration STALE = Duration.ofSeconds(30);
+
+  private final AtomicLong agora = new AtomicLong();
+  private final AtomicInteger cargas = new AtomicInteger();
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  // Recargas em segundo plano ficam na fila até o teste liberar; as demais rodam na hora
+  private final Deque<Runnable> pendentes = new ArrayDeque<>();
+  private boolean segurar;
+  private final Executor executor = tarefa -> {
+    if (segurar) {
+      pendentes.add(tarefa);
+    } else {
+      tarefa.run();
+    }
+  };
+
+  private final StaleWhileRevalidateCache<String> cache = new StaleWhileRevalidateCache<>(
+    "poo.teste.cache",
+    () -> "v" + cargas.incrementAndGet(),
+    MAX_AGE,
+    STALE,
+    executor,
+    registry,
+    agora::get
+  );
+
+  @BeforeEach
+  void setUp() {
+    cache.get();
+    segurar = true;
+  }
+
+  @Test
+  void shouldReturnCachedValue_whenFresh() {
+    // Given
+    agora.addAndGet(MAX_AGE.toNanos());
+
+    // When
+    String valor = cache.get();
+
+    // Then
+    assertEquals("v1", valor);
+    assertEquals(1, cargas.get(), "Valor fresco não deveria ser recarregado");
+    assertEquals(1, contagem("hit"));
+  }
+
+  @Test
+  void shouldServeStaleValue_andStartSingleRefresh_withinWindow() {
+    // Given
+    agora.addAndGet(MAX_AGE.toNanos() + 1);
+
+    // When
+    String primeira = cache.get();
+    String segunda = cache.get();
+
+    // Then
+    assertEquals("v1", primeira);
+    assertEquals("v1", segunda);
+    assertEquals(1, pendentes.size(), "Leituras vencidas simultâneas deveriam compartilhar uma única recarga");
+    assertEquals(2, contagem("stale"));
+
+    // When: a recarga termina
+    pendentes.poll().run();
+
+    // Then
+    assertEquals("v2", cache.get());
+    assertEquals(1, contagem("hit"));
+  }
+
+  @Test
+  void shouldWaitForReload_whenOutsideStaleWindow() {
+    // Given
+    agora.addAndGet(MAX_AGE.plus(STALE).toNanos() + 1);
+    segurar = false;
+
+    // When
+    String valor = cache.get();
+
+    // Then
+    assertEquals("v2", valor, "Fora da janela o chamador deveria receber o valor recarregado");
+    assertEquals(2, contagem("miss"));
+    assertEquals(0, contagem("stale"));
+  }
+
+  @Test
+  void shouldNotTreatRefreshAsFresh_whenInvalidatedDuringRefresh() {
+    // Given: recarga iniciada antes da escrita
+    agora.addAndGet(MAX_AGE.toNanos() + 1);
+    cache.get();
+    Runnable recarga = pendentes.poll();
+
+    // When
+    cache.invalidar();
+    recarga.run();
+    String valor = cache.get();
+
+    // Then
+    assertEquals("v2", valor, "Resultado anterior à escrita ainda pode ser servido como vencido");
+    assertEquals(0, contagem("hit"), "Resultado anterior à escrita não deveria contar como fresco");
+    assertEquals(1, pendentes.size(), "Leitura seguinte deveria disparar nova recarga");
+
+    // When
+    pendentes.poll().run();
+
+    // Then
+    assertEquals("v3", cache.get());
+    assertEquals(1, contagem("hit"));
+  }
+
+  private long contagem(String resultado) {
+    return (long) registry.get("poo.teste.cache").tag("resultado", resultado).counter().count();
+  }
+}
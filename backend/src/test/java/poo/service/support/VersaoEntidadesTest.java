@@ -0,0 +1,74 @@
+package poo.service.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import poo.dao.MarcaTabelaDao;
+import poo.service.support.EntidadeAlteradaEvent.Entidade;
+
+class VersaoEntidadesTest {
+
+  private final AtomicLong agora = new AtomicLong();
+  private final AtomicInteger consultas = new AtomicInteger();
+  private final AtomicLong contador = new AtomicLong(3);
+  private final MarcaTabelaDao dao = tabela -> {
+    consultas.incrementAndGet();
+    return contador.get();
+  };
+  private final VersaoEntidades versoes = new VersaoEntidades(dao, Duration.ofSeconds(1), agora::get);
+
+  @Test
+  void shouldReuseVersion_withinValidity() {
+    // When
+    String primeira = versoes.versao(Entidade.ALUNO);
+    String segunda = versoes.versao(Entidade.ALUNO);
+
+    // Then
+    assertEquals(primeira, segunda);
+    assertEquals(1, consultas.get(), "Dentro da validade a versão não deveria ser consultada de novo");
+  }
+
+  @Test
+  void shouldReloadVersion_whenLocalWriteHappens() {
+    // Given
+    String antes = versoes.versao(Entidade.DEPARTAMENTO);
+    contador.incrementAndGet();
+
+    // When
+    versoes.onEntidadeAlterada(new EntidadeAlteradaEvent(Entidade.DEPARTAMENTO));
+
+    // Then
+    assertNotEquals(antes, versoes.versao(Entidade.DEPARTAMENTO), "Escrita local deveria trocar a versão na hora");
+    assertEquals(2, consultas.get());
+  }
+
+  @Test
+  void shouldReloadVersion_whenValidityExpires() {
+    // Given: escrita feita por outra instância, sem evento local
+    String antes = versoes.versao(Entidade.PROVA);
+    contador.incrementAndGet();
+
+    // When
+    agora.addAndGet(Duration.ofSeconds(1).toNanos());
+
+    // Then
+    assertNotEquals(antes, versoes.versao(Entidade.PROVA), "Versão vencida deveria ser relida do banco");
+  }
+
+  @Test
+  void shouldInvalidateNotas_whenAlunoChanges() {
+    // Given
+    versoes.versao(Entidade.NOTA);
+
+    // When: excluir aluno remove as notas dele em cascata
+    versoes.onEntidadeAlterada(new EntidadeAlteradaEvent(Entidade.ALUNO));
+    versoes.versao(Entidade.NOTA);
+
+    // Then
+    assertEquals(2, consultas.get(), "Alteração em aluno deveria invalidar a versão das notas");
+  }
+}
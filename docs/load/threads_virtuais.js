@@ -0,0 +1,47 @@
+// Teste de carga para comparar o Tomcat com threads de plataforma e com threads virtuais.
+//
+// Rode o backend duas vezes, uma em cada modo, e compare http_reqs (vazão) e p(99) de http_req_duration:
+//   POO_THREADS_VIRTUAIS=false mvn spring-boot:run   &&  k6 run docs/load/threads_virtuais.js
+//   POO_THREADS_VIRTUAIS=true  mvn spring-boot:run   &&  k6 run docs/load/threads_virtuais.js
+//
+// Variáveis: BASE_URL (padrão http://localhost:8080/api), VUS (padrão 800), DURACAO (padrão 60s).
+// Com VUS acima de server.tomcat.threads.max (200) o modo de plataforma enfileira conexões no Tomcat;
+// no modo virtual a fila passa a ser o semáforo de poo.jdbc.admissao. Respostas 503 contam como
+// "rejeitadas" e não entram como erro de checagem.
+import http from "k6/http";
+import { check } from "k6";
+import { Counter } from "k6/metrics";
+
+const BASE_URL = __ENV.BASE_URL || "http://localhost:8080/api";
+const rejeitadas = new Counter("rejeitadas");
+
+export const options = {
+  vus: Number(__ENV.VUS || 800),
+  duration: __ENV.DURACAO || "60s",
+  summaryTrendStats: ["avg", "p(50)", "p(95)", "p(99)", "max"],
+  thresholds: {
+    http_req_failed: ["rate<0.05"],
+  },
+};
+
+// Mistura de leitura típica do frontend: listas, uma página de notas e o resumo em cache
+const ROTAS = [
+  "/alunos",
+  "/departamentos",
+  "/provas",
+  "/notas?limit=50",
+  "/consultas-avancadas",
+  "/health",
+];
+
+http.setResponseCallback(http.expectedStatuses({ min: 200, max: 399 }, 503));
+
+export default function () {
+  const rota = ROTAS[Math.floor(Math.random() * ROTAS.length)];
+  const res = http.get(`${BASE_URL}${rota}`, { tags: { rota } });
+  if (res.status === 503) {
+    rejeitadas.add(1);
+    return;
+  }
+  check(res, { "status 200": (r) => r.status === 200 });
+}
@@ -0,0 +1,103 @@
+-- Benchmark: vazão de INSERT em nota com o gatilho por linha (V2) x FKs compostas (V7)
+--
+-- Uso (Postgres do infra/docker-compose-db.yml):
+--   PGPASSWORD=poo_pass psql -h localhost -p 55432 -U poo_user -d poo -f docs/sql/bench_nota_departamento.sql
+--
+-- Tudo roda no schema isolado bench_nota, removido ao final; as tabelas reais não são tocadas.
+-- As duas variantes recebem exatamente as mesmas linhas. Ajuste :alunos e :provas para variar o volume.
+
+\set ON_ERROR_STOP on
+\set alunos 20000
+\set provas 200
+
+DROP SCHEMA IF EXISTS bench_nota CASCADE;
+CREATE SCHEMA bench_nota;
+SET search_path = bench_nota;
+
+CREATE TABLE departamento (id BIGINT PRIMARY KEY);
+CREATE TABLE aluno (
+  id               BIGINT PRIMARY KEY,
+  departamento_id  BIGINT NOT NULL REFERENCES departamento(id),
+  CONSTRAINT uq_aluno_id_departamento UNIQUE (id, departamento_id)
+);
+CREATE TABLE prova (
+  id               BIGINT PRIMARY KEY,
+  departamento_id  BIGINT NOT NULL REFERENCES departamento(id),
+  CONSTRAINT uq_prova_id_departamento UNIQUE (id, departamento_id)
+);
+
+INSERT INTO departamento SELECT g FROM generate_series(1, 10) g;
+INSERT INTO aluno SELECT g, g % 10 + 1 FROM generate_series(1, :alunos) g;
+INSERT INTO prova SELECT g, g % 10 + 1 FROM generate_series(1, :provas) g;
+
+-- Antes: FKs simples + gatilho BEFORE INSERT por linha
+CREATE TABLE nota_gatilho (
+  aluno_id  BIGINT NOT NULL REFERENCES aluno(id),
+  prova_id  BIGINT NOT NULL REFERENCES prova(id),
+  valor     NUMERIC(5,2) NOT NULL,
+  PRIMARY KEY (aluno_id, prova_id)
+);
+
+CREATE FUNCTION check_nota_mesmo_departamento()
+RETURNS TRIGGER AS $$
+DECLARE
+  dep_aluno BIGINT;
+  dep_prova BIGINT;
+BEGIN
+  SELECT departamento_id INTO dep_aluno FROM bench_nota.aluno WHERE id = NEW.aluno_id;
+  SELECT departamento_id INTO dep_prova FROM bench_nota.prova WHERE id = NEW.prova_id;
+  IF dep_aluno IS NULL OR dep_prova IS NULL OR dep_aluno <> dep_prova THEN
+    RAISE EXCEPTION 'departamentos distintos' USING ERRCODE = '23514';
+  END IF;
+  RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER tg_nota_mesmo_departamento
+BEFORE INSERT OR UPDATE ON nota_gatilho
+FOR EACH ROW EXECUTE FUNCTION check_nota_mesmo_departamento();
+
+-- Depois: departamento_id desnormalizado + FKs compostas
+CREATE TABLE nota_fk (
+  aluno_id         BIGINT NOT NULL,
+  prova_id         BIGINT NOT NULL,
+  departamento_id  BIGINT NOT NULL,
+  valor            NUMERIC(5,2) NOT NULL,
+  PRIMARY KEY (aluno_id, prova_id),
+  FOREIGN KEY (aluno_id, departamento_id) REFERENCES aluno(id, departamento_id),
+  FOREIGN KEY (prova_id, departamento_id) REFERENCES prova(id, departamento_id)
+);
+
+-- Mesmo conjunto de pares (aluno, prova) do mesmo departamento para as duas variantes
+CREATE TABLE carga AS
+SELECT a.id AS aluno_id, p.id AS prova_id, a.departamento_id, 7.50::numeric(5,2) AS valor
+FROM aluno a
+JOIN prova p ON p.departamento_id = a.departamento_id;
+ANALYZE;
+
+DO $$
+DECLARE
+  inicio TIMESTAMPTZ;
+  ms NUMERIC;
+  linhas BIGINT;
+BEGIN
+  inicio := clock_timestamp();
+  INSERT INTO nota_gatilho (aluno_id, prova_id, valor)
+  SELECT aluno_id, prova_id, valor FROM carga;
+  GET DIAGNOSTICS linhas = ROW_COUNT;
+  ms := EXTRACT(EPOCH FROM clock_timestamp() - inicio) * 1000;
+  RAISE NOTICE 'antes  (gatilho por linha): % linhas em % ms -> % linhas/s',
+    linhas, round(ms), round(linhas / NULLIF(ms, 0) * 1000);
+
+  inicio := clock_timestamp();
+  INSERT INTO nota_fk (aluno_id, prova_id, departamento_id, valor)
+  SELECT aluno_id, prova_id, departamento_id, valor FROM carga;
+  GET DIAGNOSTICS linhas = ROW_COUNT;
+  ms := EXTRACT(EPOCH FROM clock_timestamp() - inicio) * 1000;
+  RAISE NOTICE 'depois (FKs compostas):     % linhas em % ms -> % linhas/s',
+    linhas, round(ms), round(linhas / NULLIF(ms, 0) * 1000);
+END;
+$$;
+
+RESET search_path;
+DROP SCHEMA bench_nota CASCADE;
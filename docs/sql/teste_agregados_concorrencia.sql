@@ -0,0 +1,164 @@
+-- Teste: escritas concorrentes em nota mantêm os agregados da V6 exatos
+--
+-- Uso (Postgres do infra/docker-compose-db.yml, já migrado):
+--   PGPASSWORD=poo_pass psql -h localhost -p 55432 -U poo_user -d poo -f docs/sql/teste_agregados_concorrencia.sql
+--
+-- Abre duas sessões com dblink (contrib) e intercala duas transações READ COMMITTED: a sessão A
+-- lança uma nota e fica sem confirmar, a sessão B lança outra nota do mesmo aluno, A confirma e
+-- depois B. Ao final os agregados precisam bater com o recálculo direto sobre nota; se não
+-- baterem, o script termina com erro. Sem o bloqueio por aluno em atualizar_agregados_alunos(),
+-- B grava por cima da contagem de A e o departamento conta o aluno duas vezes.
+--
+-- Depois confere os gatilhos de UPDATE/DELETE e se reconstruir_agregados_notas() chega nos mesmos
+-- valores (a reconstrução refaz os agregados do banco inteiro; rode em banco de desenvolvimento).
+--
+-- As linhas de teste usam ids negativos e são removidas ao final. As sessões dblink conectam com
+-- a string em teste_conexao abaixo; usuários que não são superusuários precisam incluir a senha.
+
+\set ON_ERROR_STOP on
+
+CREATE EXTENSION IF NOT EXISTS dblink;
+
+CREATE TEMP TABLE teste_conexao AS
+SELECT format('host=localhost port=%s dbname=%s user=%s password=poo_pass',
+              current_setting('port'), current_database(), current_user) AS conexao;
+
+-- Massa isolada: um departamento, três alunos, quatro provas
+DELETE FROM nota WHERE departamento_id = -900;
+DELETE FROM aluno WHERE departamento_id = -900;
+DELETE FROM prova WHERE departamento_id = -900;
+DELETE FROM departamento WHERE id = -900;
+
+INSERT INTO departamento (id, nome, sigla) VALUES (-900, 'Teste de concorrência dos agregados', 'TCA');
+INSERT INTO aluno (id, ra, nome, departamento_id) VALUES
+  (-901, 'TCA-901', 'Aluno A', -900),
+  (-902, 'TCA-902', 'Aluno B', -900),
+  (-903, 'TCA-903', 'Aluno C', -900);
+INSERT INTO prova (id, departamento_id, titulo, data) VALUES
+  (-901, -900, 'Prova 1', DATE '2024-03-01'),
+  (-902, -900, 'Prova 2', DATE '2024-03-02'),
+  (-903, -900, 'Prova 3', DATE '2024-03-03'),
+  (-904, -900, 'Prova 4', DATE '2024-03-04');
+
+SELECT dblink_connect('a', conexao), dblink_connect('b', conexao) FROM teste_conexao;
+
+-- Espera a sessão B ficar bloqueada, para A confirmar com a escrita de B comprovadamente em curso
+CREATE OR REPLACE FUNCTION pg_temp.esperar_bloqueio_de_b() RETURNS VOID AS $$
+BEGIN
+  FOR tentativa IN 1..100 LOOP
+    -- pg_stat_activity é lido uma vez por transação; descarta a cópia a cada volta
+    PERFORM pg_stat_clear_snapshot();
+    IF EXISTS (
+      SELECT 1 FROM pg_stat_activity
+      WHERE wait_event_type = 'Lock' AND query LIKE '%/* sessao b */%'
+    ) THEN
+      RETURN;
+    END IF;
+    PERFORM pg_sleep(0.05);
+  END LOOP;
+  RAISE EXCEPTION 'Sessão B não ficou bloqueada: as escritas não foram serializadas';
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION pg_temp.intercalar(nota_a TEXT, nota_b TEXT) RETURNS VOID AS $$
+BEGIN
+  PERFORM dblink_exec('a', 'BEGIN');
+  PERFORM dblink_exec('a', 'INSERT INTO nota (aluno_id, prova_id, departamento_id, valor) VALUES ' || nota_a);
+  PERFORM dblink_exec('b', 'BEGIN');
+  PERFORM dblink_send_query('b', '/* sessao b */ INSERT INTO nota (aluno_id, prova_id, departamento_id, valor) VALUES ' || nota_b);
+  PERFORM pg_temp.esperar_bloqueio_de_b();
+  PERFORM dblink_exec('a', 'COMMIT');
+  PERFORM * FROM dblink_get_result('b') AS r(status TEXT);
+  PERFORM * FROM dblink_get_result('b') AS r(status TEXT);
+  PERFORM dblink_exec('b', 'COMMIT');
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION pg_temp.conferir(cenario TEXT) RETURNS VOID AS $$
+DECLARE
+  divergencias BIGINT;
+BEGIN
+  SELECT count(*) INTO divergencias FROM (
+    (
+      SELECT n.aluno_id, SUM(n.valor) AS soma, COUNT(*) AS notas, MIN(n.valor) AS menor, MAX(n.valor) AS maior
+      FROM nota n WHERE n.departamento_id = -900 GROUP BY n.aluno_id
+      EXCEPT
+      SELECT aluno_id, soma_notas, notas_lancadas, menor_nota, maior_nota
+      FROM nota_agregado_aluno WHERE departamento_id = -900
+    )
+    UNION ALL
+    (
+      SELECT aluno_id, soma_notas, notas_lancadas, menor_nota, maior_nota
+      FROM nota_agregado_aluno WHERE departamento_id = -900
+      EXCEPT
+      SELECT n.aluno_id, SUM(n.valor), COUNT(*), MIN(n.valor), MAX(n.valor)
+      FROM nota n WHERE n.departamento_id = -900 GROUP BY n.aluno_id
+    )
+  ) x;
+  IF divergencias > 0 THEN
+    RAISE EXCEPTION '%: nota_agregado_aluno diverge de nota em % linha(s)', cenario, divergencias;
+  END IF;
+
+  PERFORM 1 FROM nota_agregado_departamento d
+  WHERE d.departamento_id = -900
+    AND (d.soma_notas, d.notas_lancadas, d.alunos_avaliados, d.menor_nota, d.maior_nota)
+      = (SELECT SUM(valor), COUNT(*), COUNT(DISTINCT aluno_id), MIN(valor), MAX(valor)
+         FROM nota WHERE departamento_id = -900);
+  IF NOT FOUND THEN
+    RAISE EXCEPTION '%: nota_agregado_departamento diverge de nota', cenario;
+  END IF;
+  RAISE NOTICE '%: ok', cenario;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 1. Primeiras notas do mesmo aluno em duas transações concorrentes
+SELECT pg_temp.intercalar('(-901, -901, -900, 7.0)', '(-901, -902, -900, 9.0)');
+SELECT pg_temp.conferir('mesmo aluno, sem notas anteriores');
+
+-- 2. Mesmo aluno, já com agregado gravado
+SELECT pg_temp.intercalar('(-901, -903, -900, 4.0)', '(-901, -904, -900, 10.0)');
+SELECT pg_temp.conferir('mesmo aluno, com agregado existente');
+
+-- 3. Alunos diferentes do mesmo departamento
+SELECT pg_temp.intercalar('(-902, -901, -900, 2.0)', '(-903, -901, -900, 6.5)');
+SELECT pg_temp.conferir('alunos diferentes, mesmo departamento');
+
+SELECT dblink_disconnect('a'), dblink_disconnect('b');
+
+-- 4. Gatilhos de UPDATE e DELETE em nota, inclusive nota trocada de aluno
+UPDATE nota SET valor = 3.0 WHERE aluno_id = -901 AND prova_id = -904;
+SELECT pg_temp.conferir('nota alterada');
+UPDATE nota SET aluno_id = -903 WHERE aluno_id = -901 AND prova_id = -903;
+SELECT pg_temp.conferir('nota trocada de aluno');
+DELETE FROM nota WHERE aluno_id = -902;
+SELECT pg_temp.conferir('notas removidas');
+
+-- 5. Reconstrução completa produz os mesmos agregados que os gatilhos
+CREATE TEMP TABLE agregado_antes AS
+SELECT aluno_id, departamento_id, soma_notas, notas_lancadas, menor_nota, maior_nota
+FROM nota_agregado_aluno WHERE departamento_id = -900;
+SELECT reconstruir_agregados_notas();
+DO $$
+BEGIN
+  IF EXISTS (
+    (SELECT * FROM agregado_antes
+     EXCEPT
+     SELECT aluno_id, departamento_id, soma_notas, notas_lancadas, menor_nota, maior_nota
+     FROM nota_agregado_aluno WHERE departamento_id = -900)
+    UNION ALL
+    (SELECT aluno_id, departamento_id, soma_notas, notas_lancadas, menor_nota, maior_nota
+     FROM nota_agregado_aluno WHERE departamento_id = -900
+     EXCEPT
+     SELECT * FROM agregado_antes)
+  ) THEN
+    RAISE EXCEPTION 'reconstruir_agregados_notas() diverge dos agregados mantidos pelos gatilhos';
+  END IF;
+END;
+$$;
+SELECT pg_temp.conferir('reconstrução');
+
+-- Limpeza
+DELETE FROM nota WHERE departamento_id = -900;
+DELETE FROM aluno WHERE departamento_id = -900;
+DELETE FROM prova WHERE departamento_id = -900;
+DELETE FROM departamento WHERE id = -900;
@@ -24,6 +24,17 @@ export async function listAlunos() {
   return data;
 }
 
+export interface PaginaAlunos {
+  items: Aluno[];
+  limit: number;
+  nextCursor: string | null;
+}
+
+export async function searchAlunos(q: string, options: { limit?: number; cursor?: string } = {}) {
+  const { data } = await http.get<PaginaAlunos>("/alunos", { params: { q, ...options } });
+  return data;
+}
+
 export async function createAluno(payload: AlunoPayload) {
   const { data } = await http.post<Aluno>("/alunos", payload);
   return data;
@@ -36,6 +36,7 @@ export interface ConsultasAvancadasResumo {
 }
 
 export async function fetchConsultasAvancadas() {
-  const { data } = await http.get<ConsultasAvancadasResumo>("/consultas-avancadas");
+  // Mesmo prazo da rota /api/consultas-avancadas/** no backend; o X-Prazo-Ms enviado tem precedência
+  const { data } = await http.get<ConsultasAvancadasResumo>("/consultas-avancadas", { timeout: 30000 });
   return data;
 }
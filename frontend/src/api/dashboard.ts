@@ -0,0 +1,62 @@
+import { http } from "./http";
+
+export interface Contagem {
+  total: number;
+  aproximada: boolean;
+}
+
+export interface DistribuicaoNotas {
+  abaixoDe5: number;
+  de5a7: number;
+  de7a9: number;
+  de9a10: number;
+}
+
+export interface ResumoNotas {
+  total: number;
+  alunosAvaliados: number;
+  media: number | null;
+  menor: number | null;
+  maior: number | null;
+  distribuicao: DistribuicaoNotas;
+}
+
+export interface DesempenhoDepartamento {
+  id: number;
+  nome: string;
+  sigla: string | null;
+  media: number | null;
+  notasLancadas: number;
+  alunosAvaliados: number;
+}
+
+export interface AlunoDestaque {
+  id: number;
+  nome: string;
+  media: number;
+  notasLancadas: number;
+}
+
+export interface ProvaAgendada {
+  id: number;
+  titulo: string;
+  data: string;
+  departamentoId: number;
+  departamentoNome: string;
+  departamentoSigla: string | null;
+}
+
+export interface DashboardResumo {
+  departamentos: Contagem;
+  alunos: Contagem;
+  provas: Contagem;
+  notas: ResumoNotas;
+  departamentosDesempenho: DesempenhoDepartamento[];
+  melhoresAlunos: AlunoDestaque[];
+  proximaProva: ProvaAgendada | null;
+}
+
+export async function fetchDashboard(aproximado = true) {
+  const { data } = await http.get<DashboardResumo>("/dashboard", { params: { aproximado } });
+  return data;
+}
@@ -13,8 +13,11 @@ export interface DepartamentoPayload {
   sigla?: string | null;
 }
 
-export async function listDepartamentos() {
-  const { data } = await http.get<Departamento[]>("/departamentos");
+// A lista vem com max-age; ao forçar a atualização, pede ao navegador para revalidar (304 se nada mudou)
+export async function listDepartamentos(revalidar = false) {
+  const { data } = await http.get<Departamento[]>("/departamentos", {
+    headers: revalidar ? { "Cache-Control": "no-cache" } : undefined,
+  });
   return data;
 }
 
@@ -7,3 +7,12 @@ export const http = axios.create({
   timeout: 10000,
   withCredentials: true, // envia/recebe cookie de sessão
 });
+
+// Informa ao backend quanto tempo esta chamada vai esperar; ele cancela a consulta no banco
+// quando o prazo passa, em vez de terminar um resultado que ninguém vai ler
+http.interceptors.request.use((config) => {
+  if (config.timeout && config.timeout > 0) {
+    config.headers.set("X-Prazo-Ms", String(config.timeout));
+  }
+  return config;
+});
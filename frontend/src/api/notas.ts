@@ -3,15 +3,22 @@ import { http } from "./http";
 export interface Nota {
   alunoId: number;
   provaId: number;
+  departamentoId: number;
   valor: number;
   observacao: string | null;
   createdAt: string;
   updatedAt: string;
+  // Preenchidos só quando pedidos em `expand`
+  aluno?: { id: number; nome: string; ra: string };
+  prova?: { id: number; titulo: string; data: string };
+  departamento?: { id: number; nome: string; sigla: string };
 }
 
 export interface NotaPayload {
   alunoId: number;
   provaId: number;
+  // Departamento do aluno; omitido, o backend consulta o aluno a cada inserção
+  departamentoId?: number;
   valor: number;
   observacao?: string | null;
 }
@@ -21,13 +28,31 @@ export interface NotaUpdatePayload {
   observacao?: string | null;
 }
 
+export type NotaExpansao = "aluno" | "prova" | "departamento";
+
 export interface NotaQuery {
   alunoId?: number;
   provaId?: number;
+  expand?: NotaExpansao[];
+}
+
+export interface PaginaNotas {
+  items: Nota[];
+  limit: number;
+  nextCursor: string | null;
+}
+
+export interface NotaPaginaQuery extends NotaQuery {
+  limit: number;
+  cursor?: string | null;
 }
 
-export async function listNotas(params: NotaQuery = {}) {
-  const { data } = await http.get<Nota[]>("/notas", { params });
+// Página por keyset (prova_id, aluno_id); nextCursor nulo na última
+export async function listNotas({ expand, cursor, ...params }: NotaPaginaQuery) {
+  const query = cursor ? { ...params, cursor } : params;
+  const { data } = await http.get<PaginaNotas>("/notas", {
+    params: expand?.length ? { ...query, expand: expand.join(",") } : query,
+  });
   return data;
 }
 
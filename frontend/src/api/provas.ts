@@ -22,6 +22,25 @@ export async function listProvas() {
   return data;
 }
 
+export interface ProvaPeriodoQuery {
+  departamentoId: number;
+  from?: string; // YYYY-MM-DD, inclusivo
+  to?: string; // YYYY-MM-DD, exclusivo
+  limit?: number;
+  cursor?: string; // nextCursor da página anterior
+}
+
+export interface PaginaProvas {
+  items: Prova[];
+  limit: number;
+  nextCursor: string | null;
+}
+
+export async function listProvasPorPeriodo(params: ProvaPeriodoQuery) {
+  const { data } = await http.get<PaginaProvas>("/provas", { params });
+  return data;
+}
+
 export async function createProva(payload: ProvaPayload) {
   const { data } = await http.post<Prova>("/provas", payload);
   return data;
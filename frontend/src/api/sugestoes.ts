@@ -0,0 +1,14 @@
+import { http } from "./http";
+
+export interface Sugestao {
+  id: number;
+  rotulo: string;
+  detalhe: string | null;
+}
+
+export type RecursoSugestao = "alunos" | "provas" | "departamentos";
+
+export async function listSugestoes(recurso: RecursoSugestao, q: string, limit?: number) {
+  const { data } = await http.get<Sugestao[]>(`/sugestoes/${recurso}`, { params: { q, limit } });
+  return data;
+}
@@ -40,7 +40,7 @@ export const useDepartamentos = defineStore("departamentos", {
       if (this.initialized && !force) return;
       this.loading = true;
       try {
-        const data = await listDepartamentos();
+        const data = await listDepartamentos(force);
         this.items = data.slice();
         this.sortItems();
         this.initialized = true;
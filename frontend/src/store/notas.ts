@@ -23,31 +23,49 @@ function parseError(error: unknown): string {
   return "Erro inesperado.";
 }
 
+// Mesmo tamanho de página padrão do backend
+const PAGE_SIZE = 50;
+// Nomes de aluno e prova vêm no mesmo SELECT das notas
+const EXPAND: NotaQuery["expand"] = ["aluno", "prova"];
+
 function matchesFilters(nota: Nota, filters: NotaQuery) {
   if (filters.alunoId != null && nota.alunoId !== filters.alunoId) return false;
   if (filters.provaId != null && nota.provaId !== filters.provaId) return false;
   return true;
 }
 
+// Ordem do keyset do backend: prova_id, aluno_id
+function compareKeys(a: Nota, b: Nota) {
+  if (a.provaId === b.provaId) {
+    return a.alunoId - b.alunoId;
+  }
+  return a.provaId - b.provaId;
+}
+
 export const useNotas = defineStore("notas", {
   state: () => ({
     items: [] as Nota[],
+    nextCursor: null as string | null,
     loading: false,
+    loadingMore: false,
     initialized: false,
     lastError: null as string | null,
     lastFilters: {} as NotaQuery,
   }),
   getters: {
     total: (state) => state.items.length,
+    hasMore: (state) => state.nextCursor != null,
   },
   actions: {
     sortItems() {
-      this.items.sort((a, b) => {
-        if (a.provaId === b.provaId) {
-          return a.alunoId - b.alunoId;
-        }
-        return b.provaId - a.provaId;
-      });
+      this.items.sort(compareKeys);
+    },
+    // Nota nova só entra na lista se cair no trecho já carregado; depois dele, vem com a próxima página
+    insertLoaded(nota: Nota) {
+      const last = this.items[this.items.length - 1];
+      if (this.nextCursor != null && last && compareKeys(nota, last) > 0) return;
+      this.items.push(nota);
+      this.sortItems();
     },
     async fetch(filters: NotaQuery = {}, force = false) {
       if (this.loading) return;
@@ -60,9 +78,9 @@ export const useNotas = defineStore("notas", {
 
       this.loading = true;
       try {
-        const data = await listNotas(filters);
-        this.items = data.slice();
-        this.sortItems();
+        const pagina = await listNotas({ ...filters, expand: EXPAND, limit: PAGE_SIZE });
+        this.items = pagina.items.slice();
+        this.nextCursor = pagina.nextCursor;
         this.initialized = true;
         this.lastFilters = { ...filters };
         this.lastError = null;
@@ -73,12 +91,30 @@ export const useNotas = defineStore("notas", {
         this.loading = false;
       }
     },
+    async fetchMore() {
+      if (this.loading || this.loadingMore || this.nextCursor == null) return;
+      const cursor = this.nextCursor;
+      this.loadingMore = true;
+      try {
+        const pagina = await listNotas({ ...this.lastFilters, expand: EXPAND, limit: PAGE_SIZE, cursor });
+        // Filtros trocados no meio do caminho: a página pertence à lista antiga
+        if (this.nextCursor !== cursor) return;
+        const carregadas = new Set(this.items.map((nota) => `${nota.alunoId}:${nota.provaId}`));
+        this.items.push(...pagina.items.filter((nota) => !carregadas.has(`${nota.alunoId}:${nota.provaId}`)));
+        this.nextCursor = pagina.nextCursor;
+        this.lastError = null;
+      } catch (error) {
+        this.lastError = parseError(error);
+        throw error;
+      } finally {
+        this.loadingMore = false;
+      }
+    },
     async create(payload: NotaPayload) {
       try {
         const created = await createNota(payload);
         if (matchesFilters(created, this.lastFilters)) {
-          this.items.push(created);
-          this.sortItems();
+          this.insertLoaded(created);
         }
         return created;
       } catch (error) {
@@ -93,11 +129,10 @@ export const useNotas = defineStore("notas", {
           (nota) => nota.alunoId === alunoId && nota.provaId === provaId
         );
         if (idx >= 0) {
-          this.items[idx] = updated;
-          this.sortItems();
+          // Mantém os nomes já expandidos: a resposta do PUT traz só a nota
+          this.items[idx] = { ...this.items[idx], ...updated };
         } else if (matchesFilters(updated, this.lastFilters)) {
-          this.items.push(updated);
-          this.sortItems();
+          this.insertLoaded(updated);
         }
         return updated;
       } catch (error) {